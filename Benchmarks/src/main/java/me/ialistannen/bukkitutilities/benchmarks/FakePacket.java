@@ -0,0 +1,28 @@
+package me.ialistannen.bukkitutilities.benchmarks;
+
+/**
+ * Stands in for the NMS {@code Packet} base class
+ */
+public abstract class FakePacket {
+
+    private boolean handled;
+
+    /**
+     * @return True if the packet was handled
+     */
+    public boolean isHandled() {
+        return handled;
+    }
+
+    /**
+     * Marks the packet as handled
+     */
+    public void handle() {
+        handled = true;
+    }
+
+    /**
+     * @return The id of the packet
+     */
+    public abstract int getId();
+}
@@ -0,0 +1,65 @@
+package me.ialistannen.bukkitutilities.benchmarks;
+
+/**
+ * Shaped like the NMS {@code PacketPlayOutEntityTeleport}: obfuscated, private, mostly primitive fields.
+ */
+@SuppressWarnings("unused")
+public class FakeTeleportPacket extends FakePacket {
+
+    private int a;
+    private double b;
+    private double c;
+    private double d;
+    private byte e;
+    private byte f;
+    private boolean g;
+
+    /**
+     * @param entityId The id of the entity
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     */
+    public FakeTeleportPacket(int entityId, double x, double y, double z) {
+        this.a = entityId;
+        this.b = x;
+        this.c = y;
+        this.d = z;
+    }
+
+    /**
+     * @return The id of the entity
+     */
+    public int getEntityId() {
+        return a;
+    }
+
+    /**
+     * @param entityId The id of the entity
+     */
+    public void setEntityId(int entityId) {
+        this.a = entityId;
+    }
+
+    /**
+     * @return The x coordinate
+     */
+    public double getX() {
+        return b;
+    }
+
+    /**
+     * @param offset The offset to move the x coordinate by
+     *
+     * @return The new x coordinate
+     */
+    private double moveX(double offset) {
+        b += offset;
+        return b;
+    }
+
+    @Override
+    public int getId() {
+        return 0x4C;
+    }
+}
@@ -0,0 +1,156 @@
+package me.ialistannen.bukkitutilities.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.ialistannen.bukkitutilities.reflection.DoubleFieldAccessor;
+import me.ialistannen.bukkitutilities.reflection.FieldGetter;
+import me.ialistannen.bukkitutilities.reflection.FieldSetter;
+import me.ialistannen.bukkitutilities.reflection.IntFieldAccessor;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+
+/**
+ * Reads the x coordinate and writes the entity id of a {@link FakeTeleportPacket} in all the ways the
+ * {@link ReflectionUtil} offers, compared to plain Java, raw reflection and a {@link MethodHandle}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldAccessBenchmark {
+
+    private static final Field FIELD_X;
+    private static final Field FIELD_ID;
+    private static final MethodHandle GETTER_X;
+    private static final MethodHandle SETTER_ID;
+    private static final FieldPredicate PREDICATE_X = new FieldPredicate().withName("b");
+    private static final FieldGetter<Double> COMPILED_GETTER_X;
+    private static final FieldSetter<Integer> COMPILED_SETTER_ID;
+    private static final DoubleFieldAccessor ACCESSOR_X;
+    private static final IntFieldAccessor ACCESSOR_ID;
+
+    static {
+        try {
+            FIELD_X = FakeTeleportPacket.class.getDeclaredField("b");
+            FIELD_X.setAccessible(true);
+            FIELD_ID = FakeTeleportPacket.class.getDeclaredField("a");
+            FIELD_ID.setAccessible(true);
+
+            GETTER_X = MethodHandles.lookup().unreflectGetter(FIELD_X);
+            SETTER_ID = MethodHandles.lookup().unreflectSetter(FIELD_ID);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        COMPILED_GETTER_X = ReflectionUtil.compileGetter(FIELD_X);
+        COMPILED_SETTER_ID = ReflectionUtil.compileSetter(FIELD_ID);
+        ACCESSOR_X = ReflectionUtil.compileDoubleAccessor(FIELD_X);
+        ACCESSOR_ID = ReflectionUtil.compileIntAccessor(FIELD_ID);
+    }
+
+    private FakeTeleportPacket packet;
+    private int entityId;
+
+    @Setup
+    public void setup() {
+        packet = new FakeTeleportPacket(20, 5.5, 64, -20.25);
+    }
+
+    // ==== READ ====
+
+    @Benchmark
+    public double readDirect() {
+        return packet.getX();
+    }
+
+    @Benchmark
+    public Object readRawField() throws IllegalAccessException {
+        return FIELD_X.get(packet);
+    }
+
+    @Benchmark
+    public double readMethodHandle() throws Throwable {
+        return (double) GETTER_X.invokeExact(packet);
+    }
+
+    @Benchmark
+    public Object readReflectionUtilByName() {
+        return ReflectionUtil.getFieldValue("b", FakeTeleportPacket.class, packet).getValue();
+    }
+
+    @Benchmark
+    public Object readReflectionUtilByPredicate() {
+        return ReflectionUtil.getFieldValue(FakeTeleportPacket.class, packet, PREDICATE_X).getValue();
+    }
+
+    @Benchmark
+    public Object readReflectionUtilByLambda() {
+        // not memoizable, scans the fields on every call
+        return ReflectionUtil.getFieldValue(
+                FakeTeleportPacket.class, packet, field -> field.getName().equals("b")
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object readReflectionUtilByField() {
+        return ReflectionUtil.getFieldValue(FIELD_X, packet).getValue();
+    }
+
+    @Benchmark
+    public Double readCompiledGetter() {
+        return COMPILED_GETTER_X.get(packet);
+    }
+
+    @Benchmark
+    public double readPrimitiveAccessor() {
+        return ACCESSOR_X.get(packet);
+    }
+
+    // ==== WRITE ====
+
+    @Benchmark
+    public void writeDirect() {
+        packet.setEntityId(entityId++);
+    }
+
+    @Benchmark
+    public void writeRawField() throws IllegalAccessException {
+        FIELD_ID.setInt(packet, entityId++);
+    }
+
+    @Benchmark
+    public void writeMethodHandle() throws Throwable {
+        SETTER_ID.invokeExact(packet, entityId++);
+    }
+
+    @Benchmark
+    public Object writeReflectionUtilByName() {
+        return ReflectionUtil.setFieldValue("a", FakeTeleportPacket.class, packet, entityId++);
+    }
+
+    @Benchmark
+    public void writeCompiledSetter() {
+        COMPILED_SETTER_ID.set(packet, entityId++);
+    }
+
+    @Benchmark
+    public void writePrimitiveAccessor() {
+        ACCESSOR_ID.set(packet, entityId++);
+    }
+}
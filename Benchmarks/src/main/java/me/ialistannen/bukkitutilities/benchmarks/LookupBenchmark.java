@@ -0,0 +1,115 @@
+package me.ialistannen.bukkitutilities.benchmarks;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.ialistannen.bukkitutilities.reflection.EnumMapping;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
+
+/**
+ * Resolves members and enum constants, the way code does that does not store the resolved member.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    private static final FieldPredicate PREDICATE_Z = new FieldPredicate().withName("d");
+    private static final EnumMapping<BlockFace> FACE_MAPPING = ReflectionUtil.mapEnum(
+            BlockFace.class, FakeDirection.class
+    );
+
+    // ==== MEMBERS ====
+
+    @Benchmark
+    public Field fieldRaw() throws NoSuchFieldException {
+        return FakeTeleportPacket.class.getDeclaredField("d");
+    }
+
+    @Benchmark
+    public Field fieldStream() {
+        return Arrays.stream(FakeTeleportPacket.class.getDeclaredFields())
+                .filter(field -> field.getName().equals("d"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Benchmark
+    public ReflectResponse<Field> fieldByPredicate() {
+        return ReflectionUtil.getField(FakeTeleportPacket.class, PREDICATE_Z);
+    }
+
+    @Benchmark
+    public ReflectResponse<Field> fieldByLambda() {
+        // not memoizable, scans the fields on every call
+        return ReflectionUtil.getField(FakeTeleportPacket.class, field -> field.getName().equals("d"));
+    }
+
+    @Benchmark
+    public Field fieldByNameUnchecked() {
+        return ReflectionUtil.getFieldUnchecked("d", FakeTeleportPacket.class);
+    }
+
+    @Benchmark
+    public ReflectResponse<Field> hierarchyField() {
+        return ReflectionUtil.getHierarchyField(FakeTeleportPacket.class, "handled");
+    }
+
+    @Benchmark
+    public Method methodRaw() throws NoSuchMethodException {
+        return FakeTeleportPacket.class.getMethod("handle");
+    }
+
+    @Benchmark
+    public ReflectResponse<Method> hierarchyMethod() {
+        return ReflectionUtil.getHierarchyMethod(FakeTeleportPacket.class, "handle");
+    }
+
+    // ==== ENUMS ====
+
+    @Benchmark
+    public FakeDirection enumValueOf() {
+        return FakeDirection.valueOf("NORTH_EAST");
+    }
+
+    @Benchmark
+    public ReflectResponse<Enum<?>> enumByName() {
+        return ReflectionUtil.getEnumConstant(FakeDirection.class, "NORTH_EAST");
+    }
+
+    @Benchmark
+    public ReflectResponse<Enum<?>> enumByLambda() {
+        return ReflectionUtil.getEnumConstant(FakeDirection.class, constant -> constant.name().equals("NORTH_EAST"));
+    }
+
+    @Benchmark
+    public Enum<?> enumMapping() {
+        return FACE_MAPPING.toTarget(BlockFace.NORTH_EAST);
+    }
+
+    /**
+     * Stands in for an NMS enum mirroring a Bukkit one
+     */
+    public enum FakeDirection {
+        NORTH, EAST, SOUTH, WEST, UP, DOWN,
+        NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST
+    }
+}
@@ -0,0 +1,110 @@
+package me.ialistannen.bukkitutilities.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.ialistannen.bukkitutilities.reflection.MethodInvoker;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
+
+/**
+ * Invokes a private method of a {@link FakeTeleportPacket} in all the ways the {@link ReflectionUtil} offers,
+ * compared to raw reflection and a {@link MethodHandle}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MethodInvokeBenchmark {
+
+    private static final Method MOVE_X;
+    private static final MethodHandle MOVE_X_HANDLE;
+    private static final MethodPredicate MOVE_X_PREDICATE = new MethodPredicate()
+            .withName("moveX")
+            .withParameters(double.class);
+    private static final MethodInvoker<Double> MOVE_X_INVOKER;
+
+    static {
+        try {
+            MOVE_X = FakeTeleportPacket.class.getDeclaredMethod("moveX", double.class);
+            MOVE_X.setAccessible(true);
+
+            MOVE_X_HANDLE = MethodHandles.lookup().unreflect(MOVE_X);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+
+        MOVE_X_INVOKER = ReflectionUtil.compileInvoker(MOVE_X);
+    }
+
+    private FakeTeleportPacket packet;
+
+    @Setup
+    public void setup() {
+        packet = new FakeTeleportPacket(20, 5.5, 64, -20.25);
+    }
+
+    @Benchmark
+    public int invokeDirect() {
+        return packet.getId();
+    }
+
+    @Benchmark
+    public Object invokeRawMethod() throws InvocationTargetException, IllegalAccessException {
+        return MOVE_X.invoke(packet, 0.5);
+    }
+
+    @Benchmark
+    public double invokeMethodHandle() throws Throwable {
+        return (double) MOVE_X_HANDLE.invokeExact(packet, 0.5);
+    }
+
+    @Benchmark
+    public Object invokeReflectionUtilByPredicate() {
+        return ReflectionUtil.invokeMethod(FakeTeleportPacket.class, MOVE_X_PREDICATE, packet, 0.5).getValue();
+    }
+
+    @Benchmark
+    public Object invokeReflectionUtilByLambda() {
+        // not memoizable, scans the methods on every call
+        return ReflectionUtil.invokeMethod(
+                FakeTeleportPacket.class, method -> method.getName().equals("moveX"), packet, 0.5
+        ).getValue();
+    }
+
+    @Benchmark
+    public Object invokeReflectionUtilByMethod() {
+        return ReflectionUtil.invokeMethod(MOVE_X, packet, 0.5).getValue();
+    }
+
+    @Benchmark
+    public Object invokeReflectionUtilUnchecked() {
+        return ReflectionUtil.invokeMethodUnchecked(MOVE_X, packet, 0.5);
+    }
+
+    @Benchmark
+    public Double invokeCompiledInvoker() {
+        return MOVE_X_INVOKER.invoke(packet, 0.5);
+    }
+
+    @Benchmark
+    public Double invokeCompiledInvokerFixedArity() {
+        return MOVE_X_INVOKER.invoke1(packet, 0.5);
+    }
+}
@@ -0,0 +1,89 @@
+package me.ialistannen.bukkitutilities.coreplugin;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.logging.Level;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+
+import me.ialistannen.bukkitutilities.modulesystem.AdminCommand;
+import me.ialistannen.bukkitutilities.modulesystem.Module;
+import me.ialistannen.bukkitutilities.modulesystem.ModuleManager;
+
+/**
+ * Executes the "/bukkitutilities" command, dispatching to the {@link AdminCommand}s of the modules
+ */
+class AdminCommandExecutor implements CommandExecutor {
+
+    private final BukkitUtilities plugin;
+
+    /**
+     * @param plugin The core plugin
+     */
+    AdminCommandExecutor(BukkitUtilities plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            sendHelp(sender, label);
+            return true;
+        }
+
+        Optional<AdminCommand> adminCommand = findCommand(args[0]);
+        if (!adminCommand.isPresent()) {
+            sender.sendMessage(ChatColor.RED + "Unknown sub command '" + args[0] + "'.");
+            sendHelp(sender, label);
+            return true;
+        }
+
+        AdminCommand subCommand = adminCommand.get();
+        try {
+            if (!subCommand.execute(sender, Arrays.asList(args).subList(1, args.length))) {
+                sender.sendMessage(ChatColor.RED + "Usage: /" + label + " " + subCommand.getName()
+                        + " " + subCommand.getUsage());
+            }
+        } catch (RuntimeException e) {
+            sender.sendMessage(ChatColor.RED + "An error occurred: " + e.getMessage());
+            plugin.getLogger().log(Level.WARNING, "Error executing admin command " + subCommand.getName(), e);
+        }
+        return true;
+    }
+
+    /**
+     * @param name The name of the command
+     *
+     * @return The command with the name, if any
+     */
+    private Optional<AdminCommand> findCommand(String name) {
+        for (Module module : ModuleManager.INSTANCE.getModules()) {
+            for (AdminCommand adminCommand : module.getAdminCommands()) {
+                if (adminCommand.getName().equalsIgnoreCase(name)) {
+                    return Optional.of(adminCommand);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Lists all sub commands
+     *
+     * @param sender The sender to send it to
+     * @param label The used label
+     */
+    private void sendHelp(CommandSender sender, String label) {
+        sender.sendMessage(ChatColor.GOLD + "BukkitUtilities admin commands:");
+        for (Module module : ModuleManager.INSTANCE.getModules()) {
+            for (AdminCommand adminCommand : module.getAdminCommands()) {
+                sender.sendMessage(ChatColor.AQUA + "/" + label + " " + adminCommand.getName()
+                        + " " + adminCommand.getUsage()
+                        + ChatColor.GRAY + " - " + adminCommand.getDescription());
+            }
+        }
+    }
+}
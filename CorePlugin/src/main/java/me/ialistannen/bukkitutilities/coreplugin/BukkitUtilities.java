@@ -3,6 +3,7 @@ package me.ialistannen.bukkitutilities.coreplugin;
 import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,10 +11,14 @@ import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
 import me.ialistannen.bukkitutilities.modulesystem.Module;
 import me.ialistannen.bukkitutilities.modulesystem.ModuleLoader;
 import me.ialistannen.bukkitutilities.modulesystem.ModuleLoader.PostponedMessage;
 import me.ialistannen.bukkitutilities.modulesystem.ModuleManager;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer.Report;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer.TaskResult;
 import me.ialistannen.bukkitutilities.utilities.disable.DisableManager;
 
 public final class BukkitUtilities extends JavaPlugin {
@@ -64,6 +69,21 @@ public final class BukkitUtilities extends JavaPlugin {
         }
 
         disableManager = new DisableManager(this);
+        Bukkit.getPluginManager().registerEvents(new ClassCacheCleaner(), this);
+
+        getCommand("bukkitutilities").setExecutor(new AdminCommandExecutor(this));
+
+        for (Module module : ModuleManager.INSTANCE.getModules()) {
+            try {
+                module.onEnable(this);
+            } catch (RuntimeException e) {
+                getLogger().log(Level.WARNING, "Error enabling module " + module.getModuleName(), e);
+            }
+        }
+
+        if (getConfig().getBoolean("pre-warm.enabled", true)) {
+            preWarm();
+        }
     }
 
     @Override
@@ -72,6 +92,17 @@ public final class BukkitUtilities extends JavaPlugin {
             disableManager.disable();
         }
 
+        for (Module module : ModuleManager.INSTANCE.getModules()) {
+            try {
+                module.onDisable();
+            } catch (RuntimeException e) {
+                getLogger().log(Level.WARNING, "Error disabling module " + module.getModuleName(), e);
+            }
+        }
+
+        // the caches hold on to classes of the server, which outlive us
+        ClassCache.clearAll();
+
         // prevent the old instance from still being around.
         instance = null;
         moduleLoader = null;
@@ -95,6 +126,54 @@ public final class BukkitUtilities extends JavaPlugin {
         return instance;
     }
 
+    /**
+     * Runs the {@link PreWarmer} tasks of all modules and logs the report
+     */
+    private void preWarm() {
+        PreWarmer preWarmer = new PreWarmer();
+        for (Module module : ModuleManager.INSTANCE.getModules()) {
+            try {
+                module.registerPreWarmTasks(preWarmer);
+            } catch (RuntimeException e) {
+                getLogger().log(Level.WARNING, "Error registering pre-warm tasks of " + module.getModuleName(), e);
+            }
+        }
+        if (preWarmer.getTaskAmount() == 0) {
+            return;
+        }
+
+        int threads = getConfig().getInt("pre-warm.threads", 0);
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        long timeout = getConfig().getLong("pre-warm.timeout-millis", 250);
+        Report report = preWarmer.run(threads, timeout, TimeUnit.MILLISECONDS, this::logLatePreWarmResult);
+
+        getLogger().log(report.isHealthy() ? Level.INFO : Level.WARNING, report.toString());
+        for (TaskResult result : report.getResults()) {
+            if (result.getFailure() != null) {
+                getLogger().log(Level.FINE, "Pre-warm task " + result.getName() + " failed", result.getFailure());
+            }
+        }
+    }
+
+    /**
+     * Logs the result of a pre-warm task that finished in the background
+     *
+     * @param result The result of the task
+     */
+    private void logLatePreWarmResult(TaskResult result) {
+        if (result.getFailure() != null) {
+            getLogger().log(Level.WARNING, "Pre-warm task " + result.getName() + " failed", result.getFailure());
+        }
+        else {
+            getLogger().fine(String.format(
+                    Locale.ROOT, "Pre-warm task %s finished after %d ms in the background",
+                    result.getName(), TimeUnit.NANOSECONDS.toMillis(result.getDurationNanos())
+            ));
+        }
+    }
+
     /**
      * Prints all {@link PostponedMessage}s
      *
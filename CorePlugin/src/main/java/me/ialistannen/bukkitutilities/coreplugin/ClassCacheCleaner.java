@@ -0,0 +1,19 @@
+package me.ialistannen.bukkitutilities.coreplugin;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+
+/**
+ * Drops the {@link ClassCache} entries of plugins when they are disabled, so a reload of them does not leak
+ * their class loader
+ */
+class ClassCacheCleaner implements Listener {
+
+    @EventHandler
+    public void onDisable(PluginDisableEvent event) {
+        ClassCache.forgetAll(event.getPlugin().getClass().getClassLoader());
+    }
+}
@@ -20,6 +20,7 @@ import me.ialistannen.bukkitutilities.gui.Gui;
 import me.ialistannen.bukkitutilities.gui.components.Button;
 import me.ialistannen.bukkitutilities.gui.components.panes.AnchorPane;
 import me.ialistannen.bukkitutilities.gui.util.Dimension;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
 import me.ialistannen.bukkitutilities.packet.PacketManager;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
@@ -80,8 +81,13 @@ public class AnvilGui extends Gui implements AnvilInputHolder {
     @Override
     protected void onDisplay(Gui previous) {
         getPlayer().ifPresent(player -> {
-            PacketManager.getInstance().addListener(listener, player);
-            PacketManager.getInstance().addListener(anvilItemRenameListener, player);
+            PacketManager.getInstance().addListener(
+                    listener, player, ConnectionDirection.TO_SERVER, AnvilPacketListener.TARGET_CLASS
+            );
+            PacketManager.getInstance().addListener(
+                    anvilItemRenameListener, player, ConnectionDirection.TO_SERVER,
+                    AnvilItemRenameListener.PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS
+            );
 
             // by the time this method is called, the inventory is NOT yet opened.
             new BukkitRunnable() {
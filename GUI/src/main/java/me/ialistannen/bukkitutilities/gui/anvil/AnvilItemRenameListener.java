@@ -1,7 +1,5 @@
 package me.ialistannen.bukkitutilities.gui.anvil;
 
-import java.lang.reflect.Field;
-
 import org.bukkit.inventory.InventoryHolder;
 
 import io.netty.buffer.ByteBuf;
@@ -9,7 +7,11 @@ import me.ialistannen.bukkitutilities.packet.PacketAdapter;
 import me.ialistannen.bukkitutilities.packet.PacketEvent;
 import me.ialistannen.bukkitutilities.packet.PacketUtilities;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
-import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+import me.ialistannen.bukkitutilities.reflection.view.StructView;
+import me.ialistannen.bukkitutilities.reflection.view.StructViewFactory;
+import me.ialistannen.bukkitutilities.reflection.view.StructViews;
+import me.ialistannen.bukkitutilities.reflection.view.ViewField;
+import me.ialistannen.bukkitutilities.reflection.view.ViewTarget;
 
 import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.NMS;
 
@@ -17,21 +19,22 @@ import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace
  * A PacketListener for the PacketPlayInPayload for anvil item renames
  */
 class AnvilItemRenameListener extends PacketAdapter {
-    private static final Class<?> PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS = ReflectionUtil.getClass(
+    static final Class<?> PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS = ReflectionUtil.getClass(
             NMS,
             "PacketPlayInCustomPayload"
     ).orElseThrow(() -> new RuntimeException("Could not find the 'PacketPlayInCustomPayload' class!"));
+    private static final StructViewFactory<CustomPayloadView> CUSTOM_PAYLOAD_VIEW = StructViews.compile(
+            CustomPayloadView.class
+    );
 
     @Override
     public void onPacketReceived(PacketEvent packetEvent) {
-        if (packetEvent.getPacket().getPacketClass() != PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS) {
+        if (packetEvent.getPacketClass() != PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS) {
             return;
         }
-        PacketPlayInCustomPayloadWrapper customPayloadWrapper = new PacketPlayInCustomPayloadWrapper(
-                packetEvent.getPacket().getNMSPacket()
-        );
+        CustomPayloadView customPayload = CUSTOM_PAYLOAD_VIEW.wrap(packetEvent.getRawPacket());
 
-        String channel = customPayloadWrapper.getChannel();
+        String channel = customPayload.getChannel();
 
         // we only want renames!
         if (!channel.equals("MC|ItemName")) {
@@ -47,68 +50,41 @@ class AnvilItemRenameListener extends PacketAdapter {
 
         AnvilTypeEvent anvilTypeEvent = new AnvilTypeEvent(
                 anvilInputHolder,
-                customPayloadWrapper.getStringPayload()
+                getStringPayload(customPayload)
         );
         anvilInputHolder.reactToTyping(anvilTypeEvent);
     }
 
-    private static class PacketPlayInCustomPayloadWrapper {
-        private static final Class<?> PACKET_DATA_SERIALIZER_CLASS = ReflectionUtil.getClass(
-                NMS,
-                "PacketDataSerializer"
-        ).orElseThrow(() -> new RuntimeException("Could not find the 'PacketPlayInCustomPayload' class!"));
-        private static final Field CHANNEL_FIELD = ReflectionUtil.getField(
-                PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS,
-                new FieldPredicate(String.class)
-        ).getValueOrThrow("Could not find the 'channel' field. I did not search by name, but type");
-        private static final Field PACKET_DATA_SERIALIZER_FIELD = ReflectionUtil.getField(
-                PACKET_PLAY_IN_CUSTOM_PAYLOAD_CLASS,
-                new FieldPredicate(PACKET_DATA_SERIALIZER_CLASS)
-        ).getValueOrThrow("Could not find the 'data serializer' field. I did not search by name, but type");
-
-
-        private Object raw;
+    /**
+     * Returns the payload for the channels "MC|ItemName" and "MC|Brand".
+     *
+     * @param customPayload The packet
+     *
+     * @return The payload. Only works for packets with just a String as payload
+     */
+    private static String getStringPayload(CustomPayloadView customPayload) {
+        // the server reads the payload too, so don't move its reader index
+        ByteBuf payload = customPayload.getDataSerializer().duplicate();
+
+        return PacketUtilities.readString(payload);
+    }
 
-        /**
-         * @param raw The NMS packet
-         */
-        PacketPlayInCustomPayloadWrapper(Object raw) {
-            this.raw = raw;
-        }
+    /**
+     * A view on the "PacketPlayInCustomPayload"
+     */
+    @ViewTarget("{nms}.PacketPlayInCustomPayload")
+    interface CustomPayloadView extends StructView {
 
         /**
          * @return The channel
          */
-        String getChannel() {
-            return (String) ReflectionUtil.getFieldValue(CHANNEL_FIELD, raw)
-                    .getValueOrThrow("Could not read 'channel' field!");
-        }
+        @ViewField
+        String getChannel();
 
         /**
-         * Returns the payload for the channels "MC|ItemName" and "MC|Brand".
-         *
-         * @return The payload. Only works for packets with just a String as payload
+         * @return The PacketDataSerializer holding the payload
          */
-        String getStringPayload() {
-            ByteBuf dataSerializer = (ByteBuf) ReflectionUtil.getFieldValue(PACKET_DATA_SERIALIZER_FIELD, raw)
-                    .getValueOrThrow("Could not read 'data serializer' field!");
-
-            dataSerializer = dataSerializer.copy();
-
-            int readableBytes = (int) ReflectionUtil.invokeInstanceMethod(
-                    dataSerializer,
-                    "readableBytes",
-                    new Class[0]
-            ).getValueOrThrow("Could not invoke the 'readableBytes' method!");
-
-            ByteBuf byteBuffer = (ByteBuf) ReflectionUtil.invokeInstanceMethod(
-                    dataSerializer,
-                    "readBytes",
-                    new Class[]{int.class},
-                    readableBytes
-            ).getValueOrThrow("Could not invoke the 'readBytes' method!");
-
-            return PacketUtilities.readString(Integer.MAX_VALUE / 4 - 1, byteBuffer);
-        }
+        @ViewField(type = "{nms}.PacketDataSerializer")
+        ByteBuf getDataSerializer();
     }
 }
@@ -14,13 +14,13 @@ import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
  */
 public class AnvilPacketListener extends PacketAdapter {
 
-    private static final Class<?> TARGET_CLASS = ReflectionUtil
+    static final Class<?> TARGET_CLASS = ReflectionUtil
             .getClass("{nms}.PacketPlayInWindowClick")
             .orElseThrow(() -> new RuntimeException("Couldn't find NMS class 'PacketPlayInWindowClick'"));
 
     @Override
     public void onPacketReceived(PacketEvent packetEvent) {
-        if (!packetEvent.getPacket().getPacketClass().equals(TARGET_CLASS)) {
+        if (!packetEvent.getPacketClass().equals(TARGET_CLASS)) {
             return;
         }
         WindowClickWrapper clickWrapper = new WindowClickWrapper(packetEvent.getPacket(), packetEvent.getPlayer());
@@ -0,0 +1,38 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.List;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * A sub command of the "/bukkitutilities" admin command of the core plugin
+ *
+ * @see Module#getAdminCommands()
+ */
+public interface AdminCommand {
+
+    /**
+     * @return The name of the command. Used as the first argument.
+     */
+    String getName();
+
+    /**
+     * @return The usage, without the name. E.g. {@code "<enable|disable>"}
+     */
+    String getUsage();
+
+    /**
+     * @return A short description of the command
+     */
+    String getDescription();
+
+    /**
+     * Executes the command
+     *
+     * @param sender The sender of the command
+     * @param args The arguments, without the name of this command
+     *
+     * @return False if the usage should be shown
+     */
+    boolean execute(CommandSender sender, List<String> args);
+}
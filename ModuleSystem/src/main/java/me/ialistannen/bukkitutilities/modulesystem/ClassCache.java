@@ -0,0 +1,152 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A cache of values computed per class, owned by this plugin.
+ * <p>
+ * A {@link ClassValue} stores its values on the class they belong to. If the value is an instance of one of
+ * our classes and the class is a server or JDK class, the class keeps our class loader alive after a reload.
+ * This cache is a plain map held by us instead, so it dies together with the plugin.
+ * <p>
+ * Entries for classes of other plugins are dropped with {@link #forgetAll(ClassLoader)} when that plugin is
+ * disabled and {@link #clearAll()} drops everything when this plugin is disabled.
+ *
+ * @param <V> The type of the cached values
+ */
+@SuppressWarnings("WeakerAccess")
+public final class ClassCache <V> {
+
+    private static final Set<ClassCache<?>> CACHES = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>())
+    );
+
+    private final ConcurrentMap<Class<?>, V> values = new ConcurrentHashMap<>();
+    private final Function<Class<?>, ? extends V> computer;
+
+    /**
+     * @param computer Computes the value for a class. May request values for other classes from this cache.
+     *
+     * @throws NullPointerException if computer is null
+     */
+    public ClassCache(Function<Class<?>, ? extends V> computer) {
+        this.computer = Objects.requireNonNull(computer, "computer can not be null");
+
+        CACHES.add(this);
+    }
+
+    /**
+     * Returns the value for a class, computing it if needed
+     * <p>
+     * Like {@link ClassValue#get(Class)} the value may be computed more than once if two threads ask at the
+     * same time, but only one of them is ever returned.
+     *
+     * @param type The class
+     *
+     * @return The value for the class
+     */
+    public V get(Class<?> type) {
+        V value = values.get(type);
+        if (value == null) {
+            // not computeIfAbsent, the computer may recurse into this cache (e.g. for the superclass)
+            V computed = computer.apply(type);
+            value = values.putIfAbsent(type, computed);
+            if (value == null) {
+                value = computed;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return All computed values. An unmodifiable live view.
+     */
+    public Map<Class<?>, V> asMap() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Drops the values of all classes loaded by the given class loader
+     *
+     * @param classLoader The class loader
+     */
+    public void forget(ClassLoader classLoader) {
+        values.keySet().removeIf(type -> type.getClassLoader() == classLoader);
+    }
+
+    /**
+     * Drops all values
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    /**
+     * Drops the values of all classes loaded by the given class loader, in all caches
+     *
+     * @param classLoader The class loader, e.g. of a plugin that is disabled
+     */
+    public static void forgetAll(ClassLoader classLoader) {
+        for (ClassCache<?> cache : snapshot()) {
+            cache.forget(classLoader);
+        }
+    }
+
+    /**
+     * Drops all values of all caches
+     */
+    public static void clearAll() {
+        for (ClassCache<?> cache : snapshot()) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Checks if a value cached for a class may hold a reference to another class
+     * <p>
+     * That is the case if the other class can not outlive the class: It is a JDK class, one of our own
+     * classes or visible from the class loader of the class.
+     *
+     * @param owner The class the value is cached for
+     * @param referenced The class the value would reference
+     *
+     * @return True if the reference does not keep a foreign class loader alive
+     */
+    public static boolean canReference(Class<?> owner, Class<?> referenced) {
+        ClassLoader referencedLoader = referenced.getClassLoader();
+        if (referencedLoader == null || referencedLoader == ClassCache.class.getClassLoader()) {
+            return true;
+        }
+        for (ClassLoader loader = owner.getClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader == referencedLoader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A copy of all caches
+     */
+    private static Collection<ClassCache<?>> snapshot() {
+        synchronized (CACHES) {
+            return new ArrayList<>(CACHES);
+        }
+    }
+
+    /**
+     * @return The amount of cached values
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -1,8 +1,12 @@
 package me.ialistannen.bukkitutilities.modulesystem;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import org.bukkit.plugin.java.JavaPlugin;
+
 
 /**
  * A module for the {@link ModuleSystemModule} plugin
@@ -53,4 +57,39 @@ public interface Module {
     @SuppressWarnings("unused")
     boolean isModuleCompatible();
     // TODO: 13.01.2017 Implement compatibility check 
+
+    /**
+     * Called when the core plugin is enabled
+     *
+     * @param corePlugin The core plugin
+     */
+    @SuppressWarnings("unused")
+    default void onEnable(JavaPlugin corePlugin) {
+    }
+
+    /**
+     * Registers the tasks to run in the pre-warm phase, when the core plugin enables
+     * <p>
+     * Called after {@link #onEnable(JavaPlugin)}.
+     *
+     * @param preWarmer The {@link PreWarmer} to register them with
+     */
+    @SuppressWarnings("unused")
+    default void registerPreWarmTasks(PreWarmer preWarmer) {
+    }
+
+    /**
+     * Returns the sub commands this module adds to the admin command of the core plugin
+     *
+     * @return The admin commands of this module
+     */
+    default Collection<AdminCommand> getAdminCommands() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Called when the core plugin is disabled
+     */
+    default void onDisable() {
+    }
 }
@@ -3,6 +3,7 @@ package me.ialistannen.bukkitutilities.modulesystem;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -112,6 +113,13 @@ public enum ModuleManager {
         return dependencyManager.registerPlugin(plugin);
     }
 
+    /**
+     * @return All registered modules. Unmodifiable.
+     */
+    public Collection<Module> getModules() {
+        return Collections.unmodifiableCollection(moduleMap.values());
+    }
+
     /**
      * @return The amount of modules in the manager
      */
@@ -0,0 +1,393 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the pre-warm tasks of the modules in parallel.
+ * <p>
+ * Modules register the tasks in {@link Module#registerPreWarmTasks(PreWarmer)}. A task typically
+ * initializes the classes resolving the NMS members the module needs, so that this happens while the
+ * core plugin enables and not when a player first triggers the code. Failures are collected in a single
+ * {@link Report}.
+ * <p>
+ * The enabling thread only waits a short time for the tasks. Slow tasks finish in the background, still
+ * before most of them are needed.
+ * <p>
+ * Tasks run concurrently, so <b>they must not use the Bukkit API</b> in a way that requires the main thread.
+ */
+public final class PreWarmer {
+
+    private final Map<String, Runnable> tasks = new LinkedHashMap<>();
+
+    /**
+     * Registers a task
+     *
+     * @param name The name of the task, shown in the report
+     * @param task The task
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if a task with this name is already registered
+     */
+    public synchronized void register(String name, Runnable task) {
+        Objects.requireNonNull(name, "name can not be null");
+        Objects.requireNonNull(task, "task can not be null");
+
+        if (tasks.putIfAbsent(name, task) != null) {
+            throw new IllegalArgumentException("Duplicated task name: " + name);
+        }
+    }
+
+    /**
+     * Registers a task initializing the given classes, in the given order
+     * <p>
+     * The classes are initialized by the same thread, so their static initializers may depend on each other.
+     *
+     * @param name The name of the task, shown in the report
+     * @param classes The classes to initialize
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if a task with this name is already registered
+     */
+    public void registerClassInitialization(String name, Class<?>... classes) {
+        Objects.requireNonNull(classes, "classes can not be null");
+
+        Class<?>[] copy = classes.clone();
+        register(name, () -> {
+            for (Class<?> clazz : copy) {
+                try {
+                    Class.forName(clazz.getName(), true, clazz.getClassLoader());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Class vanished: " + clazz.getName(), e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return The amount of registered tasks
+     */
+    public synchronized int getTaskAmount() {
+        return tasks.size();
+    }
+
+    /**
+     * Runs all registered tasks and waits a bit for them to finish
+     * <p>
+     * Tasks that did not finish until the timeout are <b>not</b> cancelled, as a running class initialization
+     * can not be interrupted anyways. They keep running in the background and their results are passed to
+     * the lateResultHandler, on the worker thread.
+     *
+     * @param threads The maximum amount of worker threads
+     * @param timeout The maximum time to wait for the tasks. 0 to not wait at all.
+     * @param unit The unit of the timeout
+     * @param lateResultHandler Receives the results of the tasks finishing after the timeout
+     *
+     * @return The report for the run
+     *
+     * @throws NullPointerException     if unit or lateResultHandler is null
+     * @throws IllegalArgumentException if threads is smaller than 1
+     */
+    public Report run(int threads, long timeout, TimeUnit unit, Consumer<TaskResult> lateResultHandler) {
+        Objects.requireNonNull(unit, "unit can not be null");
+        Objects.requireNonNull(lateResultHandler, "lateResultHandler can not be null");
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1, was " + threads);
+        }
+
+        Map<String, Runnable> tasks;
+        synchronized (this) {
+            tasks = new LinkedHashMap<>(this.tasks);
+        }
+        if (tasks.isEmpty()) {
+            return new Report(Collections.emptyList(), 0, 0);
+        }
+
+        int poolSize = Math.min(threads, tasks.size());
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, new PreWarmThreadFactory());
+
+        long start = System.nanoTime();
+        List<RunningTask> running = new ArrayList<>(tasks.size());
+        for (Map.Entry<String, Runnable> entry : tasks.entrySet()) {
+            RunningTask task = new RunningTask(entry.getKey(), entry.getValue(), lateResultHandler);
+            task.future = executor.submit(task::run);
+            running.add(task);
+        }
+        // lets the workers die once the queue is drained, without interrupting them
+        executor.shutdown();
+
+        long deadline = start + unit.toNanos(timeout);
+        List<TaskResult> results = new ArrayList<>(running.size());
+        for (RunningTask task : running) {
+            results.add(task.await(deadline));
+        }
+
+        return new Report(results, System.nanoTime() - start, poolSize);
+    }
+
+    /**
+     * @param name The name of the task
+     * @param task The task to execute
+     *
+     * @return The result of the task
+     */
+    private static TaskResult execute(String name, Runnable task) {
+        long start = System.nanoTime();
+        try {
+            task.run();
+            return new TaskResult(name, System.nanoTime() - start, null, false);
+        } catch (RuntimeException | Error e) {
+            return new TaskResult(name, System.nanoTime() - start, e, false);
+        }
+    }
+
+    /**
+     * A submitted task, handing its result either to the waiting thread or to the late result handler
+     */
+    private static final class RunningTask {
+
+        private static final int RUNNING = 0;
+        private static final int FINISHED = 1;
+        private static final int ABANDONED = 2;
+
+        private final String name;
+        private final Runnable task;
+        private final Consumer<TaskResult> lateResultHandler;
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+        private volatile Future<TaskResult> future;
+
+        /**
+         * @param name The name of the task
+         * @param task The task
+         * @param lateResultHandler Receives the result if the waiting thread gave up
+         */
+        private RunningTask(String name, Runnable task, Consumer<TaskResult> lateResultHandler) {
+            this.name = name;
+            this.task = task;
+            this.lateResultHandler = lateResultHandler;
+        }
+
+        /**
+         * Executes the task on a worker thread
+         *
+         * @return The result of the task
+         */
+        private TaskResult run() {
+            TaskResult result = execute(name, task);
+            if (!state.compareAndSet(RUNNING, FINISHED)) {
+                lateResultHandler.accept(result);
+            }
+            return result;
+        }
+
+        /**
+         * Waits for the result, giving up at the deadline
+         *
+         * @param deadline The {@link System#nanoTime()} to wait until
+         *
+         * @return The result of the task or a timed out result
+         */
+        private TaskResult await(long deadline) {
+            try {
+                return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return abandon();
+            } catch (ExecutionException e) {
+                return new TaskResult(name, -1, e.getCause(), false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return abandon();
+            }
+        }
+
+        /**
+         * @return A timed out result or the real one, if the task finished in the meantime
+         */
+        private TaskResult abandon() {
+            if (state.compareAndSet(RUNNING, ABANDONED)) {
+                return new TaskResult(name, -1, null, true);
+            }
+            // finished right after the deadline, so the result is there
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                return new TaskResult(name, -1, e.getCause(), false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new TaskResult(name, -1, e, false);
+            }
+        }
+    }
+
+    /**
+     * Creates the daemon worker threads
+     */
+    private static class PreWarmThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "BukkitUtilities-PreWarm-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * The result of a single task
+     */
+    public static final class TaskResult {
+
+        private final String name;
+        private final long durationNanos;
+        private final Throwable failure;
+        private final boolean timedOut;
+
+        /**
+         * @param name The name of the task
+         * @param durationNanos The time the task took or -1 if unknown
+         * @param failure The thrown exception, if any
+         * @param timedOut True if the task did not finish in time and still runs
+         */
+        private TaskResult(String name, long durationNanos, Throwable failure, boolean timedOut) {
+            this.name = name;
+            this.durationNanos = durationNanos;
+            this.failure = failure;
+            this.timedOut = timedOut;
+        }
+
+        /**
+         * @return The name of the task
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The time the task took in nanoseconds or -1 if it is unknown
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return The exception the task threw or null if none
+         */
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        /**
+         * @return True if the task did not finish in time. It is still running in the background.
+         */
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * @return True if the task finished in time without an exception
+         */
+        public boolean isSuccessful() {
+            return failure == null && !timedOut;
+        }
+    }
+
+    /**
+     * The timing and health report of a run
+     */
+    public static final class Report {
+
+        private final List<TaskResult> results;
+        private final long durationNanos;
+        private final int threads;
+
+        /**
+         * @param results The results of the tasks
+         * @param durationNanos The time the whole run took
+         * @param threads The amount of used worker threads
+         */
+        private Report(List<TaskResult> results, long durationNanos, int threads) {
+            this.results = Collections.unmodifiableList(results);
+            this.durationNanos = durationNanos;
+            this.threads = threads;
+        }
+
+        /**
+         * @return The results of all tasks, in registration order. Unmodifiable.
+         */
+        public List<TaskResult> getResults() {
+            return results;
+        }
+
+        /**
+         * @return The time the whole run took in nanoseconds
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return True if no task failed. Tasks still running in the background do not count as failed.
+         */
+        public boolean isHealthy() {
+            return results.stream().allMatch(result -> result.getFailure() == null);
+        }
+
+        /**
+         * @return A multi line, human readable version of this report
+         */
+        @Override
+        public String toString() {
+            long failed = results.stream().filter(result -> result.getFailure() != null).count();
+            long pending = results.stream().filter(TaskResult::isTimedOut).count();
+
+            StringBuilder builder = new StringBuilder(String.format(
+                    Locale.ROOT,
+                    "Pre-warmed %d task(s) in %d ms on %d thread(s), %d failed, %d still running",
+                    results.size(), TimeUnit.NANOSECONDS.toMillis(durationNanos), threads, failed, pending
+            ));
+
+            for (TaskResult result : results) {
+                builder.append(System.lineSeparator());
+                String state = result.isTimedOut() ? "PENDING" : result.getFailure() == null ? "OK" : "FAILED";
+                String duration = result.getDurationNanos() < 0
+                                  ? "?"
+                                  : Long.toString(TimeUnit.NANOSECONDS.toMillis(result.getDurationNanos()));
+                builder.append(String.format(Locale.ROOT, "  %-8s %-20s %6s ms", state, result.getName(), duration));
+
+                if (result.getFailure() != null) {
+                    builder.append("  ").append(describe(result.getFailure()));
+                }
+            }
+            return builder.toString();
+        }
+
+        /**
+         * @param throwable The exception
+         *
+         * @return The type and message of the root cause
+         */
+        private static String describe(Throwable throwable) {
+            Throwable cause = throwable;
+            while (cause.getCause() != null && cause.getCause() != cause) {
+                cause = cause.getCause();
+            }
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+}
@@ -18,19 +18,11 @@ class ReflectionHelper {
      *
      * @return True if {@code toCheck} somehow inherits from
      * {@code inheritedClass}
+     *
+     * @see TypeHierarchy#isSubtypeOf(Class, Class)
      */
     static boolean inheritsFrom(Class<?> toCheck, Class<?> inheritedClass) {
-        if (inheritedClass.isAssignableFrom(toCheck)) {
-            return true;
-        }
-
-        for (Class<?> implementedInterface : toCheck.getInterfaces()) {
-            if (inheritsFrom(implementedInterface, inheritedClass)) {
-                return true;
-            }
-        }
-
-        return false;
+        return TypeHierarchy.isSubtypeOf(toCheck, inheritedClass);
     }
 
     /**
@@ -0,0 +1,100 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The flattened supertypes of a class.
+ * <p>
+ * The hierarchy is walked once per class and stored in a {@link ClassCache}, so checking if a class is a
+ * subtype of another is a single hash lookup afterwards. The cache is owned by this plugin, as the hierarchies
+ * of JDK and server classes would otherwise keep its class loader alive.
+ */
+@SuppressWarnings("WeakerAccess")
+public final class TypeHierarchy {
+
+    private static final ClassCache<TypeHierarchy> HIERARCHIES = new ClassCache<>(TypeHierarchy::new);
+
+    private final Class<?> type;
+    private final Set<Class<?>> supertypes;
+
+    /**
+     * @param type The class to compute the hierarchy for
+     */
+    private TypeHierarchy(Class<?> type) {
+        this.type = type;
+
+        Set<Class<?>> supertypes = new HashSet<>();
+        supertypes.add(type);
+        if (type.getSuperclass() != null) {
+            supertypes.addAll(of(type.getSuperclass()).supertypes);
+        }
+        for (Class<?> implementedInterface : type.getInterfaces()) {
+            supertypes.addAll(of(implementedInterface).supertypes);
+        }
+        // interfaces have no superclass, but are still assignable to Object
+        if (type.isInterface()) {
+            supertypes.add(Object.class);
+        }
+
+        this.supertypes = Collections.unmodifiableSet(supertypes);
+    }
+
+    /**
+     * Returns the hierarchy of a class
+     *
+     * @param type The class
+     *
+     * @return The hierarchy of the class
+     *
+     * @throws NullPointerException if type is null
+     */
+    public static TypeHierarchy of(Class<?> type) {
+        Objects.requireNonNull(type, "type can not be null");
+
+        return HIERARCHIES.get(type);
+    }
+
+    /**
+     * Checks if a class is the same as or a subtype of another class
+     * <p>
+     * Behaves like {@code supertype.isAssignableFrom(type)}.
+     *
+     * @param type The class to check
+     * @param supertype The potential supertype
+     *
+     * @return True if {@code type} is {@code supertype} or extends or implements it
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    public static boolean isSubtypeOf(Class<?> type, Class<?> supertype) {
+        Objects.requireNonNull(type, "type can not be null");
+        Objects.requireNonNull(supertype, "supertype can not be null");
+
+        if (type == supertype) {
+            return true;
+        }
+        // array covariance is not part of the flattened hierarchy
+        if (type.isArray()) {
+            return supertype.isAssignableFrom(type);
+        }
+        return HIERARCHIES.get(type).supertypes.contains(supertype);
+    }
+
+    /**
+     * @return The class this hierarchy is for
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * @return The class itself and all its superclasses and (transitively) implemented interfaces.
+     * Unmodifiable.
+     */
+    public Set<Class<?>> getSupertypes() {
+        return supertypes;
+    }
+}
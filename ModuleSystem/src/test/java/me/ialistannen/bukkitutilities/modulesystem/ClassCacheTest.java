@@ -0,0 +1,55 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Class Cache class
+ */
+public class ClassCacheTest {
+
+    @Test
+    void computesOnce() {
+        AtomicInteger computations = new AtomicInteger();
+        ClassCache<String> cache = new ClassCache<>(type -> {
+            computations.incrementAndGet();
+            return type.getSimpleName();
+        });
+
+        Assertions.assertEquals("String", cache.get(String.class));
+        Assertions.assertSame(cache.get(String.class), cache.get(String.class));
+        Assertions.assertEquals(1, computations.get());
+    }
+
+    private static final ClassCache<Integer> DEPTHS = new ClassCache<>(
+            type -> type.getSuperclass() == null ? 0 : ClassCacheTest.DEPTHS.get(type.getSuperclass()) + 1
+    );
+
+    @Test
+    void recursiveComputation() {
+        // Integer -> Number -> Object
+        Assertions.assertEquals(2, (long) DEPTHS.get(Integer.class));
+        Assertions.assertEquals(1, (long) DEPTHS.get(Number.class));
+    }
+
+    @Test
+    void forgetByClassLoader() {
+        ClassCache<String> cache = new ClassCache<>(Class::getName);
+        cache.get(String.class);
+        cache.get(ClassCacheTest.class);
+
+        ClassCache.forgetAll(ClassCacheTest.class.getClassLoader());
+        Assertions.assertEquals(1, cache.size());
+
+        ClassCache.clearAll();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    void canReference() {
+        Assertions.assertTrue(ClassCache.canReference(ClassCacheTest.class, String.class));
+        Assertions.assertTrue(ClassCache.canReference(String.class, ClassCache.class));
+    }
+}
@@ -0,0 +1,65 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer.Report;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer.TaskResult;
+
+/**
+ * Tests the Pre Warmer class
+ */
+public class PreWarmerTest {
+
+    @Test
+    void finishedTasks() {
+        PreWarmer preWarmer = new PreWarmer();
+        preWarmer.register("ok", () -> {
+        });
+        preWarmer.register("failing", () -> {
+            throw new IllegalStateException("failed");
+        });
+
+        List<TaskResult> lateResults = new CopyOnWriteArrayList<>();
+        Report report = preWarmer.run(2, 10, TimeUnit.SECONDS, lateResults::add);
+
+        Assertions.assertTrue(report.getResults().get(0).isSuccessful());
+        Assertions.assertTrue(report.getResults().get(1).getFailure() instanceof IllegalStateException);
+        Assertions.assertFalse(report.isHealthy());
+        Assertions.assertTrue(lateResults.isEmpty());
+    }
+
+    @Test
+    void slowTasksFinishInTheBackground() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicReference<TaskResult> lateResult = new AtomicReference<>();
+
+        PreWarmer preWarmer = new PreWarmer();
+        preWarmer.register("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted", e);
+            }
+        });
+
+        Report report = preWarmer.run(1, 0, TimeUnit.MILLISECONDS, result -> {
+            lateResult.set(result);
+            finished.countDown();
+        });
+
+        Assertions.assertTrue(report.getResults().get(0).isTimedOut());
+        Assertions.assertTrue(report.isHealthy());
+
+        release.countDown();
+        Assertions.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(lateResult.get().isSuccessful());
+    }
+}
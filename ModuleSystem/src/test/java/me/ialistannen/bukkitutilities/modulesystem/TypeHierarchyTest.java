@@ -0,0 +1,90 @@
+package me.ialistannen.bukkitutilities.modulesystem;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Type Hierarchy class
+ */
+public class TypeHierarchyTest {
+
+    private static final Class<?>[] TYPES = {
+            Object.class, String.class, CharSequence.class, Comparable.class, Serializable.class,
+            Integer.class, Number.class, ArrayList.class, List.class, Collection.class, Iterable.class,
+            RandomAccess.class, Top.class, Left.class, Right.class, Bottom.class, Diamond.class,
+            int.class, long.class, void.class,
+            int[].class, Integer[].class, Number[].class, Object[].class, String[][].class, Object[][].class,
+            Cloneable.class
+    };
+
+    @Test
+    void matchesIsAssignableFrom() {
+        for (Class<?> type : TYPES) {
+            for (Class<?> supertype : TYPES) {
+                Assertions.assertEquals(
+                        supertype.isAssignableFrom(type), TypeHierarchy.isSubtypeOf(type, supertype)
+                );
+            }
+        }
+    }
+
+    @Test
+    void interfaceExtendsObject() {
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(Bottom.class, Object.class));
+        Assertions.assertTrue(TypeHierarchy.of(List.class).getSupertypes().contains(Object.class));
+    }
+
+    @Test
+    void arrays() {
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(Integer[].class, Number[].class));
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(int[].class, Cloneable.class));
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(String[][].class, Object[].class));
+        Assertions.assertFalse(TypeHierarchy.isSubtypeOf(int[].class, Object[].class));
+    }
+
+    @Test
+    void primitives() {
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(int.class, int.class));
+        Assertions.assertFalse(TypeHierarchy.isSubtypeOf(int.class, Object.class));
+        Assertions.assertFalse(TypeHierarchy.isSubtypeOf(int.class, Integer.class));
+        Assertions.assertFalse(TypeHierarchy.isSubtypeOf(int.class, long.class));
+        Assertions.assertEquals(1, TypeHierarchy.of(int.class).getSupertypes().size());
+    }
+
+    @Test
+    void diamond() {
+        // Bottom, Left, Right, Top and Object, each once
+        Assertions.assertEquals(5, TypeHierarchy.of(Bottom.class).getSupertypes().size());
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(Diamond.class, Top.class));
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(Diamond.class, Left.class));
+        Assertions.assertTrue(TypeHierarchy.isSubtypeOf(Diamond.class, Right.class));
+        Assertions.assertFalse(TypeHierarchy.isSubtypeOf(Left.class, Right.class));
+    }
+
+    @Test
+    void cached() {
+        Assertions.assertSame(TypeHierarchy.of(Diamond.class), TypeHierarchy.of(Diamond.class));
+        Assertions.assertSame(Diamond.class, TypeHierarchy.of(Diamond.class).getType());
+    }
+
+    private interface Top {
+    }
+
+    private interface Left extends Top {
+    }
+
+    private interface Right extends Top {
+    }
+
+    private interface Bottom extends Left, Right {
+    }
+
+    private static class Diamond implements Left, Right {
+    }
+}
@@ -11,6 +11,8 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 
+import me.ialistannen.bukkitutilities.reflection.MappingCache;
+import me.ialistannen.bukkitutilities.reflection.MethodInvoker;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 
 import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.NMS;
@@ -35,6 +37,7 @@ public class EntityNBTUtil {
     private static final Logger LOGGER = Logger.getLogger("EntityNBTUtil");
 
     private static Method loadFromNbtMethod, saveToNbtMethod, getHandle;
+    private static MethodInvoker<Object> loadFromNbtInvoker, saveToNbtInvoker, getHandleInvoker;
     private static boolean error = false;
 
     static {
@@ -57,6 +60,12 @@ public class EntityNBTUtil {
             }
         }
         getLoadingMethods();
+
+        if (!error) {
+            getHandleInvoker = ReflectionUtil.compileInvoker(getHandle);
+            loadFromNbtInvoker = ReflectionUtil.compileInvoker(loadFromNbtMethod);
+            saveToNbtInvoker = ReflectionUtil.compileInvoker(saveToNbtMethod);
+        }
     }
 
     /**
@@ -70,7 +79,7 @@ public class EntityNBTUtil {
      */
     private static Object toNMSEntity(Entity entity) {
         ensureNoError();
-        return ReflectionUtil.invokeMethod(getHandle, entity).getValue();
+        return getHandleInvoker.invoke0(entity);
     }
 
     /**
@@ -104,7 +113,7 @@ public class EntityNBTUtil {
 
         {
             Object nbtNMS = entityNBT.toNBT();
-            ReflectionUtil.invokeMethod(saveToNbtMethod, nmsEntity, nbtNMS);
+            saveToNbtInvoker.invoke1(nmsEntity, nbtNMS);
             if (nbtNMS == null) {
                 throw new NullPointerException("SaveToNBT method set Nbt tag to null. Version incompatible?"
                         + nmsEntity.getClass());
@@ -135,7 +144,7 @@ public class EntityNBTUtil {
 
         Object nmsEntity = toNMSEntity(entity);
 
-        ReflectionUtil.invokeMethod(loadFromNbtMethod, nmsEntity, compound.toNBT());
+        loadFromNbtInvoker.invoke1(nmsEntity, compound.toNBT());
     }
 
     /**
@@ -169,6 +178,11 @@ public class EntityNBTUtil {
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     private static void getLoadingMethods() {
+        Optional<Class<?>> nmsEntityClass = ReflectionUtil.getClass(NMS, "Entity");
+        if (nmsEntityClass.isPresent() && loadCachedMethods(nmsEntityClass.get())) {
+            return;
+        }
+
         if (Bukkit.getWorlds().isEmpty()) {
             throw new IllegalStateException("Called me before at least one world was loaded...");
         }
@@ -199,9 +213,36 @@ public class EntityNBTUtil {
                     + " load " + (loadFromNbtMethod == null));
             error = true;
         }
+        else if (!error) {
+            MappingCache.putMethod(entityClass.get(), "EntityNBTUtil.load", loadFromNbtMethod);
+            MappingCache.putMethod(entityClass.get(), "EntityNBTUtil.save", saveToNbtMethod);
+        }
         sample.remove();
     }
 
+    /**
+     * Reads the methods found in an earlier run from the {@link MappingCache}
+     *
+     * @param entityClass The NMS entity class
+     *
+     * @return True if both methods were cached and still have the expected signature
+     */
+    private static boolean loadCachedMethods(Class<?> entityClass) {
+        Optional<Method> load = MappingCache.getMethod(
+                entityClass, "EntityNBTUtil.load", method -> NBTWrappers.isNbtTransferMethod(method, true)
+        );
+        Optional<Method> save = MappingCache.getMethod(
+                entityClass, "EntityNBTUtil.save", method -> NBTWrappers.isNbtTransferMethod(method, false)
+        );
+        if (!load.isPresent() || !save.isPresent()) {
+            return false;
+        }
+
+        loadFromNbtMethod = load.get();
+        saveToNbtMethod = save.get();
+        return true;
+    }
+
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     private static void initializeHigherThan1_9(Class<?> entityClass, Object nmsSample) {
         // load the loading method
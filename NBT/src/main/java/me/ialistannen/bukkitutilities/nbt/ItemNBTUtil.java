@@ -1,5 +1,7 @@
 package me.ialistannen.bukkitutilities.nbt;
 
+import java.lang.reflect.Method;
+
 import org.bukkit.inventory.ItemStack;
 
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
@@ -18,16 +20,21 @@ public class ItemNBTUtil {
     private static final Class<?> CRAFT_ITEM_STACK_CLASS = ReflectionUtil.getClass(OBC, "inventory.CraftItemStack")
             .get();
 
+    private static final Method AS_NMS_COPY = ReflectionUtil.getMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
+            .withName("asNMSCopy")
+            .withParameters(ItemStack.class)
+    ).getValueOrThrow("Could not find the 'asNMSCopy' method");
+    private static final Method AS_BUKKIT_COPY = ReflectionUtil.getMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
+            .withName("asBukkitCopy").withModifiers(Modifier.PUBLIC, Modifier.STATIC)
+    ).getValueOrThrow("Could not find the 'asBukkitCopy' method");
+
     /**
      * @param itemStack The {@link ItemStack} to convert
      *
      * @return The NMS Item stack
      */
     private static Object asNMSCopy(ItemStack itemStack) {
-        return ReflectionUtil.invokeMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
-                        .withName("asNMSCopy")
-                        .withParameters(ItemStack.class),
-                null, itemStack).getValue();
+        return ReflectionUtil.invokeMethod(AS_NMS_COPY, null, itemStack).getValue();
     }
 
     /**
@@ -38,9 +45,7 @@ public class ItemNBTUtil {
      * @return The converted Item
      */
     private static ItemStack asBukkitCopy(Object nmsItem) {
-        return (ItemStack) ReflectionUtil.invokeMethod(CRAFT_ITEM_STACK_CLASS, new MethodPredicate()
-                        .withName("asBukkitCopy").withModifiers(Modifier.PUBLIC, Modifier.STATIC),
-                null, nmsItem).getValue();
+        return (ItemStack) ReflectionUtil.invokeMethod(AS_BUKKIT_COPY, null, nmsItem).getValue();
     }
 
     /**
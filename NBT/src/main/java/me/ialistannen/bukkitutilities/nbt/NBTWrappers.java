@@ -1,6 +1,5 @@
 package me.ialistannen.bukkitutilities.nbt;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
@@ -16,6 +15,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
 
+import me.ialistannen.bukkitutilities.reflection.ConstructorInvoker;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
@@ -92,13 +92,13 @@ public class NBTWrappers {
      * A NBTTagString
      */
     public static class NBTTagString extends INBTBase {
-        private static final Constructor<?> NBT_TAG_STRING_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_STRING_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagString")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagString class")),
                         String.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagString class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagString class constructor")
+        );
 
         private String string;
 
@@ -130,7 +130,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_STRING_CONSTRUCTOR, getString()).getValue();
+            return NBT_TAG_STRING_CONSTRUCTOR.newInstance1(getString());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -171,12 +171,12 @@ public class NBTWrappers {
      * A NBTTagCompound
      */
     public static class NBTTagCompound extends INBTBase {
-        private static final Constructor<?> NBT_TAG_COMPOUND_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_COMPOUND_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagCompound")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagCompound class"))
-                )
-                .getValueOrThrow("Couldn't find NBTTagCompound class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagCompound class constructor")
+        );
 
         private final Map<String, INBTBase> map = new HashMap<>();
 
@@ -435,7 +435,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            Object compound = ReflectionUtil.instantiate(NBT_TAG_COMPOUND_CONSTRUCTOR).getValue();
+            Object compound = NBT_TAG_COMPOUND_CONSTRUCTOR.newInstance0();
 
             Optional<Class<?>> nbtBase = ReflectionUtil.getClass(NMS, "NBTBase");
             if (!nbtBase.isPresent()) {
@@ -516,12 +516,12 @@ public class NBTWrappers {
      * A NBTTagList.
      */
     public static class NBTTagList extends INBTBase {
-        private static final Constructor<?> NBT_TAG_LIST_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_LIST_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagList")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagList class"))
-                )
-                .getValueOrThrow("Couldn't find NBTTagList class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagList class constructor")
+        );
 
         private final List<INBTBase> list = new ArrayList<>();
 
@@ -608,7 +608,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            Object nbtList = ReflectionUtil.instantiate(NBT_TAG_LIST_CONSTRUCTOR).getValue();
+            Object nbtList = NBT_TAG_LIST_CONSTRUCTOR.newInstance0();
             Optional<Class<?>> nbtBase = ReflectionUtil.getClass(NMS, "NBTBase");
             if (!nbtBase.isPresent()) {
                 LOGGER.warning("Can't find NBTBase class from NBTTagList toNBT");
@@ -730,13 +730,13 @@ public class NBTWrappers {
      * A NBTTagDouble
      */
     public static class NBTTagDouble extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_DOUBLE_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_DOUBLE_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagDouble")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagDouble class")),
                         double.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagDouble class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagDouble class constructor")
+        );
 
         private double value;
 
@@ -767,7 +767,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_DOUBLE_CONSTRUCTOR, getAsDouble()).getValue();
+            return NBT_TAG_DOUBLE_CONSTRUCTOR.newInstance1(getAsDouble());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -816,13 +816,13 @@ public class NBTWrappers {
      * A NBTTagInt
      */
     public static class NBTTagInt extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_INT_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_INT_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagInt")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagInt class")),
                         int.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagInt class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagInt class constructor")
+        );
 
         private int value;
 
@@ -858,7 +858,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_INT_CONSTRUCTOR, getAsInt()).getValue();
+            return NBT_TAG_INT_CONSTRUCTOR.newInstance1(getAsInt());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -908,13 +908,13 @@ public class NBTWrappers {
      * A NBTTagIntArray
      */
     public static class NBTTagIntArray extends INBTBase {
-        private static final Constructor<?> NBT_TAG_INT_ARRAY_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_INT_ARRAY_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagIntArray")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagIntArray class")),
                         int[].class
-                )
-                .getValueOrThrow("Couldn't find NBTTagIntArray class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagIntArray class constructor")
+        );
 
         private int[] value;
 
@@ -941,7 +941,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_INT_ARRAY_CONSTRUCTOR, (Object) getValue()).getValue();
+            return NBT_TAG_INT_ARRAY_CONSTRUCTOR.newInstance1(getValue());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -990,13 +990,13 @@ public class NBTWrappers {
      * A NBTTagByte
      */
     public static class NBTTagByte extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_BYTE_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_BYTE_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagByte")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagByte class")),
                         byte.class
-                )
-                .getValueOrThrow("Couldn't find NBTTagByte class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagByte class constructor")
+        );
 
         private byte value;
 
@@ -1027,7 +1027,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_BYTE_CONSTRUCTOR, getAsByte()).getValue();
+            return NBT_TAG_BYTE_CONSTRUCTOR.newInstance1(getAsByte());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -1075,13 +1075,13 @@ public class NBTWrappers {
      * A NBTTagByteArray
      */
     public static class NBTTagByteArray extends INBTBase {
-        private static final Constructor<?> NBT_TAG_BYTE_ARRAY_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_BYTE_ARRAY_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagByteArray")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagByteArray class")),
                         byte[].class
-                )
-                .getValueOrThrow("Couldn't find NBTTagByteArray class constructor");
+                ).getValueOrThrow("Couldn't find NBTTagByteArray class constructor")
+        );
 
         private byte[] value;
 
@@ -1108,7 +1108,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_BYTE_ARRAY_CONSTRUCTOR, (Object) getValue()).getValue();
+            return NBT_TAG_BYTE_ARRAY_CONSTRUCTOR.newInstance1(getValue());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -1157,12 +1157,13 @@ public class NBTWrappers {
      * A NBTTagShort
      */
     public static class NBTTagShort extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_SHORT_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_SHORT_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagShort")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagShort class")),
-                        short.class)
-                .getValueOrThrow("Couldn't find NBTTagShort class constructor");
+                        short.class
+                ).getValueOrThrow("Couldn't find NBTTagShort class constructor")
+        );
 
         private short value;
 
@@ -1193,7 +1194,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_SHORT_CONSTRUCTOR, getAsShort()).getValue();
+            return NBT_TAG_SHORT_CONSTRUCTOR.newInstance1(getAsShort());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -1241,12 +1242,13 @@ public class NBTWrappers {
      * A NBTTagLong
      */
     public static class NBTTagLong extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagLong")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagLong class")),
-                        long.class)
-                .getValueOrThrow("Couldn't find NBTTagLong class constructor");
+                        long.class
+                ).getValueOrThrow("Couldn't find NBTTagLong class constructor")
+        );
 
         private long value;
 
@@ -1282,7 +1284,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_LONG_CONSTRUCTOR, getAsLong()).getValue();
+            return NBT_TAG_LONG_CONSTRUCTOR.newInstance1(getAsLong());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -1331,12 +1333,13 @@ public class NBTWrappers {
      * A NBTTagFloat
      */
     public static class NBTTagFloat extends INBTNumber {
-        private static final Constructor<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil
-                .getConstructor(
+        private static final ConstructorInvoker<?> NBT_TAG_LONG_CONSTRUCTOR = ReflectionUtil.compileConstructor(
+                ReflectionUtil.getConstructor(
                         ReflectionUtil.getClass(NMS, "NBTTagFloat")
                                 .orElseThrow(() -> new RuntimeException("Couldn't find NBTTagFloat class")),
-                        float.class)
-                .getValue();
+                        float.class
+                ).getValueOrThrow("Couldn't find NBTTagFloat class constructor")
+        );
 
         private float value;
 
@@ -1367,7 +1370,7 @@ public class NBTWrappers {
 
         @Override
         public Object toNBT() {
-            return ReflectionUtil.instantiate(NBT_TAG_LONG_CONSTRUCTOR, getAsFloat()).getValue();
+            return NBT_TAG_LONG_CONSTRUCTOR.newInstance1(getAsFloat());
         }
 
         public static INBTBase fromNBT(Object nbtObject) {
@@ -1435,14 +1438,35 @@ public class NBTWrappers {
                 continue;
             }
 
-            try {
-                // noinspection ConfusingArgumentToVarargsMethod // The array is
-                // desired. If it is in the Superclass too, it is out method
-                clazz.getSuperclass().getMethod(method.getName(), method.getParameterTypes());
+            // If it is in the Superclass too, it is our method
+            if (ReflectionUtil.getHierarchyMethod(
+                    clazz.getSuperclass(), method.getName(), method.getParameterTypes()
+            ).isValuePresent()) {
                 return method;
-            } catch (NoSuchMethodException ignored) {
             }
         }
         return null;
     }
+
+    /**
+     * Checks if a method has the signature of the load or save methods of entities and tile entities: A
+     * public instance method taking only an NBTTagCompound
+     *
+     * @param method The method
+     * @param load True for the load method, which returns nothing. Save methods may return the compound.
+     *
+     * @return True if the method could be the load or save method
+     */
+    static boolean isNbtTransferMethod(Method method, boolean load) {
+        Optional<Class<?>> compoundClass = ReflectionUtil.getClass(NMS, "NBTTagCompound");
+        if (!compoundClass.isPresent()) {
+            return false;
+        }
+        Class<?> returnType = method.getReturnType();
+        return method.getParameterCount() == 1
+                && method.getParameterTypes()[0] == compoundClass.get()
+                && (returnType == void.class || !load && returnType == compoundClass.get())
+                && Modifier.isPublic(method.getModifiers())
+                && !Modifier.isStatic(method.getModifiers());
+    }
 }
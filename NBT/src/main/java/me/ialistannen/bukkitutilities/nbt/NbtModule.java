@@ -2,6 +2,7 @@ package me.ialistannen.bukkitutilities.nbt;
 
 import me.ialistannen.bukkitutilities.modulesystem.AbstractModule;
 import me.ialistannen.bukkitutilities.modulesystem.Module;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer;
 
 /**
  * The NBT {@link Module}
@@ -14,4 +15,13 @@ public class NbtModule extends AbstractModule {
     public NbtModule() {
         super(getModulePropertiesFromJar(NbtModule.class));
     }
+
+    @Override
+    public void registerPreWarmTasks(PreWarmer preWarmer) {
+        // EntityNBTUtil and TileEntityNBTUtil modify the world and need the main thread
+        preWarmer.registerClassInitialization(
+                "NBT",
+                NBTWrappers.class, NbtParser.class, ItemNBTUtil.class
+        );
+    }
 }
@@ -4,6 +4,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import org.bukkit.Bukkit;
@@ -11,6 +12,7 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 
+import me.ialistannen.bukkitutilities.reflection.MappingCache;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
 
@@ -212,6 +214,11 @@ public class TileEntityNBTUtil {
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     private static void initializeMethods() {
+        Optional<Class<?>> tileEntityClass = ReflectionUtil.getClass(NMS, "TileEntity");
+        if (tileEntityClass.isPresent() && loadCachedMethods(tileEntityClass.get())) {
+            return;
+        }
+
         if (Bukkit.getWorlds().isEmpty()) {
             throw new IllegalStateException("Called me before at least one world was loaded...");
         }
@@ -223,10 +230,10 @@ public class TileEntityNBTUtil {
         Object tileEntity = ReflectionUtil.invokeMethod(getTileEntity, chestState).getValue();
 
         if (ReflectionUtil.getMajorVersion() > 2 || ReflectionUtil.getMinorVersion() > 9) {
-            initializeMethodsAfter1_9(ReflectionUtil.getClass(NMS, "TileEntity").get(), chestState, tileEntity);
+            initializeMethodsAfter1_9(tileEntityClass.get(), chestState, tileEntity);
         }
         else {
-            initializeMethodsBefore1_9(ReflectionUtil.getClass(NMS, "TileEntity").get(), chestState, tileEntity);
+            initializeMethodsBefore1_9(tileEntityClass.get(), chestState, tileEntity);
         }
 
         if (loadFromNBT == null || saveToNBT == null) {
@@ -236,11 +243,38 @@ public class TileEntityNBTUtil {
                     + ". Version: " + Bukkit.getBukkitVersion() + " " + Bukkit.getVersion());
             error = true;
         }
+        else if (!error) {
+            MappingCache.putMethod(tileEntityClass.get(), "TileEntityNBTUtil.load", loadFromNBT);
+            MappingCache.putMethod(tileEntityClass.get(), "TileEntityNBTUtil.save", saveToNBT);
+        }
 
         // restore old
         oldState.update(true);
     }
 
+    /**
+     * Reads the methods found in an earlier run from the {@link MappingCache}
+     *
+     * @param tileEntityClass The NMS tile entity class
+     *
+     * @return True if both methods were cached and still have the expected signature
+     */
+    private static boolean loadCachedMethods(Class<?> tileEntityClass) {
+        Optional<Method> load = MappingCache.getMethod(
+                tileEntityClass, "TileEntityNBTUtil.load", method -> NBTWrappers.isNbtTransferMethod(method, true)
+        );
+        Optional<Method> save = MappingCache.getMethod(
+                tileEntityClass, "TileEntityNBTUtil.save", method -> NBTWrappers.isNbtTransferMethod(method, false)
+        );
+        if (!load.isPresent() || !save.isPresent()) {
+            return false;
+        }
+
+        loadFromNBT = load.get();
+        saveToNBT = save.get();
+        return true;
+    }
+
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     private static void initializeMethodsAfter1_9(Class<?> tileEntityClass, BlockState blockState,
                                                   Object tileEntity) {
@@ -0,0 +1,265 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import me.ialistannen.bukkitutilities.reflection.FieldGetter;
+import me.ialistannen.bukkitutilities.reflection.MethodInvoker;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+
+import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.NMS;
+import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.OBC;
+
+/**
+ * Adds a {@link PacketInjector} to every new connection, when the server sets up its pipeline.
+ * <p>
+ * The channels the server listens on are hooked once, so joining players need no reflection and the
+ * packets of the login phase pass the injectors as well. Players are matched with their injector by the
+ * name sent in the login start packet.
+ */
+class ChannelInjector {
+
+    private static final Logger LOGGER = Logger.getLogger("ChannelInjector");
+
+    private static final String SERVER_HOOK_NAME = "bukkitUtilsServerHook";
+    private static final String HANDLER_NAME = "bukkitUtilsHandler";
+    private static final String LOGIN_HANDLER_NAME = "bukkitUtilsLogin";
+    private static final String MINECRAFT_HANDLER_NAME = "packet_handler";
+
+    private static final Class<?> CRAFT_SERVER = ReflectionUtil.getClass(OBC, "CraftServer")
+            .orElseThrow(() -> new RuntimeException("Couldn't find CraftServer class!"));
+    private static final Class<?> MINECRAFT_SERVER = ReflectionUtil.getClass(NMS, "MinecraftServer")
+            .orElseThrow(() -> new RuntimeException("Couldn't find MinecraftServer class!"));
+    private static final Class<?> SERVER_CONNECTION = ReflectionUtil.getClass(NMS, "ServerConnection")
+            .orElseThrow(() -> new RuntimeException("Couldn't find ServerConnection class!"));
+    private static final Class<?> LOGIN_START = ReflectionUtil.getClass(NMS, "PacketLoginInStart")
+            .orElseThrow(() -> new RuntimeException("Couldn't find PacketLoginInStart class!"));
+
+    private static final Field GAME_PROFILE = ReflectionUtil.getField(
+            LOGIN_START,
+            field -> field.getType().getName().equals("com.mojang.authlib.GameProfile")
+    ).getValueOrThrow("Couldn't find the GameProfile field of the login start packet");
+
+    private static final FieldGetter<Object> GAME_PROFILE_FIELD = ReflectionUtil.compileGetter(GAME_PROFILE);
+    private static final MethodInvoker<String> GET_PROFILE_NAME = ReflectionUtil.compileInvoker(
+            ReflectionUtil.getHierarchyMethod(GAME_PROFILE.getType(), "getName")
+                    .getValueOrThrow("Couldn't find GameProfile#getName")
+    );
+
+    private final PacketListenerRegistry globalListeners;
+    private final ServerHook serverHook = new ServerHook();
+    private final List<Channel> serverChannels = new ArrayList<>();
+    private final Map<Channel, PacketInjector> injectors = new ConcurrentHashMap<>();
+    private final Map<String, PacketInjector> injectorsByName = new ConcurrentHashMap<>();
+
+    /**
+     * @param globalListeners The listeners for all players
+     */
+    ChannelInjector(PacketListenerRegistry globalListeners) {
+        this.globalListeners = globalListeners;
+    }
+
+    /**
+     * Hooks the channels the server listens on
+     *
+     * @return False if the server does not listen on any channel yet
+     *
+     * @throws me.ialistannen.bukkitutilities.reflection.ReflectionException if the server channels couldn't
+     *                                                                       be found
+     */
+    synchronized boolean inject() {
+        List<Channel> channels = findServerChannels();
+        if (channels.isEmpty()) {
+            return false;
+        }
+        for (Channel serverChannel : channels) {
+            serverChannel.pipeline().addFirst(SERVER_HOOK_NAME, serverHook);
+            serverChannels.add(serverChannel);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the hooks and all injectors
+     */
+    synchronized void close() {
+        for (Channel serverChannel : serverChannels) {
+            serverChannel.eventLoop().submit(() -> {
+                if (serverChannel.pipeline().get(SERVER_HOOK_NAME) != null) {
+                    serverChannel.pipeline().remove(SERVER_HOOK_NAME);
+                }
+            });
+        }
+        serverChannels.clear();
+
+        for (PacketInjector injector : injectors.values()) {
+            injector.removeFromPipeline();
+        }
+        injectors.clear();
+        injectorsByName.clear();
+    }
+
+    /**
+     * Adds or removes the {@link WireSizeTap}s of all connections, see {@link PacketInjector#updateWireSizeTap()}
+     */
+    void updateWireSizeTaps() {
+        for (PacketInjector injector : injectors.values()) {
+            injector.updateWireSizeTap();
+        }
+    }
+
+    /**
+     * Returns the injector of a player
+     *
+     * @param player The player
+     *
+     * @return The injector of the player or null if the player connected before the hook was added
+     */
+    PacketInjector getInjector(Player player) {
+        return injectorsByName.get(player.getName().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @return The channels the server listens on
+     */
+    private static List<Channel> findServerChannels() {
+        Field serverField = ReflectionUtil.getHierarchyField(CRAFT_SERVER, new FieldPredicate(MINECRAFT_SERVER))
+                .getValueOrThrow("Couldn't find the MinecraftServer field");
+        Object minecraftServer = ReflectionUtil.getFieldValue(serverField, Bukkit.getServer())
+                .getValueOrThrow("Couldn't get the MinecraftServer");
+
+        Field connectionField = ReflectionUtil
+                .getHierarchyField(minecraftServer.getClass(), new FieldPredicate(SERVER_CONNECTION))
+                .getValueOrThrow("Couldn't find the ServerConnection field");
+        Object serverConnection = ReflectionUtil.getFieldValue(connectionField, minecraftServer)
+                .getValueOrThrow("Couldn't get the ServerConnection");
+
+        // the server does not listen yet
+        if (serverConnection == null) {
+            return new ArrayList<>();
+        }
+
+        Field futuresField = ReflectionUtil.getField(SERVER_CONNECTION, ChannelInjector::isChannelFutureList)
+                .getValueOrThrow("Couldn't find the channel futures of the ServerConnection");
+        @SuppressWarnings("unchecked")
+        List<ChannelFuture> futures = (List<ChannelFuture>) ReflectionUtil
+                .getFieldValue(futuresField, serverConnection)
+                .getValueOrThrow("Couldn't get the channel futures of the ServerConnection");
+
+        synchronized (futures) {
+            return futures.stream().map(ChannelFuture::channel).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @param field The field
+     *
+     * @return True if the field is a {@code List<ChannelFuture>}
+     */
+    private static boolean isChannelFutureList(Field field) {
+        if (field.getType() != List.class || !(field.getGenericType() instanceof ParameterizedType)) {
+            return false;
+        }
+        Type[] typeArguments = ((ParameterizedType) field.getGenericType()).getActualTypeArguments();
+        return typeArguments.length == 1 && typeArguments[0] == ChannelFuture.class;
+    }
+
+    /**
+     * Adds the injector to a new connection
+     *
+     * @param channel The channel of the connection
+     */
+    private void injectChannel(Channel channel) {
+        if (!channel.isOpen() || channel.pipeline().get(HANDLER_NAME) != null) {
+            return;
+        }
+        if (channel.pipeline().get(MINECRAFT_HANDLER_NAME) == null) {
+            LOGGER.warning("The server did not set up the pipeline of " + channel.remoteAddress() + ", ignoring it");
+            return;
+        }
+
+        PacketInjector injector = new PacketInjector(channel, globalListeners);
+        channel.pipeline().addBefore(MINECRAFT_HANDLER_NAME, HANDLER_NAME, injector);
+        channel.pipeline().addBefore(HANDLER_NAME, LOGIN_HANDLER_NAME, new LoginHandler(injector));
+        injector.updateWireSizeTap();
+
+        injectors.put(channel, injector);
+        channel.closeFuture().addListener(future -> {
+            injectors.remove(channel);
+            injectorsByName.values().remove(injector);
+        });
+    }
+
+    /**
+     * Sits in the pipeline of the server channels and adds the initializer to all accepted connections
+     */
+    @ChannelHandler.Sharable
+    private class ServerHook extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            Channel channel = (Channel) msg;
+
+            // Added before the initializer of the server, as this handler runs before the acceptor adding it
+            channel.pipeline().addFirst(new ChannelInitializer<Channel>() {
+                @Override
+                protected void initChannel(Channel channel) throws Exception {
+                    // The initializer of the server did not run yet, queue it after the registration
+                    channel.eventLoop().execute(() -> {
+                        try {
+                            injectChannel(channel);
+                        } catch (RuntimeException e) {
+                            LOGGER.log(Level.WARNING, "Couldn't inject " + channel.remoteAddress(), e);
+                        }
+                    });
+                }
+            });
+
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    /**
+     * Remembers the name of the connecting player and removes itself afterwards
+     */
+    private class LoginHandler extends ChannelInboundHandlerAdapter {
+
+        private final PacketInjector injector;
+
+        /**
+         * @param injector The injector of the connection
+         */
+        private LoginHandler(PacketInjector injector) {
+            this.injector = injector;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+            if (LOGIN_START.isInstance(msg)) {
+                String name = GET_PROFILE_NAME.invoke0(GAME_PROFILE_FIELD.get(msg));
+                injectorsByName.put(name.toLowerCase(Locale.ROOT), injector);
+                ctx.pipeline().remove(this);
+            }
+            ctx.fireChannelRead(msg);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Sits at the tail of the pipeline and holds back the flushes of a channel, while it is marked by the
+ * {@link WriteBatcher}
+ * <p>
+ * The packets themselves still take the normal way through the {@code PlayerConnection} and the
+ * {@code NetworkManager}, only the flush after every packet is swallowed. The {@link WriteBatcher} flushes
+ * the channel once per tick, or this handler does it when the threshold of held back flushes is reached.
+ * <p>
+ * All methods but {@link #mark()} are called on the event loop of the channel.
+ */
+class FlushBatcher extends ChannelOutboundHandlerAdapter {
+
+    private final int flushThreshold;
+    private volatile boolean marked;
+    private int pending;
+    private ChannelHandlerContext context;
+
+    /**
+     * @param flushThreshold The amount of held back flushes after which the channel is flushed right away
+     */
+    FlushBatcher(int flushThreshold) {
+        this.flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Holds back the flushes until the next {@link #flushBatch()}. Safe to call from any thread.
+     */
+    void mark() {
+        marked = true;
+    }
+
+    /**
+     * @return True if the flushes are held back
+     */
+    boolean isMarked() {
+        return marked;
+    }
+
+    /**
+     * @return The amount of flushes held back since the last flush
+     */
+    int getPending() {
+        return pending;
+    }
+
+    /**
+     * Stops holding back the flushes and flushes the channel, if a flush was held back
+     */
+    void flushBatch() {
+        marked = false;
+        if (pending > 0 && context != null) {
+            pending = 0;
+            WriteBatcher.recordFlush(false);
+            context.flush();
+        }
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        context = ctx;
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        marked = false;
+        if (pending > 0) {
+            pending = 0;
+            ctx.flush();
+        }
+        context = null;
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+        if (!marked) {
+            super.flush(ctx);
+            return;
+        }
+
+        WriteBatcher.recordHeldFlush();
+        if (++pending < flushThreshold) {
+            return;
+        }
+        pending = 0;
+        WriteBatcher.recordFlush(true);
+        super.flush(ctx);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+        // send the held back packets, e.g. the disconnect message
+        if (pending > 0) {
+            pending = 0;
+            ctx.flush();
+        }
+        super.close(ctx, promise);
+    }
+}
@@ -1,10 +1,13 @@
 package me.ialistannen.bukkitutilities.packet;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.Objects;
 
 import org.bukkit.entity.Player;
 
+import me.ialistannen.bukkitutilities.reflection.ObjectCopier;
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
 
@@ -26,69 +29,37 @@ public class Packet {
             .orElseThrow(() -> new RuntimeException("Can't find NMS Packet base class."));
 
     private Class<?> packetClass;
+    private PacketAccessors accessors;
     private Object rawPacket;
 
-    /**
-     * Creates a packet
-     *
-     * @param packetClass The class of the packet
-     *
-     * @throws NoSuchMethodException     if the packet has no default constructor
-     * @throws IllegalAccessException    if I have no rights to use reflection
-     * @throws InvocationTargetException if the packet constructor threw an
-     *                                   error
-     * @throws InstantiationException    if an error occurred finding something to
-     *                                   instantiate
-     */
-    private Packet(Class<?> packetClass) throws NoSuchMethodException,
-            IllegalAccessException,
-            InvocationTargetException,
-            InstantiationException {
-        this(packetClass.getConstructor().newInstance());
-    }
-
     /**
      * @param packet The raw NMS packet
      */
-    private Packet(Object packet) {
+    Packet(Object packet) {
         this.rawPacket = packet;
         this.packetClass = packet.getClass();
+        this.accessors = PacketAccessors.of(packetClass);
     }
 
     /**
      * Creates a new {@link Packet}
+     * <p>
+     * The packet class and its constructor are resolved only once per name, see {@link PacketFactory}.
      *
      * @param name the packet class name. Can be in two forms: "PacketXXX" or
      * "XXX" (e.g. "PacketPlayOutPosition" or "PlayOutPosition"
      *
-     * @return a new Packet, or null if something went wrong
+     * @return a new Packet
      *
      * @throws IllegalArgumentException if it couldn't find the specified packet
      *                                  class
-     * @throws RuntimeException         wrapping any of the exceptions occurring due to
-     *                                  Reflection (i.e. {@link NoSuchMethodException},
-     *                                  {@link IllegalAccessException},
-     *                                  {@link InvocationTargetException},
-     *                                  {@link InstantiationException})
+     * @throws ReflectionException      if the packet has no no-args constructor
+     * @throws RuntimeException         if the packet constructor threw one
+     * @see PacketFactory#forName(String)
      */
     @SuppressWarnings({"WeakerAccess", "unused"})
     public static Packet create(String name) {
-        String packetName = name;
-        if (!packetName.startsWith("Packet")) {
-            packetName = "Packet" + packetName;
-        }
-
-        Class<?> packetClass = ReflectionUtil.getClass(NMS, packetName)
-                .orElseThrow(() -> new IllegalArgumentException("The packet class '" + name + "' could not be found!"));
-
-        try {
-            return new Packet(packetClass);
-        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException
-                e) {
-            String message = "Failed to create packet!"
-                    + String.format("Name: %s, Replaced, %s Class: %s", name, packetName, packetClass);
-            throw new RuntimeException(message, e);
-        }
+        return PacketFactory.forName(name).create();
     }
 
     /**
@@ -131,21 +102,49 @@ public class Packet {
         return rawPacket;
     }
 
+    /**
+     * Creates a shallow copy of this packet, e.g. to modify it in a listener without affecting the other
+     * receivers of the original
+     * <p>
+     * All fields are copied by a copier compiled once per packet class.
+     *
+     * @return A new packet with the same field values
+     *
+     * @throws ReflectionException if the packet has no no-args constructor
+     */
+    @SuppressWarnings("unused")
+    public Packet copy() {
+        @SuppressWarnings("unchecked")
+        ObjectCopier<Object> copier = (ObjectCopier<Object>) ReflectionUtil.compileCopier(packetClass);
+        return new Packet(copier.copy(rawPacket));
+    }
+
     /**
      * Sets one of the fields of the packet
+     * <p>
+     * The instance fields use accessors compiled once per packet class. Values that need a widening
+     * conversion, like a {@code byte} for an {@code int} field, are set with reflection.
      *
      * @param field the field to set
      * @param value the value to set
      *
      * @return The {@link ReflectResponse} detailing if it was successful
+     *
+     * @throws IllegalArgumentException if the value does not fit the field
      */
     @SuppressWarnings("unused")
     public ReflectResponse<Void> set(String field, Object value) {
-        return ReflectionUtil.setFieldValue(field, packetClass, rawPacket, value);
+        int index = accessors.indexOf(field);
+        if (index < 0) {
+            return ReflectionUtil.setFieldValue(field, packetClass, rawPacket, value);
+        }
+        return accessors.set(index, rawPacket, value);
     }
 
     /**
      * Gets the value of one of the fields
+     * <p>
+     * The instance fields use accessors compiled once per packet class.
      *
      * @param field the field name
      *
@@ -153,7 +152,259 @@ public class Packet {
      */
     @SuppressWarnings("unused")
     public ReflectResponse<Object> get(String field) {
-        return ReflectionUtil.getFieldValue(field, packetClass, rawPacket);
+        int index = accessors.indexOf(field);
+        if (index < 0) {
+            return ReflectionUtil.getFieldValue(field, packetClass, rawPacket);
+        }
+        return accessors.get(index, rawPacket);
+    }
+
+    /**
+     * Sets one of the instance fields of the packet by its position, e.g. for obfuscated fields
+     *
+     * @param index the index of the field in the declaring order, ignoring static fields
+     * @param value the value to set
+     *
+     * @return The {@link ReflectResponse} detailing if it was successful. NOT_FOUND if the index is invalid.
+     *
+     * @throws IllegalArgumentException if the value does not fit the field, even after a widening conversion
+     * @see #getFieldCount()
+     */
+    @SuppressWarnings("unused")
+    public ReflectResponse<Void> set(int index, Object value) {
+        if (!accessors.isValidIndex(index)) {
+            return ReflectResponse.notFound();
+        }
+        return accessors.set(index, rawPacket, value);
+    }
+
+    /**
+     * Gets the value of one of the instance fields by its position, e.g. for obfuscated fields
+     *
+     * @param index the index of the field in the declaring order, ignoring static fields
+     *
+     * @return The field. NOT_FOUND if the index is invalid.
+     *
+     * @see #getFieldCount()
+     */
+    @SuppressWarnings("unused")
+    public ReflectResponse<Object> get(int index) {
+        if (!accessors.isValidIndex(index)) {
+            return ReflectResponse.notFound();
+        }
+        return accessors.get(index, rawPacket);
+    }
+
+    /**
+     * @return the amount of instance fields the packet class declares, which are accessible by index
+     */
+    @SuppressWarnings("unused")
+    public int getFieldCount() {
+        return accessors.getFields().size();
+    }
+
+    /**
+     * Gets the value of an {@code int} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not an {@code int}
+     */
+    @SuppressWarnings("unused")
+    public int getInt(String field) {
+        return ReflectionUtil.compileIntAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of an {@code int} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not an {@code int}
+     */
+    @SuppressWarnings("unused")
+    public void setInt(String field, int value) {
+        ReflectionUtil.compileIntAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code long} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code long}
+     */
+    @SuppressWarnings("unused")
+    public long getLong(String field) {
+        return ReflectionUtil.compileLongAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code long} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code long}
+     */
+    @SuppressWarnings("unused")
+    public void setLong(String field, long value) {
+        ReflectionUtil.compileLongAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code double} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code double}
+     */
+    @SuppressWarnings("unused")
+    public double getDouble(String field) {
+        return ReflectionUtil.compileDoubleAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code double} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code double}
+     */
+    @SuppressWarnings("unused")
+    public void setDouble(String field, double value) {
+        ReflectionUtil.compileDoubleAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code float} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code float}
+     */
+    @SuppressWarnings("unused")
+    public float getFloat(String field) {
+        return ReflectionUtil.compileFloatAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code float} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code float}
+     */
+    @SuppressWarnings("unused")
+    public void setFloat(String field, float value) {
+        ReflectionUtil.compileFloatAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code short} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code short}
+     */
+    @SuppressWarnings("unused")
+    public short getShort(String field) {
+        return ReflectionUtil.compileShortAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code short} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code short}
+     */
+    @SuppressWarnings("unused")
+    public void setShort(String field, short value) {
+        ReflectionUtil.compileShortAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code byte} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code byte}
+     */
+    @SuppressWarnings("unused")
+    public byte getByte(String field) {
+        return ReflectionUtil.compileByteAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code byte} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code byte}
+     */
+    @SuppressWarnings("unused")
+    public void setByte(String field, byte value) {
+        ReflectionUtil.compileByteAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * Gets the value of a {@code boolean} field without boxing it
+     *
+     * @param field the field name
+     *
+     * @return The value of the field
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code boolean}
+     */
+    @SuppressWarnings("unused")
+    public boolean getBoolean(String field) {
+        return ReflectionUtil.compileBooleanAccessor(getField(field)).get(rawPacket);
+    }
+
+    /**
+     * Sets the value of a {@code boolean} field without boxing it
+     *
+     * @param field the field name
+     * @param value the value to set
+     *
+     * @throws ReflectionException if the field does not exist or is not a {@code boolean}
+     */
+    @SuppressWarnings("unused")
+    public void setBoolean(String field, boolean value) {
+        ReflectionUtil.compileBooleanAccessor(getField(field)).set(rawPacket, value);
+    }
+
+    /**
+     * @param name the field name
+     *
+     * @return The field of the packet class
+     *
+     * @throws ReflectionException if the field does not exist
+     */
+    private Field getField(String name) {
+        int index = accessors.indexOf(name);
+        if (index < 0) {
+            return ReflectionUtil.getFieldUnchecked(name, packetClass);
+        }
+        return accessors.getFields().get(index);
     }
 
     /**
@@ -168,6 +419,25 @@ public class Packet {
         }
     }
 
+    /**
+     * Sends this packet to the given players, encoding it only once
+     * <p>
+     * The encoded bytes are shared by all players, which is a lot cheaper than {@link #send(Player...)} for
+     * many players. Players with a {@link PacketListener} for this packet, with a replaced encoder (e.g.
+     * by protocol translation plugins) or not in the play state are sent the packet the normal way. So are
+     * all players for packets the server sends differently per player, like chat messages.
+     *
+     * @param players the players to send it to. E.g. {@link org.bukkit.Bukkit#getOnlinePlayers()}.
+     *
+     * @throws NullPointerException if players is null
+     */
+    @SuppressWarnings("unused")
+    public void broadcast(Collection<? extends Player> players) {
+        Objects.requireNonNull(players, "players can not be null");
+
+        PacketBroadcaster.getInstance().broadcast(this, players);
+    }
+
     /**
      * @return the packet's class
      */
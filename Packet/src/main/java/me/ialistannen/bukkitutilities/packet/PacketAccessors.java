@@ -0,0 +1,192 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+import me.ialistannen.bukkitutilities.reflection.FieldGetter;
+import me.ialistannen.bukkitutilities.reflection.FieldSetter;
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
+
+/**
+ * The compiled accessors for the instance fields declared by a packet class.
+ * <p>
+ * Stored once per class in a {@link ClassCache}, so accessing a field of a packet is a table lookup and a
+ * direct field access afterwards. The fields are indexed in the order the JVM reports them, which is the
+ * declaration order on HotSpot. This allows addressing obfuscated fields by position.
+ * <p>
+ * The accessor of a field is compiled when it is first used. A field whose accessors can not be compiled is
+ * accessed with {@link Field#get(Object)} and {@link Field#set(Object, Object)}, as are values that need a
+ * widening conversion (e.g. a {@code byte} for an {@code int} field).
+ */
+final class PacketAccessors {
+
+    private static final Logger LOGGER = Logger.getLogger("PacketAccessors");
+
+    private static final ClassCache<PacketAccessors> ACCESSORS = new ClassCache<>(PacketAccessors::new);
+
+    private final List<Field> fields;
+    private final Map<String, Integer> indices;
+    /**
+     * The types the values of the fields must have for the compiled setters. Primitives are boxed.
+     */
+    private final Class<?>[] valueTypes;
+    // racy, but the accessors are cached by the ReflectionUtil and immutable
+    private final FieldGetter<?>[] getters;
+    private final FieldSetter<?>[] setters;
+    private volatile boolean[] uncompilable;
+
+    /**
+     * @param packetClass The packet class
+     */
+    private PacketAccessors(Class<?> packetClass) {
+        List<Field> fields = new ArrayList<>();
+        for (Field field : packetClass.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field);
+            }
+        }
+
+        this.fields = Collections.unmodifiableList(fields);
+        this.indices = new HashMap<>();
+        this.valueTypes = new Class<?>[fields.size()];
+        this.getters = new FieldGetter<?>[fields.size()];
+        this.setters = new FieldSetter<?>[fields.size()];
+        this.uncompilable = new boolean[fields.size()];
+
+        for (int i = 0; i < fields.size(); i++) {
+            indices.put(fields.get(i).getName(), i);
+            valueTypes[i] = MethodType.methodType(fields.get(i).getType()).wrap().returnType();
+        }
+    }
+
+    /**
+     * Returns the accessors of a packet class
+     *
+     * @param packetClass The packet class
+     *
+     * @return The accessors of the class
+     */
+    static PacketAccessors of(Class<?> packetClass) {
+        return ACCESSORS.get(packetClass);
+    }
+
+    /**
+     * @return The instance fields of the class, by index. Unmodifiable.
+     */
+    List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @param name The name of the field
+     *
+     * @return The index of the field or -1 if the class declares no instance field with the name
+     */
+    int indexOf(String name) {
+        Integer index = indices.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index The index of the field
+     *
+     * @return True if a field with the index exists
+     */
+    boolean isValidIndex(int index) {
+        return index >= 0 && index < getters.length;
+    }
+
+    /**
+     * Returns the value of a field
+     *
+     * @param index The index of the field
+     * @param packet The packet
+     *
+     * @return The value of the field
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     */
+    ReflectResponse<Object> get(int index, Object packet) {
+        FieldGetter<?> getter = getters[index];
+        if (getter == null) {
+            if (!compile(index)) {
+                return ReflectionUtil.getFieldValue(fields.get(index), packet);
+            }
+            getter = getters[index];
+        }
+        return ReflectResponse.successful(getter.get(packet));
+    }
+
+    /**
+     * Sets the value of a field
+     *
+     * @param index The index of the field
+     * @param packet The packet
+     * @param value The new value
+     *
+     * @return The result of setting it
+     *
+     * @throws ArrayIndexOutOfBoundsException if the index is invalid
+     * @throws IllegalArgumentException       if the value does not fit the field, even after a widening
+     *                                        conversion
+     */
+    @SuppressWarnings("unchecked")
+    ReflectResponse<Void> set(int index, Object packet, Object value) {
+        if (!fitsExactly(index, value) || (setters[index] == null && !compile(index))) {
+            // converts like before the accessors were compiled
+            return ReflectionUtil.setFieldValue(fields.get(index), packet, value);
+        }
+        ((FieldSetter<Object>) setters[index]).set(packet, value);
+        return ReflectResponse.successfulVoid();
+    }
+
+    /**
+     * @param index The index of the field
+     * @param value The value
+     *
+     * @return True if the compiled setter accepts the value without a conversion
+     */
+    private boolean fitsExactly(int index, Object value) {
+        if (value == null) {
+            return !fields.get(index).getType().isPrimitive();
+        }
+        return valueTypes[index].isInstance(value);
+    }
+
+    /**
+     * Compiles the accessors of a field
+     *
+     * @param index The index of the field
+     *
+     * @return False if they can not be compiled
+     */
+    private boolean compile(int index) {
+        if (uncompilable[index]) {
+            return false;
+        }
+        Field field = fields.get(index);
+        try {
+            // the setter first, so a getter is never published without it
+            setters[index] = ReflectionUtil.compileSetter(field);
+            getters[index] = ReflectionUtil.compileGetter(field);
+            return true;
+        } catch (ReflectionException e) {
+            LOGGER.log(Level.FINE, "Couldn't compile the accessors of " + field + ", using reflection", e);
+            boolean[] failed = uncompilable.clone();
+            failed[index] = true;
+            uncompilable = failed;
+            return false;
+        }
+    }
+}
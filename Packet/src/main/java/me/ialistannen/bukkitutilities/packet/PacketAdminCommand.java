@@ -0,0 +1,201 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import me.ialistannen.bukkitutilities.modulesystem.AdminCommand;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+import me.ialistannen.bukkitutilities.packet.PacketStatistics.PacketTypeStatistics;
+import me.ialistannen.bukkitutilities.packet.PacketStatistics.PlayerStatistics;
+
+/**
+ * Controls the {@link PacketStatistics}
+ */
+class PacketAdminCommand implements AdminCommand {
+
+    @Override
+    public String getName() {
+        return "packets";
+    }
+
+    @Override
+    public String getUsage() {
+        return "<enable|disable|reset|top [amount]|players [amount]|batching>";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Records which packets are sent to and received from which players";
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, List<String> args) {
+        if (args.isEmpty()) {
+            return false;
+        }
+
+        switch (args.get(0).toLowerCase(Locale.ROOT)) {
+            case "enable":
+                PacketStatistics.setEnabled(true);
+                sender.sendMessage(ChatColor.GREEN + "Recording packet statistics. All players are injected.");
+                return true;
+            case "disable":
+                PacketStatistics.setEnabled(false);
+                sender.sendMessage(ChatColor.GREEN + "Stopped recording packet statistics.");
+                return true;
+            case "reset":
+                PacketStatistics.reset();
+                sender.sendMessage(ChatColor.GREEN + "Discarded the packet statistics.");
+                return true;
+            case "top":
+                return sendTop(sender, args);
+            case "players":
+                return sendPlayers(sender, args);
+            case "batching":
+                sendBatching(sender);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param sender The sender to send the top packets to
+     * @param args The arguments
+     *
+     * @return False if the arguments were invalid
+     */
+    private boolean sendTop(CommandSender sender, List<String> args) {
+        int amount = parseAmount(args);
+        if (amount < 0) {
+            return false;
+        }
+
+        List<PacketTypeStatistics> statistics = PacketStatistics.getPacketStatistics();
+        if (statistics.isEmpty()) {
+            sendNothingRecorded(sender);
+            return true;
+        }
+
+        for (PacketTypeStatistics entry : statistics.subList(0, Math.min(amount, statistics.size()))) {
+            sender.sendMessage(String.format(
+                    Locale.ROOT,
+                    "%s%s %s%s: %s%d packets, %d bytes",
+                    ChatColor.AQUA, entry.getPacket(),
+                    ChatColor.GRAY, entry.getDirection() == ConnectionDirection.TO_CLIENT ? "out" : "in",
+                    ChatColor.WHITE, entry.getPackets(), entry.getBytes()
+            ));
+            if (entry.getDispatches() > 0) {
+                sender.sendMessage(String.format(
+                        Locale.ROOT,
+                        "  %s%d dispatches in %d us, histogram: %s",
+                        ChatColor.GRAY,
+                        entry.getDispatches(),
+                        TimeUnit.NANOSECONDS.toMicros(entry.getDispatchNanos()),
+                        formatHistogram(entry.getHistogram())
+                ));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param sender The sender to send the top players to
+     * @param args The arguments
+     *
+     * @return False if the arguments were invalid
+     */
+    private boolean sendPlayers(CommandSender sender, List<String> args) {
+        int amount = parseAmount(args);
+        if (amount < 0) {
+            return false;
+        }
+
+        List<PlayerStatistics> statistics = PacketStatistics.getPlayerStatistics();
+        if (statistics.isEmpty()) {
+            sendNothingRecorded(sender);
+            return true;
+        }
+
+        for (PlayerStatistics entry : statistics.subList(0, Math.min(amount, statistics.size()))) {
+            sender.sendMessage(String.format(
+                    Locale.ROOT,
+                    "%s%s%s: %s%d packets out (%d bytes), %d packets in",
+                    ChatColor.AQUA, entry.getPlayer(), ChatColor.GRAY,
+                    ChatColor.WHITE, entry.getSentPackets(), entry.getSentBytes(), entry.getReceivedPackets()
+            ));
+        }
+        return true;
+    }
+
+    /**
+     * @param sender The sender to send the statistics of the {@link WriteBatcher} to
+     */
+    private void sendBatching(CommandSender sender) {
+        sender.sendMessage(String.format(
+                Locale.ROOT,
+                "%sWrite batching is %s%s%s: %d flushes held back, %d issued (%d at the threshold), %d saved",
+                ChatColor.GRAY,
+                WriteBatcher.isEnabled() ? ChatColor.GREEN + "enabled" : ChatColor.RED + "disabled",
+                ChatColor.GRAY, ChatColor.WHITE,
+                WriteBatcher.getHeldFlushes(),
+                WriteBatcher.getFlushes(),
+                WriteBatcher.getThresholdFlushes(),
+                WriteBatcher.getSavedFlushes()
+        ));
+    }
+
+    /**
+     * @param sender The sender to inform
+     */
+    private void sendNothingRecorded(CommandSender sender) {
+        sender.sendMessage(ChatColor.YELLOW + "Nothing recorded"
+                + (PacketStatistics.isEnabled() ? "." : ", recording is disabled."));
+    }
+
+    /**
+     * @param args The arguments
+     *
+     * @return The amount given as the second argument, 10 if none is given or -1 if it is invalid
+     */
+    private static int parseAmount(List<String> args) {
+        if (args.size() < 2) {
+            return 10;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(args.get(1)));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param histogram The histogram
+     *
+     * @return The non empty buckets, as {@code "<bound us: count"}
+     */
+    private static String formatHistogram(long[] histogram) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] == 0) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            long bound = PacketStatistics.getBucketUpperBoundMicros(i);
+            if (bound == Long.MAX_VALUE) {
+                builder.append(">=").append(PacketStatistics.getBucketUpperBoundMicros(i - 1));
+            }
+            else {
+                builder.append("<").append(bound);
+            }
+            builder.append("us: ").append(histogram[i]);
+        }
+        return builder.toString();
+    }
+}
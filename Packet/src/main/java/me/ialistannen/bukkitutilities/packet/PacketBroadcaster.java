@@ -0,0 +1,331 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.entity.Player;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.util.AttributeKey;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+import me.ialistannen.bukkitutilities.reflection.FieldGetter;
+import me.ialistannen.bukkitutilities.reflection.MethodInvoker;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.Modifier;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
+
+import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.NMS;
+
+/**
+ * Sends a packet to many players, encoding it only once
+ * <p>
+ * The packet is encoded by the encoder of one recipient, on its event loop, and the bytes are written to the
+ * channels of all players, after their encoder. Compression and encryption still happen per player. The
+ * writes are queued on the event loop of every player when the packet is broadcast, so they keep their order
+ * with the packets the server sends.
+ * <p>
+ * Players whose encoding may differ are sent the packet the normal way. These are players with a replaced
+ * encoder (e.g. from protocol translation plugins), players whose connection is not in the play state and
+ * players with a {@link PacketListener} for the packet, as the listeners need the packet object.
+ * <p>
+ * Packets the {@code PlayerConnection} handles per player (chat and the spawn position) are never shared.
+ * For the others, only its disconnect guard applies.
+ */
+class PacketBroadcaster {
+
+    private static final Logger LOGGER = Logger.getLogger("PacketBroadcaster");
+
+    private static final String ENCODER_NAME = "encoder";
+    private static final String INJECTOR_NAME = "bukkitUtilsHandler";
+
+    private static final Class<?> PACKET_ENCODER = ReflectionUtil.getClass(NMS, "PacketEncoder")
+            .orElseThrow(() -> new RuntimeException("Couldn't find PacketEncoder class!"));
+    private static final Class<?> NETWORK_MANAGER = ReflectionUtil.getClass(NMS, "NetworkManager")
+            .orElseThrow(() -> new RuntimeException("Couldn't find NetworkManager class!"));
+    private static final Class<?> PLAYER_CONNECTION = ReflectionUtil.getClass(NMS, "PlayerConnection")
+            .orElseThrow(() -> new RuntimeException("Couldn't find PlayerConnection class!"));
+    private static final Class<?> ENUM_PROTOCOL = ReflectionUtil.getClass(NMS, "EnumProtocol")
+            .orElseThrow(() -> new RuntimeException("Couldn't find EnumProtocol class!"));
+
+    /**
+     * The packets the PlayerConnection changes or drops depending on the player
+     */
+    private static final Set<Class<?>> PER_PLAYER_PACKETS = findClasses("PacketPlayOutChat",
+            "PacketPlayOutSpawnPosition");
+
+    private static final MethodInvoker<Void> ENCODE = ReflectionUtil.compileInvoker(
+            ReflectionUtil.getHierarchyMethod(
+                    MessageToByteEncoder.class,
+                    "encode",
+                    ChannelHandlerContext.class, Object.class, ByteBuf.class
+            ).getValueOrThrow("Couldn't find MessageToByteEncoder#encode")
+    );
+
+    @SuppressWarnings("unchecked")
+    private static final AttributeKey<Object> PROTOCOL_ATTRIBUTE = (AttributeKey<Object>) ReflectionUtil
+            .getFieldValue(
+                    NETWORK_MANAGER,
+                    null,
+                    new FieldPredicate(AttributeKey.class).withModifiers(Modifier.STATIC)
+            ).getValueOrThrow("Couldn't find the protocol attribute of the NetworkManager");
+    private static final Object PLAY_PROTOCOL = ReflectionUtil.getEnumConstant(ENUM_PROTOCOL, "PLAY")
+            .getValueOrThrow("Couldn't find EnumProtocol.PLAY");
+
+    /**
+     * Null if the server has no such guard
+     */
+    private static final FieldGetter<Boolean> PROCESSED_DISCONNECT = findProcessedDisconnect();
+
+    private static final PacketBroadcaster instance = new PacketBroadcaster();
+
+    private PacketBroadcaster() {
+    }
+
+    /**
+     * @return The Instance of the PacketBroadcaster
+     */
+    static PacketBroadcaster getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sends a packet to all given players
+     *
+     * @param packet The {@link Packet} to send
+     * @param players The players to send it to
+     */
+    void broadcast(Packet packet, Collection<? extends Player> players) {
+        if (players.size() < 2 || isPerPlayerPacket(packet.getPacketClass())) {
+            for (Player player : players) {
+                PacketSender.getInstance().sendPacket(packet, player);
+            }
+            return;
+        }
+
+        Player[] sharing = new Player[players.size()];
+        ChannelHandlerContext[] encoders = new ChannelHandlerContext[players.size()];
+        int count = 0;
+        for (Player player : players) {
+            ChannelHandlerContext encoder = getSharedEncoder(player, packet.getPacketClass());
+            if (encoder == null) {
+                PacketSender.getInstance().sendPacket(packet, player);
+            }
+            else {
+                sharing[count] = player;
+                encoders[count] = encoder;
+                count++;
+            }
+        }
+
+        if (count == 1) {
+            PacketSender.getInstance().sendPacket(packet, sharing[0]);
+            return;
+        }
+
+        SharedEncoding encoding = new SharedEncoding(packet, count);
+        for (int i = 0; i < count; i++) {
+            Player player = sharing[i];
+            ChannelHandlerContext encoder = encoders[i];
+            Channel channel = encoder.channel();
+            WriteBatcher.mark(channel);
+            try {
+                // queued now, so it keeps its place among the packets the server sends to this player
+                channel.eventLoop().execute(() -> encoding.write(player, encoder));
+            } catch (RejectedExecutionException e) {
+                // the event loop is shutting down
+                encoding.recipientDone();
+                PacketSender.getInstance().sendPacket(packet, player);
+            }
+        }
+    }
+
+    /**
+     * @param packetClass The class of the NMS packet
+     *
+     * @return True if the PlayerConnection handles the packet differently for every player
+     */
+    private static boolean isPerPlayerPacket(Class<?> packetClass) {
+        for (Class<?> perPlayer : PER_PLAYER_PACKETS) {
+            if (ReflectionUtil.inheritsFrom(packetClass, perPlayer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the encoder of a player, if the encoded packet can be shared with others
+     *
+     * @param player The player
+     * @param packetClass The class of the NMS packet
+     *
+     * @return The context of the encoder or null if the player needs its own encoding
+     */
+    private static ChannelHandlerContext getSharedEncoder(Player player, Class<?> packetClass) {
+        Object connection = PacketSender.getInstance().getConnection(player);
+        if (PROCESSED_DISCONNECT != null && PROCESSED_DISCONNECT.get(connection)) {
+            return null;
+        }
+
+        Channel channel = PacketSender.getInstance().getConnectionChannel(connection);
+        if (channel == null || !channel.isOpen()) {
+            return null;
+        }
+
+        // the NetworkManager switches the protocol first, if the packet belongs to another one
+        if (channel.attr(PROTOCOL_ATTRIBUTE).get() != PLAY_PROTOCOL) {
+            return null;
+        }
+
+        ChannelHandler injector = channel.pipeline().get(INJECTOR_NAME);
+        if (injector instanceof PacketInjector
+                && ((PacketInjector) injector).isListening(packetClass, ConnectionDirection.TO_CLIENT)) {
+            return null;
+        }
+
+        ChannelHandlerContext encoder = channel.pipeline().context(ENCODER_NAME);
+        if (encoder == null || encoder.handler().getClass() != PACKET_ENCODER) {
+            return null;
+        }
+        return encoder;
+    }
+
+    /**
+     * @return The getter for the disconnect guard of the PlayerConnection or null if it has none
+     */
+    private static FieldGetter<Boolean> findProcessedDisconnect() {
+        ReflectResponse<Field> field = ReflectionUtil.getField(
+                PLAYER_CONNECTION,
+                new FieldPredicate(boolean.class).withName("processedDisconnect")
+        );
+        return field.isValuePresent() ? ReflectionUtil.compileGetter(field.getValue()) : null;
+    }
+
+    /**
+     * @param names The names of the NMS classes
+     *
+     * @return The classes that exist in this version
+     */
+    private static Set<Class<?>> findClasses(String... names) {
+        Set<Class<?>> classes = new HashSet<>();
+        for (String name : names) {
+            ReflectionUtil.getClass(NMS, name).ifPresent(classes::add);
+        }
+        return Collections.unmodifiableSet(classes);
+    }
+
+    /**
+     * The encoded bytes of a broadcast packet, created by the event loop that needs them first
+     * <p>
+     * All recipients passed the same checks, so the encoder of any of them produces the same bytes. The buffer
+     * is released after the last recipient wrote it.
+     */
+    private static final class SharedEncoding {
+
+        private final Packet packet;
+        private final AtomicInteger remaining;
+        private boolean encoded;
+        private ByteBuf buffer;
+
+        /**
+         * @param packet The packet to encode
+         * @param recipients The amount of recipients sharing the bytes
+         */
+        private SharedEncoding(Packet packet, int recipients) {
+            this.packet = packet;
+            this.remaining = new AtomicInteger(recipients);
+        }
+
+        /**
+         * Writes the packet to a player. Called on the event loop of the player.
+         *
+         * @param player The player
+         * @param encoder The context of the encoder of the player
+         */
+        private void write(Player player, ChannelHandlerContext encoder) {
+            try {
+                ByteBuf bytes = getOrEncode(encoder);
+                if (bytes == null) {
+                    // the PlayerConnection is safe to use from other threads
+                    PacketSender.getInstance().sendPacket(packet, player);
+                    return;
+                }
+                Channel channel = encoder.channel();
+                // starts at the handler before the encoder, so the packet handlers are skipped
+                encoder.write(bytes.retainedDuplicate(), encoder.voidPromise());
+                // from the tail, so the flush batcher sees it
+                channel.flush();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Couldn't send a broadcast packet to " + player.getName(), e);
+            } finally {
+                recipientDone();
+            }
+        }
+
+        /**
+         * Called once per recipient, after it wrote the packet or if it won't. The last one releases the
+         * encoded packet.
+         */
+        private void recipientDone() {
+            if (remaining.decrementAndGet() == 0) {
+                release();
+            }
+        }
+
+        /**
+         * @param encoder The context of the encoder to use, if the packet is not encoded yet
+         *
+         * @return The encoded packet or null if it could not be encoded
+         */
+        private synchronized ByteBuf getOrEncode(ChannelHandlerContext encoder) {
+            if (!encoded) {
+                encoded = true;
+                buffer = encode(encoder, packet.getNMSPacket());
+            }
+            return buffer;
+        }
+
+        /**
+         * Releases the encoded packet
+         */
+        private synchronized void release() {
+            if (buffer != null) {
+                buffer.release();
+                buffer = null;
+            }
+        }
+
+        /**
+         * Encodes a packet
+         *
+         * @param encoder The context of the encoder to use
+         * @param nmsPacket The NMS packet
+         *
+         * @return The encoded packet or null if it could not be encoded
+         */
+        private static ByteBuf encode(ChannelHandlerContext encoder, Object nmsPacket) {
+            ByteBuf buffer = encoder.alloc().buffer();
+            try {
+                ENCODE.invoke3(encoder.handler(), encoder, nmsPacket, buffer);
+                return buffer;
+            } catch (RuntimeException e) {
+                buffer.release();
+                LOGGER.log(Level.WARNING, "Couldn't encode " + nmsPacket.getClass().getName() + ", sending it "
+                        + "to every player on its own", e);
+                return null;
+            }
+        }
+    }
+}
@@ -1,30 +1,31 @@
 package me.ialistannen.bukkitutilities.packet;
 
+import java.util.Objects;
+
 import org.bukkit.entity.Player;
 
 /**
  * A packet event
+ * <p>
+ * The {@link Packet} wrapper is only created when a listener asks for it.
  */
 public class PacketEvent {
 
+    private Object rawPacket;
     private Packet packet;
     private Player player;
     private boolean cancelled;
     private ConnectionDirection direction;
 
     /**
-     * @param packet The packet
+     * @param packet The raw NMS packet
      * @param cancelled Whether the event is cancelled
      * @param direction The direction the packet is travelling
      * @param player The involved Player
-     *
-     * @throws IllegalStateException    if it couldn't find the NMS base class
-     *                                  "Packet" (You are screwed)
-     * @throws IllegalArgumentException if 'object' isn't a packet.
      */
     @SuppressWarnings("WeakerAccess")
     protected PacketEvent(Object packet, boolean cancelled, ConnectionDirection direction, Player player) {
-        this.packet = Packet.createFromNMSPacket(packet);
+        this.rawPacket = packet;
         this.cancelled = cancelled;
         this.direction = direction;
         this.player = player;
@@ -33,7 +34,7 @@ public class PacketEvent {
     /**
      * This is not cancelled
      *
-     * @param packet The packet
+     * @param packet The raw NMS packet
      * @param direction The direction the packet is travelling
      * @param player The involved Player
      *
@@ -46,22 +47,59 @@ public class PacketEvent {
 
     /**
      * Returns the packet
+     * <p>
+     * The {@link Packet} wrapper is created on the first call. If you only need to check the type of the
+     * packet, use {@link #getPacketClass()}.
      *
      * @return The Packet
+     *
+     * @throws IllegalStateException    if it couldn't find the NMS base class
+     *                                  "Packet" (You are screwed)
+     * @throws IllegalArgumentException if the raw packet isn't a packet.
      */
     @SuppressWarnings("unused")
     public Packet getPacket() {
+        if (packet == null) {
+            packet = Packet.createFromNMSPacket(rawPacket);
+        }
         return packet;
     }
 
     /**
      * Sets the new packet
+     * <p>
+     * The new packet is sent or received instead of the original one.
      *
      * @param packet The new packet
+     *
+     * @throws NullPointerException if packet is null
      */
     @SuppressWarnings("unused")
     public void setPacket(Packet packet) {
+        Objects.requireNonNull(packet, "packet can not be null");
+
         this.packet = packet;
+        this.rawPacket = packet.getNMSPacket();
+    }
+
+    /**
+     * Returns the raw NMS packet, without creating a {@link Packet} wrapper
+     *
+     * @return The NMS packet
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Object getRawPacket() {
+        return rawPacket;
+    }
+
+    /**
+     * Returns the class of the NMS packet, without creating a {@link Packet} wrapper
+     *
+     * @return The class of the NMS packet
+     */
+    @SuppressWarnings("unused")
+    public Class<?> getPacketClass() {
+        return rawPacket.getClass();
     }
 
     /**
@@ -98,7 +136,8 @@ public class PacketEvent {
     /**
      * Returns the involved Player
      *
-     * @return The player that is involved.
+     * @return The player that is involved. Null for packets sent before the player joined, which only
+     * the global listeners receive with {@link PacketManager#enableEarlyInjection()}.
      */
     @SuppressWarnings("unused")
     public Player getPlayer() {
@@ -0,0 +1,122 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.reflect.Constructor;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import me.ialistannen.bukkitutilities.reflection.ConstructorInvoker;
+import me.ialistannen.bukkitutilities.reflection.ObjectCopier;
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+
+import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace.NMS;
+
+/**
+ * Creates packets of a single class without any lookup.
+ * <p>
+ * {@link #forName(String)} returns a cached factory invoking the compiled no-args constructor of the packet.
+ * {@link #forPrototype(Packet)} returns a factory cloning a template packet with a compiled copier, so a
+ * packet is created with a few direct field writes and only the changing fields need to be set afterwards.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketFactory {
+
+    private static final ConcurrentMap<String, PacketFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    private final Class<?> packetClass;
+    private final Supplier<Object> creator;
+
+    /**
+     * @param packetClass The class of the created packets
+     * @param creator Creates a new NMS packet
+     */
+    private PacketFactory(Class<?> packetClass, Supplier<Object> creator) {
+        this.packetClass = packetClass;
+        this.creator = creator;
+    }
+
+    /**
+     * Returns the factory for a packet class. Factories are cached by name.
+     *
+     * @param name the packet class name. Can be in two forms: "PacketXXX" or
+     * "XXX" (e.g. "PacketPlayOutPosition" or "PlayOutPosition"
+     *
+     * @return The factory for the packet
+     *
+     * @throws NullPointerException     if name is null
+     * @throws IllegalArgumentException if it couldn't find the specified packet class
+     * @throws ReflectionException      if the packet class has no no-args constructor
+     */
+    public static PacketFactory forName(String name) {
+        Objects.requireNonNull(name, "name can not be null");
+
+        PacketFactory factory = FACTORIES.get(name);
+        if (factory == null) {
+            factory = FACTORIES.computeIfAbsent(name, PacketFactory::createForName);
+        }
+        return factory;
+    }
+
+    /**
+     * @param name The name of the packet class
+     *
+     * @return A new factory for the packet class
+     */
+    private static PacketFactory createForName(String name) {
+        String packetName = name;
+        if (!packetName.startsWith("Packet")) {
+            packetName = "Packet" + packetName;
+        }
+
+        Class<?> packetClass = ReflectionUtil.getClass(NMS, packetName)
+                .orElseThrow(() -> new IllegalArgumentException("The packet class '" + name + "' could not be found!"));
+
+        Constructor<?> constructor = ReflectionUtil.getConstructor(packetClass)
+                .getValueOrThrow("Couldn't find the no-args constructor of " + packetClass.getName());
+        ConstructorInvoker<?> invoker = ReflectionUtil.compileConstructor(constructor);
+
+        return new PacketFactory(packetClass, invoker::newInstance0);
+    }
+
+    /**
+     * Returns a factory creating copies of a template packet
+     * <p>
+     * The template is copied once now, so changing it afterwards does not affect the factory. The created
+     * packets are shallow copies, mutable field values (e.g. lists or arrays) are shared between them and
+     * must be replaced, not modified.
+     *
+     * @param prototype The template packet
+     *
+     * @return The factory creating copies of the template
+     *
+     * @throws NullPointerException if prototype is null
+     * @throws ReflectionException  if the packet class has no no-args constructor
+     */
+    public static PacketFactory forPrototype(Packet prototype) {
+        Objects.requireNonNull(prototype, "prototype can not be null");
+
+        @SuppressWarnings("unchecked")
+        ObjectCopier<Object> copier = (ObjectCopier<Object>) ReflectionUtil.compileCopier(prototype.getPacketClass());
+        Object template = copier.copy(prototype.getNMSPacket());
+
+        return new PacketFactory(prototype.getPacketClass(), () -> copier.copy(template));
+    }
+
+    /**
+     * Creates a new packet
+     *
+     * @return The new packet
+     */
+    public Packet create() {
+        return new Packet(creator.get());
+    }
+
+    /**
+     * @return The NMS class of the created packets
+     */
+    public Class<?> getPacketClass() {
+        return packetClass;
+    }
+}
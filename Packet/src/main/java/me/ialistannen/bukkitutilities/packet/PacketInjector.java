@@ -1,9 +1,10 @@
 package me.ialistannen.bukkitutilities.packet;
 
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -11,32 +12,64 @@ import org.bukkit.entity.Player;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
-import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
 
 /**
  * A simple packet injector, to modify the packets sent and received
+ * <p>
+ * Listeners are added and removed by {@link PacketManager}, which synchronizes these calls. The dispatch
+ * on the Netty threads does not lock.
+ * <p>
+ * Injectors created by the {@link ChannelInjector} exist from the start of the connection. They see the
+ * login packets, before the player is known, and stay in the pipeline until the connection closes.
  */
 class PacketInjector extends ChannelDuplexHandler {
 
     private static final Logger LOGGER = Logger.getLogger("PacketInjector");
+    private static final PacketListener[] NO_LISTENERS = new PacketListener[0];
+    private static final String TAP_NAME = "bukkitUtilsTap";
+    private static final String UNKNOWN_PLAYER = "<unknown>";
 
-    private boolean isClosed;
+    private volatile boolean isClosed;
     private Channel channel;
-    private List<PacketListener> packetListeners = new ArrayList<>();
-    private WeakReference<Player> playerWeakReference;
+    private volatile PacketListenerRegistry packetListeners;
+    private final PacketListenerRegistry globalListeners;
+    private final boolean early;
+    private volatile WeakReference<Player> playerWeakReference;
+    /**
+     * The class of the packet currently passing the encoder. Only accessed on the event loop.
+     */
+    private Class<?> writtenPacketClass;
 
     /**
      * Must be detached manually!
      *
      * @param player The player to attach into
+     * @param globalListeners The listeners for all players, called before the ones of this player
      */
-    PacketInjector(Player player) {
+    PacketInjector(Player player, PacketListenerRegistry globalListeners) {
+        this.globalListeners = globalListeners;
+        this.early = false;
         attach(player);
         playerWeakReference = new WeakReference<>(player);
     }
 
+    /**
+     * Creates an injector for a new connection. The caller adds it to the pipeline.
+     *
+     * @param channel The channel of the connection
+     * @param globalListeners The listeners for all players, called before the ones of this player
+     */
+    PacketInjector(Channel channel, PacketListenerRegistry globalListeners) {
+        this.globalListeners = globalListeners;
+        this.early = true;
+        this.channel = channel;
+        playerWeakReference = new WeakReference<>(null);
+    }
+
     /**
      * Attaches to a player
      *
@@ -44,17 +77,7 @@ class PacketInjector extends ChannelDuplexHandler {
      */
     private void attach(Player player) {
 
-        // Lengthy way of doing: ( (CraftPlayer) handle
-        // ).getHandle().playerConnection.networkManager.channel
-        Object playerConnection = PacketSender.getInstance().getConnection(player);
-
-        Object manager = ReflectionUtil
-                .getFieldValue("networkManager", playerConnection.getClass(), playerConnection)
-                .getValueOrThrow("Couldn't find networkManager field");
-
-        channel = (Channel) ReflectionUtil
-                .getFieldValue("channel", manager.getClass(), manager)
-                .getValueOrThrow("Couldn't find channel field");
+        channel = PacketSender.getInstance().getChannel(player);
 
         // remove old listener, if it wasn't properly cleared up
         if (channel.pipeline().get("bukkitUtilsHandler") != null) {
@@ -63,23 +86,117 @@ class PacketInjector extends ChannelDuplexHandler {
         }
 
         channel.pipeline().addBefore("packet_handler", "bukkitUtilsHandler", this);
+        updateWireSizeTap();
+    }
+
+    /**
+     * Adds the {@link WireSizeTap} for this injector at the head of the pipeline while the
+     * {@link PacketStatistics} are enabled and removes it otherwise, so the sent buffers don't pass it for
+     * nothing. The pipeline is changed on the event loop of the channel.
+     */
+    void updateWireSizeTap() {
+        Channel channel = this.channel;
+        // removeFromPipeline removes it
+        if (channel == null || isClosed() || !channel.isOpen()) {
+            return;
+        }
+        if (!channel.eventLoop().inEventLoop()) {
+            channel.eventLoop().execute(this::updateWireSizeTap);
+            return;
+        }
+
+        ChannelHandler tap = channel.pipeline().get(TAP_NAME);
+        boolean enabled = PacketStatistics.isEnabled();
+        // an old one may belong to an injector that wasn't properly cleared up
+        if (tap != null && (!enabled || ((WireSizeTap) tap).getInjector() != this)) {
+            channel.pipeline().remove(TAP_NAME);
+            tap = null;
+        }
+        if (tap == null && enabled) {
+            channel.pipeline().addFirst(TAP_NAME, new WireSizeTap(this));
+        }
+    }
+
+    /**
+     * @return The name of the player or a placeholder, if it is not known (yet)
+     */
+    String getPlayerName() {
+        Player player = playerWeakReference.get();
+        return player == null ? UNKNOWN_PLAYER : player.getName();
+    }
+
+    /**
+     * Returns the class of the packet passing the encoder right now. Only valid on the event loop.
+     *
+     * @return The class of the packet or null if the written message did not pass this injector
+     */
+    Class<?> getWrittenPacketClass() {
+        return writtenPacketClass;
+    }
+
+    /**
+     * Sets the player once it is known. Only used for injectors created for a new connection.
+     *
+     * @param player The player of the connection
+     */
+    void setPlayer(Player player) {
+        playerWeakReference = new WeakReference<>(player);
+    }
+
+    /**
+     * Called when the player left. Later packets of the connection are no longer counted for the player and
+     * its {@link PacketStatistics} are dropped.
+     */
+    void playerLeft() {
+        String name = getPlayerName();
+        playerWeakReference = new WeakReference<>(null);
+
+        Channel channel = this.channel;
+        if (channel != null && channel.isOpen()) {
+            // behind the packets the event loop is still recording for the player
+            channel.eventLoop().execute(() -> PacketStatistics.forgetPlayer(name));
+        }
+        else {
+            PacketStatistics.forgetPlayer(name);
+        }
     }
 
     /**
      * Removes this handler
+     * <p>
+     * Injectors created for a new connection only drop the listeners of the player, as they would not be
+     * added again if the player needed them later. They are removed when the connection closes.
      */
     void detach() {
+        if (early) {
+            packetListeners = null;
+            return;
+        }
+        removeFromPipeline();
+    }
+
+    /**
+     * Removes this handler from the pipeline
+     */
+    void removeFromPipeline() {
         if (isClosed || !channel.isOpen()) {
             return;
         }
         isClosed = true;
-        channel.eventLoop().submit(() -> channel.pipeline().remove(this));
+        // the field is cleared below, before the task runs
+        Channel channel = this.channel;
+        channel.eventLoop().submit(() -> {
+            channel.pipeline().remove(this);
+            if (channel.pipeline().get(TAP_NAME) != null) {
+                channel.pipeline().remove(TAP_NAME);
+            }
+        });
 
         // clear references. Probably not needed, but I am not sure about the
         // channel.
         playerWeakReference.clear();
-        packetListeners.clear();
-        channel = null;
+        packetListeners = null;
+        this.channel = null;
     }
 
     /**
@@ -92,82 +209,230 @@ class PacketInjector extends ChannelDuplexHandler {
     }
 
     /**
-     * Adds a {@link PacketListener}
+     * Adds a {@link PacketListener} for all packets in both directions
      *
      * @param packetListener The {@link PacketListener} to add
      *
      * @throws IllegalStateException if the channel is already closed
      */
     void addPacketListener(PacketListener packetListener) {
+        addPacketListener(packetListener, EnumSet.allOf(ConnectionDirection.class), Collections.emptySet());
+    }
+
+    /**
+     * Adds a {@link PacketListener} only called for some packets
+     *
+     * @param packetListener The {@link PacketListener} to add
+     * @param directions The directions to listen to
+     * @param packetClasses The NMS packet classes to listen to. Empty for all.
+     *
+     * @throws IllegalStateException if the channel is already closed
+     */
+    void addPacketListener(PacketListener packetListener, Set<ConnectionDirection> directions,
+                           Set<Class<?>> packetClasses) {
         Objects.requireNonNull(packetListener, "packetListener can not be null");
         if (isClosed()) {
             throw new IllegalStateException("Channel already closed. Adding of listener invalid");
         }
-        packetListeners.add(packetListener);
+        PacketListenerRegistry listeners = packetListeners;
+        if (listeners == null) {
+            listeners = new PacketListenerRegistry();
+            listeners.add(packetListener, directions, packetClasses);
+            // publish it fully populated
+            packetListeners = listeners;
+        }
+        else {
+            listeners.add(packetListener, directions, packetClasses);
+        }
     }
 
     /**
-     * Removes a {@link PacketListener}
+     * Removes a {@link PacketListener}, with all its packet filters
      *
      * @param packetListener The {@link PacketListener} to remove
      */
     void removePacketListener(PacketListener packetListener) {
-        packetListeners.remove(packetListener);
+        PacketListenerRegistry listeners = packetListeners;
+        if (listeners != null) {
+            listeners.remove(packetListener);
+        }
+    }
+
+    /**
+     * Removes all {@link PacketListener}s of this player. The global listeners are still called.
+     */
+    void removeAllPacketListeners() {
+        packetListeners = null;
     }
 
     /**
-     * Returns the amount of listeners
+     * Returns the amount of listeners for this player, global listeners are not included
      *
      * @return The amount of listeners
      */
     int getListenerAmount() {
-        return packetListeners.size();
+        PacketListenerRegistry listeners = packetListeners;
+        return listeners == null ? 0 : listeners.size();
+    }
+
+    /**
+     * Checks if any listener, global or of this player, is interested in a packet
+     *
+     * @param packetClass The class of the packet
+     * @param direction The direction the packet travels
+     *
+     * @return True if a listener would be called for the packet
+     */
+    boolean isListening(Class<?> packetClass, ConnectionDirection direction) {
+        return globalListeners.getListeners(packetClass, direction).length > 0
+                || getLocalListeners(packetClass, direction).length > 0;
+    }
+
+    /**
+     * Returns the listeners of this player interested in a packet
+     *
+     * @param packetClass The class of the packet
+     * @param direction The direction the packet travels
+     *
+     * @return The listeners for the packet. Shared, <b>do not modify it</b>.
+     */
+    private PacketListener[] getLocalListeners(Class<?> packetClass, ConnectionDirection direction) {
+        PacketListenerRegistry listeners = packetListeners;
+        return listeners == null ? NO_LISTENERS : listeners.getListeners(packetClass, direction);
+    }
+
+    /**
+     * Calls the listeners
+     *
+     * @param listeners The listeners to call
+     * @param calledBefore The listeners already called for the event, which are skipped. A listener added
+     * globally and for the player is only called once.
+     * @param event The event to pass them
+     */
+    private static void callListeners(PacketListener[] listeners, PacketListener[] calledBefore,
+                                      PacketEvent event) {
+        boolean send = event.getDirection() == ConnectionDirection.TO_CLIENT;
+        for (PacketListener packetListener : listeners) {
+            if (calledBefore.length > 0 && contains(calledBefore, packetListener)) {
+                continue;
+            }
+            try {
+                if (send) {
+                    packetListener.onPacketSend(event);
+                }
+                else {
+                    packetListener.onPacketReceived(event);
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Error in a Packet Listener (" + (send ? "send" : "receive") + "). "
+                        + "Nag the author of that plugin!", e);
+            }
+        }
+    }
+
+    /**
+     * @param listeners The listeners
+     * @param listener The listener to look for
+     *
+     * @return True if the listeners contain an equal one
+     */
+    private static boolean contains(PacketListener[] listeners, PacketListener listener) {
+        for (PacketListener candidate : listeners) {
+            if (candidate.equals(listener)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public void write(ChannelHandlerContext channelHandlerContext, Object packet, ChannelPromise channelPromise)
             throws Exception {
+        Class<?> packetClass = packet.getClass();
+        boolean recording = PacketStatistics.isEnabled();
+        if (recording) {
+            PacketStatistics.recordPacket(getPlayerName(), packetClass, ConnectionDirection.TO_CLIENT);
+        }
+
+        PacketListener[] global = globalListeners.getListeners(packetClass, ConnectionDirection.TO_CLIENT);
+        PacketListener[] local = getLocalListeners(packetClass, ConnectionDirection.TO_CLIENT);
+        if (global.length == 0 && local.length == 0) {
+            forwardWrite(channelHandlerContext, packet, packetClass, channelPromise);
+            return;
+        }
+
         PacketEvent event = new PacketEvent(
                 packet,
-                PacketEvent.ConnectionDirection.TO_CLIENT,
+                ConnectionDirection.TO_CLIENT,
                 playerWeakReference.get()
         );
 
-        for (PacketListener packetListener : packetListeners) {
-            try {
-                packetListener.onPacketSend(event);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING,
-                        "Error in a Packet Listener (send). Nag the author of that plugin!", e);
-            }
+        long start = recording ? System.nanoTime() : 0;
+        callListeners(global, NO_LISTENERS, event);
+        callListeners(local, global, event);
+        if (recording) {
+            PacketStatistics.recordDispatch(packetClass, ConnectionDirection.TO_CLIENT, System.nanoTime() - start);
         }
 
         // let it through
         if (!event.isCancelled()) {
+            Object rawPacket = event.getRawPacket();
+            forwardWrite(channelHandlerContext, rawPacket, rawPacket.getClass(), channelPromise);
+        }
+    }
+
+    /**
+     * Passes a packet on to the encoder, remembering its class for the {@link WireSizeTap}
+     *
+     * @param channelHandlerContext The context of this handler
+     * @param packet The packet to write
+     * @param packetClass The class of the packet
+     * @param channelPromise The promise of the write
+     *
+     * @throws Exception if the next handler throws one
+     */
+    private void forwardWrite(ChannelHandlerContext channelHandlerContext, Object packet, Class<?> packetClass,
+                              ChannelPromise channelPromise) throws Exception {
+        // the encoder and the tap run synchronously in this call
+        writtenPacketClass = packetClass;
+        try {
             super.write(channelHandlerContext, packet, channelPromise);
+        } finally {
+            writtenPacketClass = null;
         }
     }
 
     @Override
     public void channelRead(ChannelHandlerContext channelHandlerContext, Object packet) throws Exception {
+        Class<?> packetClass = packet.getClass();
+        boolean recording = PacketStatistics.isEnabled();
+        if (recording) {
+            PacketStatistics.recordPacket(getPlayerName(), packetClass, ConnectionDirection.TO_SERVER);
+        }
+
+        PacketListener[] global = globalListeners.getListeners(packetClass, ConnectionDirection.TO_SERVER);
+        PacketListener[] local = getLocalListeners(packetClass, ConnectionDirection.TO_SERVER);
+        if (global.length == 0 && local.length == 0) {
+            super.channelRead(channelHandlerContext, packet);
+            return;
+        }
+
         PacketEvent event = new PacketEvent(
                 packet,
-                PacketEvent.ConnectionDirection.TO_SERVER,
+                ConnectionDirection.TO_SERVER,
                 playerWeakReference.get()
         );
 
-        for (PacketListener packetListener : packetListeners) {
-            try {
-                packetListener.onPacketReceived(event);
-            } catch (Exception e) {
-                LOGGER.log(Level.WARNING,
-                        "Error in a Packet Listener (receive). Nag the author of that plugin!", e);
-            }
+        long start = recording ? System.nanoTime() : 0;
+        callListeners(global, NO_LISTENERS, event);
+        callListeners(local, global, event);
+        if (recording) {
+            PacketStatistics.recordDispatch(packetClass, ConnectionDirection.TO_SERVER, System.nanoTime() - start);
         }
 
         // let it through
         if (!event.isCancelled()) {
-            super.channelRead(channelHandlerContext, packet);
+            super.channelRead(channelHandlerContext, event.getRawPacket());
         }
     }
 }
@@ -0,0 +1,192 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+
+/**
+ * The {@link PacketListener}s of a player or of the whole server, together with the packets they want
+ * to receive.
+ * <p>
+ * The listeners interested in a packet class are computed once and cached, until the listeners change.
+ * <p>
+ * Changes copy the registrations (copy-on-write), so the lookups done for every packet on the Netty threads
+ * are lock free and never see a partially applied change.
+ */
+class PacketListenerRegistry {
+
+    private static final PacketListener[] NO_LISTENERS = new PacketListener[0];
+    private static final Registration[] NO_REGISTRATIONS = new Registration[0];
+
+    private volatile Snapshot snapshot = new Snapshot(NO_REGISTRATIONS);
+
+    /**
+     * Adds a {@link PacketListener}
+     *
+     * @param packetListener The {@link PacketListener} to add
+     * @param directions The directions to listen to
+     * @param packetClasses The NMS packet classes to listen to. Empty for all.
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    synchronized void add(PacketListener packetListener, Set<ConnectionDirection> directions,
+                          Set<Class<?>> packetClasses) {
+        Objects.requireNonNull(packetListener, "packetListener can not be null");
+        Objects.requireNonNull(directions, "directions can not be null");
+        Objects.requireNonNull(packetClasses, "packetClasses can not be null");
+
+        Registration[] registrations = snapshot.registrations;
+        Registration[] newRegistrations = Arrays.copyOf(registrations, registrations.length + 1);
+        newRegistrations[registrations.length] = new Registration(packetListener, directions, packetClasses);
+
+        snapshot = new Snapshot(newRegistrations);
+    }
+
+    /**
+     * Removes a {@link PacketListener}, with all its packet filters
+     *
+     * @param packetListener The {@link PacketListener} to remove
+     */
+    synchronized void remove(PacketListener packetListener) {
+        Registration[] newRegistrations = Arrays.stream(snapshot.registrations)
+                .filter(registration -> !registration.listener.equals(packetListener))
+                .toArray(Registration[]::new);
+
+        snapshot = new Snapshot(newRegistrations);
+    }
+
+    /**
+     * Removes all listeners
+     */
+    synchronized void clear() {
+        snapshot = new Snapshot(NO_REGISTRATIONS);
+    }
+
+    /**
+     * @return The amount of registrations
+     */
+    int size() {
+        return snapshot.registrations.length;
+    }
+
+    /**
+     * @return True if there are no listeners
+     */
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the listeners interested in a packet
+     * <p>
+     * Lock free, safe to call from any thread.
+     *
+     * @param packetClass The class of the packet
+     * @param direction The direction the packet travels
+     *
+     * @return The listeners for the packet. Shared, <b>do not modify it</b>.
+     */
+    PacketListener[] getListeners(Class<?> packetClass, ConnectionDirection direction) {
+        return snapshot.getListeners(packetClass, direction);
+    }
+
+    /**
+     * An immutable set of registrations, together with the listener arrays computed from it.
+     * <p>
+     * Every change creates a new snapshot, so a reader never sees a cache built from other registrations.
+     */
+    private static final class Snapshot {
+
+        private final Registration[] registrations;
+        private final Map<Class<?>, PacketListener[]> sendListeners = new ConcurrentHashMap<>();
+        private final Map<Class<?>, PacketListener[]> receiveListeners = new ConcurrentHashMap<>();
+
+        /**
+         * @param registrations The registrations. Not copied.
+         */
+        private Snapshot(Registration[] registrations) {
+            this.registrations = registrations;
+        }
+
+        /**
+         * @param packetClass The class of the packet
+         * @param direction The direction the packet travels
+         *
+         * @return The listeners for the packet
+         */
+        private PacketListener[] getListeners(Class<?> packetClass, ConnectionDirection direction) {
+            if (registrations.length == 0) {
+                return NO_LISTENERS;
+            }
+
+            Map<Class<?>, PacketListener[]> cache = direction == ConnectionDirection.TO_CLIENT
+                                                    ? sendListeners
+                                                    : receiveListeners;
+            PacketListener[] listeners = cache.get(packetClass);
+            if (listeners == null) {
+                Set<PacketListener> matching = new LinkedHashSet<>();
+                for (Registration registration : registrations) {
+                    if (registration.matches(packetClass, direction)) {
+                        matching.add(registration.listener);
+                    }
+                }
+                listeners = matching.isEmpty() ? NO_LISTENERS : matching.toArray(new PacketListener[0]);
+                cache.put(packetClass, listeners);
+            }
+            return listeners;
+        }
+    }
+
+    /**
+     * A listener together with the packets it wants to receive
+     */
+    private static final class Registration {
+
+        private final PacketListener listener;
+        private final Set<ConnectionDirection> directions;
+        private final Set<Class<?>> packetClasses;
+
+        /**
+         * @param listener The listener
+         * @param directions The directions it listens to
+         * @param packetClasses The packet classes it listens to. Empty for all.
+         */
+        private Registration(PacketListener listener, Set<ConnectionDirection> directions,
+                             Set<Class<?>> packetClasses) {
+            this.listener = listener;
+            this.directions = directions.isEmpty()
+                              ? EnumSet.noneOf(ConnectionDirection.class)
+                              : EnumSet.copyOf(directions);
+            this.packetClasses = new HashSet<>(packetClasses);
+        }
+
+        /**
+         * @param packetClass The class of the packet
+         * @param direction The direction the packet travels
+         *
+         * @return True if the listener wants to receive the packet
+         */
+        private boolean matches(Class<?> packetClass, ConnectionDirection direction) {
+            if (!directions.contains(direction)) {
+                return false;
+            }
+            if (packetClasses.isEmpty()) {
+                return true;
+            }
+            for (Class<?> wanted : packetClasses) {
+                if (ReflectionUtil.inheritsFrom(packetClass, wanted)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
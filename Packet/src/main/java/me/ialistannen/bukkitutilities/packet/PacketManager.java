@@ -1,33 +1,51 @@
 package me.ialistannen.bukkitutilities.packet;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
 
 import me.ialistannen.bukkitutilities.coreplugin.BukkitUtilities;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
 
 /**
  * Manages PacketListeners and stuff
  * <p>
  * This Manager removes the listeners when the Player leaves. You do not need to
  * keep track of that!
+ * <p>
+ * Global listeners are shared by all players, joining players are injected automatically.
+ * <p>
+ * With {@link #enableEarlyInjection()} every connection is injected when it is opened instead. The global
+ * listeners then also receive the packets of the login phase, for which {@link PacketEvent#getPlayer()}
+ * is null.
  */
 public class PacketManager implements Listener {
 
     private static PacketManager instance;
 
-    private final Map<UUID, PacketInjector> injectorMap = new HashMap<>();
+    /**
+     * Concurrent, so it can be iterated while injectors are removed. Changes still lock on it, as they
+     * need to check and modify the map and the injectors together.
+     */
+    private final Map<UUID, PacketInjector> injectorMap = new ConcurrentHashMap<>();
+    private final PacketListenerRegistry globalListeners = new PacketListenerRegistry();
+    private final Plugin plugin;
+    private ChannelInjector channelInjector;
 
     {
         BukkitUtilities.getInstance().getDisableManager().addListener(() -> {
@@ -42,34 +60,320 @@ public class PacketManager implements Listener {
      * @param plugin The plugin to instantiate it as
      */
     private PacketManager(Plugin plugin) {
+        this.plugin = plugin;
         Bukkit.getPluginManager().registerEvents(this, plugin);
     }
 
     /**
-     * Adds a packet listener
+     * Injects every new connection when it is opened, by hooking the channels the server listens on
+     * <p>
+     * This avoids the reflection needed to inject a player on the main thread and lets the global listeners
+     * see the login packets. Players connected before are still injected the old way, when needed.
+     * <p>
+     * If the server does not listen yet, this is retried on the first tick.
+     */
+    @SuppressWarnings("WeakerAccess")
+    public void enableEarlyInjection() {
+        synchronized (injectorMap) {
+            if (channelInjector != null) {
+                return;
+            }
+            channelInjector = new ChannelInjector(globalListeners);
+            if (!injectServerChannels(channelInjector)) {
+                ChannelInjector injector = channelInjector;
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    synchronized (injectorMap) {
+                        if (channelInjector == injector && !injectServerChannels(injector)) {
+                            plugin.getLogger().warning("The server does not listen on any channel, "
+                                    + "early packet injection is disabled");
+                            channelInjector = null;
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * @param injector The injector
+     *
+     * @return False if the server does not listen yet. Errors are logged and disable early injection.
+     */
+    private boolean injectServerChannels(ChannelInjector injector) {
+        try {
+            return injector.inject();
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Couldn't hook the server channels, "
+                    + "early packet injection is disabled", e);
+            injector.close();
+            channelInjector = null;
+            return true;
+        }
+    }
+
+    /**
+     * Adds a packet listener, which receives all packets
      *
      * @param listener The {@link PacketListener} to add
      * @param player The Player to listen for
      *
      * @throws NullPointerException if any parameter is null
+     * @see #addListener(PacketListener, Player, ConnectionDirection, Class[])
      */
     @SuppressWarnings("unused")
     public void addListener(PacketListener listener, Player player) {
+        addListener(listener, player, EnumSet.allOf(ConnectionDirection.class), Collections.emptySet());
+    }
+
+    /**
+     * Adds a packet listener, which only receives the given packets travelling in both directions
+     *
+     * @param listener The {@link PacketListener} to add
+     * @param player The Player to listen for
+     * @param packetClasses The NMS packet classes to listen to. Subclasses are included.
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if no packet class is given
+     * @see #addListener(PacketListener, Player, ConnectionDirection, Class[])
+     */
+    @SuppressWarnings("unused")
+    public void addListener(PacketListener listener, Player player, Class<?>... packetClasses) {
+        addListener(listener, player, EnumSet.allOf(ConnectionDirection.class), toPacketClassSet(packetClasses));
+    }
+
+    /**
+     * Adds a packet listener, which only receives the given packets travelling in the given direction
+     * <p>
+     * The listeners for each packet class are precomputed, so packets no listener is interested in never
+     * reach any listener code.
+     *
+     * @param listener The {@link PacketListener} to add
+     * @param player The Player to listen for
+     * @param direction The direction to listen to. The method for the other one will never be called.
+     * @param packetClasses The NMS packet classes to listen to. Subclasses are included. None for all
+     * packets.
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    @SuppressWarnings("unused")
+    public void addListener(PacketListener listener, Player player, ConnectionDirection direction,
+                            Class<?>... packetClasses) {
+        Objects.requireNonNull(direction, "direction can not be null");
+        Objects.requireNonNull(packetClasses, "packetClasses can not be null");
+
+        Set<Class<?>> classes = packetClasses.length == 0
+                                ? Collections.emptySet()
+                                : toPacketClassSet(packetClasses);
+        addListener(listener, player, EnumSet.of(direction), classes);
+    }
+
+    /**
+     * Adds a packet listener
+     *
+     * @param listener The {@link PacketListener} to add
+     * @param player The Player to listen for
+     * @param directions The directions to listen to
+     * @param packetClasses The NMS packet classes to listen to. Empty for all.
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    private void addListener(PacketListener listener, Player player, Set<ConnectionDirection> directions,
+                             Set<Class<?>> packetClasses) {
         Objects.requireNonNull(listener, "listener can not be null");
         Objects.requireNonNull(player, "player can not be null");
 
         // no modifications during checks or the result may be wrong! (it
         // changes depending on the current state)
         synchronized (injectorMap) {
-            if (injectorMap.containsKey(player.getUniqueId())) {
-                injectorMap.get(player.getUniqueId()).addPacketListener(listener);
+            getOrCreateInjector(player).addPacketListener(listener, directions, packetClasses);
+        }
+    }
+
+    /**
+     * Adds a packet listener for all players, which receives all packets
+     * <p>
+     * The listener is shared by all players. Players joining later are injected automatically. It is called
+     * before the listeners of the player and only once, even if it was added for the player as well.
+     *
+     * @param listener The {@link PacketListener} to add
+     *
+     * @throws NullPointerException if listener is null
+     * @see #addGlobalListener(PacketListener, ConnectionDirection, Class[])
+     */
+    @SuppressWarnings("unused")
+    public void addGlobalListener(PacketListener listener) {
+        addGlobalListener(listener, EnumSet.allOf(ConnectionDirection.class), Collections.emptySet());
+    }
+
+    /**
+     * Adds a packet listener for all players, which only receives the given packets travelling in the given
+     * direction
+     * <p>
+     * The listener is shared by all players. Players joining later are injected automatically. It is called
+     * before the listeners of the player and only once, even if it was added for the player as well.
+     *
+     * @param listener The {@link PacketListener} to add
+     * @param direction The direction to listen to. The method for the other one will never be called.
+     * @param packetClasses The NMS packet classes to listen to. Subclasses are included. None for all
+     * packets.
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    @SuppressWarnings("unused")
+    public void addGlobalListener(PacketListener listener, ConnectionDirection direction, Class<?>... packetClasses) {
+        Objects.requireNonNull(direction, "direction can not be null");
+        Objects.requireNonNull(packetClasses, "packetClasses can not be null");
+
+        Set<Class<?>> classes = packetClasses.length == 0
+                                ? Collections.emptySet()
+                                : toPacketClassSet(packetClasses);
+        addGlobalListener(listener, EnumSet.of(direction), classes);
+    }
+
+    /**
+     * Adds a packet listener for all players
+     *
+     * @param listener The {@link PacketListener} to add
+     * @param directions The directions to listen to
+     * @param packetClasses The NMS packet classes to listen to. Empty for all.
+     *
+     * @throws NullPointerException if listener is null
+     */
+    private void addGlobalListener(PacketListener listener, Set<ConnectionDirection> directions,
+                                   Set<Class<?>> packetClasses) {
+        Objects.requireNonNull(listener, "listener can not be null");
+
+        synchronized (injectorMap) {
+            globalListeners.add(listener, directions, packetClasses);
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                getOrCreateInjector(player);
+            }
+        }
+    }
+
+    /**
+     * Removes a listener for all players
+     * <p>
+     * Players without any other listener are no longer injected afterwards.
+     *
+     * @param listener The listener to remove
+     *
+     * @throws NullPointerException if listener is null
+     */
+    @SuppressWarnings("unused")
+    public void removeGlobalListener(PacketListener listener) {
+        Objects.requireNonNull(listener, "listener can not be null");
+
+        synchronized (injectorMap) {
+            globalListeners.remove(listener);
+            detachUnusedInjectors();
+        }
+    }
+
+    /**
+     * Detaches the injectors of players without any listener of their own, unless all players need to be
+     * injected
+     */
+    void detachUnusedInjectors() {
+        synchronized (injectorMap) {
+            if (isInjectingAll()) {
+                return;
+            }
+            for (UUID uuid : injectorMap.keySet()) {
+                if (injectorMap.get(uuid).getListenerAmount() < 1) {
+                    detach(uuid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds or removes the {@link WireSizeTap}s of all injected connections, after the {@link PacketStatistics}
+     * were enabled or disabled
+     */
+    void updateWireSizeTaps() {
+        synchronized (injectorMap) {
+            for (PacketInjector injector : injectorMap.values()) {
+                injector.updateWireSizeTap();
+            }
+            if (channelInjector != null) {
+                channelInjector.updateWireSizeTaps();
+            }
+        }
+    }
+
+    /**
+     * Injects all online players, e.g. for the {@link PacketStatistics}
+     */
+    void injectOnlinePlayers() {
+        synchronized (injectorMap) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                getOrCreateInjector(player);
+            }
+        }
+    }
+
+    /**
+     * @return True if all players need to be injected, even without listeners of their own
+     */
+    private boolean isInjectingAll() {
+        return !globalListeners.isEmpty() || PacketStatistics.isEnabled();
+    }
+
+    /**
+     * Returns the injector of a player, injecting the player if needed. Must hold the lock of the injector
+     * map.
+     *
+     * @param player The player
+     *
+     * @return The injector of the player
+     */
+    private PacketInjector getOrCreateInjector(Player player) {
+        PacketInjector injector = injectorMap.get(player.getUniqueId());
+        if (injector == null) {
+            injector = channelInjector == null ? null : channelInjector.getInjector(player);
+            if (injector != null) {
+                injector.setPlayer(player);
             }
             else {
-                PacketInjector injector = new PacketInjector(player);
-                injector.addPacketListener(listener);
-                injectorMap.put(player.getUniqueId(), injector);
+                injector = new PacketInjector(player, globalListeners);
             }
+            injectorMap.put(player.getUniqueId(), injector);
+        }
+        return injector;
+    }
+
+    /**
+     * Detaches the injector of a player, if any. Must hold the lock of the injector map.
+     *
+     * @param uuid The {@link UUID} of the player
+     */
+    private void detach(UUID uuid) {
+        PacketInjector injector = injectorMap.remove(uuid);
+        if (injector != null) {
+            injector.detach();
+        }
+    }
+
+    /**
+     * @param packetClasses The packet classes
+     *
+     * @return The packet classes as a set
+     *
+     * @throws NullPointerException     if the array or any element is null
+     * @throws IllegalArgumentException if the array is empty
+     */
+    private static Set<Class<?>> toPacketClassSet(Class<?>[] packetClasses) {
+        Objects.requireNonNull(packetClasses, "packetClasses can not be null");
+        if (packetClasses.length == 0) {
+            throw new IllegalArgumentException("You must pass at least one packet class");
+        }
+
+        Set<Class<?>> classes = new HashSet<>();
+        for (Class<?> packetClass : packetClasses) {
+            classes.add(Objects.requireNonNull(packetClass, "packetClasses can not contain null"));
         }
+        return classes;
     }
 
     /**
@@ -93,15 +397,17 @@ public class PacketManager implements Listener {
             }
             PacketInjector injector = injectorMap.get(player.getUniqueId());
             injector.removePacketListener(listener);
-            if (injector.getListenerAmount() < 1) {
-                injector.detach();
-                injectorMap.remove(player.getUniqueId());
+            // global listeners or the statistics still need it
+            if (injector.getListenerAmount() < 1 && !isInjectingAll()) {
+                detach(player.getUniqueId());
             }
         }
     }
 
     /**
      * Removes <b>all</b> listeners from a player
+     * <p>
+     * The global listeners stay active for the player.
      *
      * @param uuid The {@link UUID} of the Player to remove all listeners for
      *
@@ -114,30 +420,56 @@ public class PacketManager implements Listener {
         // no modifications during checks or the result may be wrong! (it
         // changes depending on the current state)
         synchronized (injectorMap) {
-            if (injectorMap.containsKey(uuid)) {
-                injectorMap.get(uuid).detach();
-                injectorMap.remove(uuid);
+            if (!injectorMap.containsKey(uuid)) {
+                return;
+            }
+            if (!isInjectingAll()) {
+                detach(uuid);
+            }
+            else {
+                injectorMap.get(uuid).removeAllPacketListeners();
             }
         }
     }
 
     /**
-     * <i>Removes <b>ALL</b> listeners</i>
+     * <i>Removes <b>ALL</b> listeners</i>, including the global ones
      * <p>
      * Use with caution or not at all.
      */
     private void removeAll() {
         synchronized (injectorMap) {
-            // clone to avoid concurrent modification
-            Set<UUID> keys = new HashSet<>(injectorMap.keySet());
-            keys.forEach(this::removeAllListeners);
+            globalListeners.clear();
+            injectorMap.keySet().forEach(this::detach);
+            if (channelInjector != null) {
+                channelInjector.close();
+                channelInjector = null;
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        synchronized (injectorMap) {
+            if (isInjectingAll()) {
+                getOrCreateInjector(event.getPlayer());
+            }
         }
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
     public void onLeave(PlayerQuitEvent event) {
         // clean up
-        removeAllListeners(event.getPlayer().getUniqueId());
+        synchronized (injectorMap) {
+            PacketInjector injector = injectorMap.get(event.getPlayer().getUniqueId());
+            if (injector != null) {
+                injector.playerLeft();
+            }
+            else {
+                PacketStatistics.forgetPlayer(event.getPlayer().getName());
+            }
+            detach(event.getPlayer().getUniqueId());
+        }
     }
 
     /**
@@ -152,4 +484,11 @@ public class PacketManager implements Listener {
         }
         return instance;
     }
+
+    /**
+     * @return The Manager instance or null if it was not created yet or the plugin is disabled
+     */
+    static synchronized PacketManager getExistingInstance() {
+        return instance;
+    }
 }
@@ -1,16 +1,52 @@
 package me.ialistannen.bukkitutilities.packet;
 
+import java.util.Collection;
+import java.util.Collections;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
 import me.ialistannen.bukkitutilities.modulesystem.AbstractModule;
+import me.ialistannen.bukkitutilities.modulesystem.AdminCommand;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer;
 
 /**
  * Adds some basic packet support.
  */
 public class PacketModule extends AbstractModule {
 
+    private final Collection<AdminCommand> adminCommands = Collections.singletonList(new PacketAdminCommand());
+
     /**
      * Creates a new PacketModule
      */
     public PacketModule() {
         super(getModulePropertiesFromJar(PacketModule.class));
     }
+
+    @Override
+    public void onEnable(JavaPlugin corePlugin) {
+        if (corePlugin.getConfig().getBoolean("packet.early-injection", false)) {
+            PacketManager.getInstance().enableEarlyInjection();
+        }
+        if (corePlugin.getConfig().getBoolean("packet.batching.enabled", false)) {
+            WriteBatcher.enable(corePlugin, corePlugin.getConfig().getInt("packet.batching.flush-threshold", 64));
+        }
+    }
+
+    @Override
+    public Collection<AdminCommand> getAdminCommands() {
+        return adminCommands;
+    }
+
+    @Override
+    public void onDisable() {
+        WriteBatcher.disable();
+        PacketStatistics.setEnabled(false);
+    }
+
+    @Override
+    public void registerPreWarmTasks(PreWarmer preWarmer) {
+        preWarmer.registerClassInitialization("Packet", PacketSender.class, PacketInjector.class,
+                PacketBroadcaster.class);
+    }
 }
@@ -1,10 +1,11 @@
 package me.ialistannen.bukkitutilities.packet;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
 import org.bukkit.entity.Player;
 
+import io.netty.channel.Channel;
+
+import me.ialistannen.bukkitutilities.reflection.FieldGetter;
+import me.ialistannen.bukkitutilities.reflection.MethodInvoker;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
 import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
 
@@ -27,21 +28,43 @@ class PacketSender {
             NMS,
             "EntityPlayer"
     ).orElseThrow(() -> new RuntimeException("Couldn't find EntityPlayer class!"));
-
-
-    private static final Method GET_HANDLE = ReflectionUtil.getMethod(
-            CRAFT_PLAYER,
-            new MethodPredicate().withName("getHandle")
-    ).getValueOrThrow("Couldn't find getHandle method");
-    private static final Method SEND_PACKET = ReflectionUtil.getMethod(
-            PLAYER_CONNECTION,
-            new MethodPredicate().withName("sendPacket")
-    ).getValueOrThrow("Couldn't find sendPacket method");
-
-    private static final Field PLAYER_CONNECTION_FIELD = ReflectionUtil.getField(
-            ENTITY_PLAYER,
-            new ReflectionUtil.FieldPredicate().withName("playerConnection")
-    ).getValueOrThrow("Couldn't find playerConnection field");
+    private static final Class<?> NETWORK_MANAGER = ReflectionUtil.getClass(
+            NMS,
+            "NetworkManager"
+    ).orElseThrow(() -> new RuntimeException("Couldn't find NetworkManager class!"));
+
+
+    private static final MethodInvoker<Object> GET_HANDLE = ReflectionUtil.compileInvoker(
+            ReflectionUtil.getMethod(
+                    CRAFT_PLAYER,
+                    new MethodPredicate().withName("getHandle")
+            ).getValueOrThrow("Couldn't find getHandle method")
+    );
+    private static final MethodInvoker<Object> SEND_PACKET = ReflectionUtil.compileInvoker(
+            ReflectionUtil.getMethod(
+                    PLAYER_CONNECTION,
+                    new MethodPredicate().withName("sendPacket")
+            ).getValueOrThrow("Couldn't find sendPacket method")
+    );
+
+    private static final FieldGetter<Object> PLAYER_CONNECTION_FIELD = ReflectionUtil.compileGetter(
+            ReflectionUtil.getField(
+                    ENTITY_PLAYER,
+                    new ReflectionUtil.FieldPredicate().withName("playerConnection")
+            ).getValueOrThrow("Couldn't find playerConnection field")
+    );
+    private static final FieldGetter<Object> NETWORK_MANAGER_FIELD = ReflectionUtil.compileGetter(
+            ReflectionUtil.getField(
+                    PLAYER_CONNECTION,
+                    new ReflectionUtil.FieldPredicate().withName("networkManager")
+            ).getValueOrThrow("Couldn't find networkManager field")
+    );
+    private static final FieldGetter<Channel> CHANNEL_FIELD = ReflectionUtil.compileGetter(
+            ReflectionUtil.getField(
+                    NETWORK_MANAGER,
+                    new ReflectionUtil.FieldPredicate().withName("channel")
+            ).getValueOrThrow("Couldn't find channel field")
+    );
 
     private static final PacketSender instance = new PacketSender();
 
@@ -50,12 +73,21 @@ class PacketSender {
 
     /**
      * Sends a packet to a Player
+     * <p>
+     * If the {@link WriteBatcher} is enabled, packets sent from the main thread are flushed at the next tick.
      *
      * @param packet The {@link Packet} to send
      * @param player The Player to send it to
      */
     void sendPacket(Packet packet, Player player) {
-        sendPacket(packet.getNMSPacket(), getConnection(player));
+        Object connection = getConnection(player);
+        if (WriteBatcher.isEnabled()) {
+            Channel channel = getConnectionChannel(connection);
+            if (channel != null) {
+                WriteBatcher.mark(channel);
+            }
+        }
+        sendPacket(packet.getNMSPacket(), connection);
     }
 
     /**
@@ -66,7 +98,7 @@ class PacketSender {
     }
 
     private void sendPacket(Object nmsPacket, Object playerConnection) {
-        ReflectionUtil.invokeMethod(SEND_PACKET, playerConnection, nmsPacket);
+        SEND_PACKET.invoke1(playerConnection, nmsPacket);
     }
 
     /**
@@ -77,10 +109,32 @@ class PacketSender {
      * @return The Player's connection
      */
     Object getConnection(Player player) {
-        Object handle = ReflectionUtil.invokeMethod(GET_HANDLE, player)
-                .getValueOrThrow("Couldn't get the handle");
+        Object handle = GET_HANDLE.invoke0(player);
+
+        return PLAYER_CONNECTION_FIELD.get(handle);
+    }
+
+    /**
+     * Returns the Player's channel
+     * <p>
+     * Lengthy way of doing: {@code ((CraftPlayer) player).getHandle().playerConnection.networkManager.channel}
+     *
+     * @param player The Player to get the channel for
+     *
+     * @return The Player's channel
+     */
+    Channel getChannel(Player player) {
+        return getConnectionChannel(getConnection(player));
+    }
 
-        return ReflectionUtil.getFieldValue(PLAYER_CONNECTION_FIELD, handle)
-                .getValueOrThrow("Couldn't obtain PlayerConnection");
+    /**
+     * Returns the channel of a PlayerConnection
+     *
+     * @param playerConnection The PlayerConnection
+     *
+     * @return The channel of the connection
+     */
+    Channel getConnectionChannel(Object playerConnection) {
+        return CHANNEL_FIELD.get(NETWORK_MANAGER_FIELD.get(playerConnection));
     }
 }
@@ -0,0 +1,396 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+
+/**
+ * Optional instrumentation of the packet traffic of injected players.
+ * <p>
+ * When enabled, all players are injected and every packet is counted per player and per packet class. The
+ * size of sent packets is measured on the wire, after encoding and compression. The time the
+ * {@link PacketListener}s need is recorded per packet class, in a histogram.
+ * <p>
+ * The counters are {@link LongAdder}s, so the Netty threads don't contend on them. The data of a player is
+ * dropped when it leaves.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class PacketStatistics {
+
+    /**
+     * The amount of buckets of the dispatch time histograms
+     */
+    public static final int HISTOGRAM_BUCKETS = 16;
+
+    private static final String UNKNOWN_PACKET = "<pre-encoded>";
+
+    private static volatile boolean enabled;
+
+    private static final ConcurrentMap<Class<?>, PacketCounters> SENT = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, PacketCounters> RECEIVED = new ConcurrentHashMap<>();
+    private static volatile PacketCounters preEncoded = new PacketCounters();
+    private static final ConcurrentMap<String, PlayerCounters> PLAYERS = new ConcurrentHashMap<>();
+
+    private PacketStatistics() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * Enables or disables the recording. Enabling it injects all online players, disabling it detaches the
+     * players no listener needs.
+     *
+     * @param enabled True to record the traffic
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        if (PacketStatistics.enabled == enabled) {
+            return;
+        }
+        PacketStatistics.enabled = enabled;
+
+        PacketManager manager = enabled ? PacketManager.getInstance() : PacketManager.getExistingInstance();
+        if (manager == null) {
+            return;
+        }
+        if (enabled) {
+            manager.injectOnlinePlayers();
+        }
+        else {
+            manager.detachUnusedInjectors();
+        }
+        manager.updateWireSizeTaps();
+    }
+
+    /**
+     * @return True if the traffic is recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Discards all recorded data
+     */
+    public static void reset() {
+        SENT.clear();
+        RECEIVED.clear();
+        preEncoded = new PacketCounters();
+        PLAYERS.clear();
+    }
+
+    /**
+     * Returns a snapshot of the recorded data per packet class
+     *
+     * @return All packet classes, the most frequent first
+     */
+    public static List<PacketTypeStatistics> getPacketStatistics() {
+        List<PacketTypeStatistics> result = new ArrayList<>(SENT.size() + RECEIVED.size() + 1);
+        for (Map.Entry<Class<?>, PacketCounters> entry : SENT.entrySet()) {
+            result.add(new PacketTypeStatistics(
+                    entry.getKey().getSimpleName(), ConnectionDirection.TO_CLIENT, entry.getValue()
+            ));
+        }
+        for (Map.Entry<Class<?>, PacketCounters> entry : RECEIVED.entrySet()) {
+            result.add(new PacketTypeStatistics(
+                    entry.getKey().getSimpleName(), ConnectionDirection.TO_SERVER, entry.getValue()
+            ));
+        }
+        PacketTypeStatistics preEncoded = new PacketTypeStatistics(
+                UNKNOWN_PACKET, ConnectionDirection.TO_CLIENT, PacketStatistics.preEncoded
+        );
+        if (preEncoded.getPackets() > 0) {
+            result.add(preEncoded);
+        }
+        result.sort(Comparator.comparingLong(PacketTypeStatistics::getPackets).reversed());
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the recorded data per player
+     *
+     * @return All online players, the one with the most sent bytes first
+     */
+    public static List<PlayerStatistics> getPlayerStatistics() {
+        List<PlayerStatistics> result = new ArrayList<>(PLAYERS.size());
+        for (Map.Entry<String, PlayerCounters> entry : PLAYERS.entrySet()) {
+            result.add(new PlayerStatistics(entry.getKey(), entry.getValue()));
+        }
+        result.sort(Comparator.comparingLong(PlayerStatistics::getSentBytes).reversed());
+        return result;
+    }
+
+    /**
+     * Returns the upper bound of a histogram bucket
+     *
+     * @param bucket The index of the bucket
+     *
+     * @return The exclusive upper bound in microseconds. The last bucket has none and returns
+     * {@link Long#MAX_VALUE}.
+     */
+    public static long getBucketUpperBoundMicros(int bucket) {
+        return bucket >= HISTOGRAM_BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Records a packet
+     *
+     * @param player The name of the player
+     * @param packetClass The class of the packet
+     * @param direction The direction the packet travels
+     */
+    static void recordPacket(String player, Class<?> packetClass, ConnectionDirection direction) {
+        counters(packetClass, direction).packets.increment();
+
+        PlayerCounters counters = counters(player);
+        if (direction == ConnectionDirection.TO_CLIENT) {
+            counters.sentPackets.increment();
+        }
+        else {
+            counters.receivedPackets.increment();
+        }
+    }
+
+    /**
+     * Drops the recorded data of a player, e.g. when it left
+     *
+     * @param player The name of the player
+     */
+    static void forgetPlayer(String player) {
+        PLAYERS.remove(player);
+    }
+
+    /**
+     * Records the size of a sent packet
+     *
+     * @param player The name of the player
+     * @param packetClass The class of the packet or null if it was encoded before
+     * @param bytes The size on the wire
+     */
+    static void recordBytes(String player, Class<?> packetClass, int bytes) {
+        counters(packetClass, ConnectionDirection.TO_CLIENT).bytes.add(bytes);
+        counters(player).sentBytes.add(bytes);
+
+        // never passed the injector, so they were not counted yet
+        if (packetClass == null) {
+            preEncoded.packets.increment();
+            counters(player).sentPackets.increment();
+        }
+    }
+
+    /**
+     * Records the time the listeners took for a packet
+     *
+     * @param packetClass The class of the packet
+     * @param direction The direction the packet travels
+     * @param nanos The time the listeners took
+     */
+    static void recordDispatch(Class<?> packetClass, ConnectionDirection direction, long nanos) {
+        PacketCounters counters = counters(packetClass, direction);
+        counters.dispatches.increment();
+        counters.dispatchNanos.add(nanos);
+
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = Math.min(HISTOGRAM_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        counters.histogram[bucket].increment();
+    }
+
+    /**
+     * @param packetClass The class of the packet or null if unknown
+     * @param direction The direction the packet travels
+     *
+     * @return The counters for the packet class
+     */
+    private static PacketCounters counters(Class<?> packetClass, ConnectionDirection direction) {
+        if (packetClass == null) {
+            return preEncoded;
+        }
+        ConcurrentMap<Class<?>, PacketCounters> map = direction == ConnectionDirection.TO_CLIENT ? SENT : RECEIVED;
+        PacketCounters counters = map.get(packetClass);
+        if (counters == null) {
+            counters = map.computeIfAbsent(packetClass, ignored -> new PacketCounters());
+        }
+        return counters;
+    }
+
+    /**
+     * @param player The name of the player
+     *
+     * @return The counters for the player
+     */
+    private static PlayerCounters counters(String player) {
+        PlayerCounters counters = PLAYERS.get(player);
+        if (counters == null) {
+            counters = PLAYERS.computeIfAbsent(player, ignored -> new PlayerCounters());
+        }
+        return counters;
+    }
+
+    /**
+     * The counters of one packet class
+     */
+    private static final class PacketCounters {
+        private final LongAdder packets = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private final LongAdder dispatches = new LongAdder();
+        private final LongAdder dispatchNanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+        {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * The counters of one player
+     */
+    private static final class PlayerCounters {
+        private final LongAdder sentPackets = new LongAdder();
+        private final LongAdder receivedPackets = new LongAdder();
+        private final LongAdder sentBytes = new LongAdder();
+    }
+
+    /**
+     * A snapshot of the recorded data for a packet class
+     */
+    public static final class PacketTypeStatistics {
+
+        private final String packet;
+        private final ConnectionDirection direction;
+        private final long packets;
+        private final long bytes;
+        private final long dispatches;
+        private final long dispatchNanos;
+        private final long[] histogram;
+
+        /**
+         * @param packet The simple name of the packet class
+         * @param direction The direction the packets travelled
+         * @param counters Its counters
+         */
+        private PacketTypeStatistics(String packet, ConnectionDirection direction, PacketCounters counters) {
+            this.packet = packet;
+            this.direction = direction;
+            this.packets = counters.packets.sum();
+            this.bytes = counters.bytes.sum();
+            this.dispatches = counters.dispatches.sum();
+            this.dispatchNanos = counters.dispatchNanos.sum();
+            this.histogram = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = counters.histogram[i].sum();
+            }
+        }
+
+        /**
+         * @return The simple name of the packet class. Packets sent already encoded, e.g. by
+         * {@link Packet#broadcast(java.util.Collection)}, are grouped under a placeholder.
+         */
+        public String getPacket() {
+            return packet;
+        }
+
+        /**
+         * @return The direction the packets travelled
+         */
+        public ConnectionDirection getDirection() {
+            return direction;
+        }
+
+        /**
+         * @return The amount of packets
+         */
+        public long getPackets() {
+            return packets;
+        }
+
+        /**
+         * @return The total size of the sent packets on the wire. 0 for received packets.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return The amount of packets passed to at least one listener
+         */
+        public long getDispatches() {
+            return dispatches;
+        }
+
+        /**
+         * @return The total time the listeners took, in nanoseconds
+         */
+        public long getDispatchNanos() {
+            return dispatchNanos;
+        }
+
+        /**
+         * Returns the histogram of the dispatch times
+         * <p>
+         * Bucket {@code i} counts the dispatches that took less than
+         * {@link #getBucketUpperBoundMicros(int)} microseconds, but not less than the bound of the previous one.
+         *
+         * @return The amount of dispatches per bucket. A copy.
+         */
+        public long[] getHistogram() {
+            return histogram.clone();
+        }
+    }
+
+    /**
+     * A snapshot of the recorded data for a player
+     */
+    public static final class PlayerStatistics {
+
+        private final String player;
+        private final long sentPackets;
+        private final long receivedPackets;
+        private final long sentBytes;
+
+        /**
+         * @param player The name of the player
+         * @param counters Its counters
+         */
+        private PlayerStatistics(String player, PlayerCounters counters) {
+            this.player = player;
+            this.sentPackets = counters.sentPackets.sum();
+            this.receivedPackets = counters.receivedPackets.sum();
+            this.sentBytes = counters.sentBytes.sum();
+        }
+
+        /**
+         * @return The name of the player. Connections that did not join yet are grouped under a placeholder.
+         */
+        public String getPlayer() {
+            return player;
+        }
+
+        /**
+         * @return The amount of packets sent to the player
+         */
+        public long getSentPackets() {
+            return sentPackets;
+        }
+
+        /**
+         * @return The amount of packets received from the player
+         */
+        public long getReceivedPackets() {
+            return receivedPackets;
+        }
+
+        /**
+         * @return The total size of the packets sent to the player, on the wire
+         */
+        public long getSentBytes() {
+            return sentBytes;
+        }
+    }
+}
@@ -1,20 +1,136 @@
 package me.ialistannen.bukkitutilities.packet;
 
-import com.google.common.base.Charsets;
+import java.util.UUID;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+import io.netty.util.CharsetUtil;
 
 /**
  * Utilities to ease the working with packets
+ * <p>
+ * The methods read from and write to the {@link ByteBuf} directly, without intermediate arrays. Strings are
+ * decoded from and encoded into the buffer, slices are views sharing the content of the buffer.
+ * <p>
+ * All methods move the reader or writer index. Use {@link ByteBuf#duplicate()} to read a buffer, that is
+ * read by someone else too.
  */
+@SuppressWarnings({"WeakerAccess", "unused"})
 public class PacketUtilities {
 
     /**
-     * Reads a String
+     * The maximum length of a String in a packet, in characters
+     */
+    public static final int MAX_STRING_LENGTH = 32767;
+
+    // <editor-fold desc="VarInt and VarLong">
+
+    /**
+     * Reads an integer of variable length
+     * <p>
+     * Code taken from Mojang's PacketDataSerializer
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read integer
+     */
+    public static int readVarInt(ByteBuf byteBuf) {
+        int i = 0;
+        int j = 0;
+
+        byte b0;
+        do {
+            b0 = byteBuf.readByte();
+            i |= (b0 & 127) << j++ * 7;
+            if (j > 5) {
+                throw new RuntimeException("VarInt too big");
+            }
+        } while ((b0 & 128) == 128);
+
+        return i;
+    }
+
+    /**
+     * Writes an integer of variable length
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param value The integer to write
+     */
+    public static void writeVarInt(ByteBuf byteBuf, int value) {
+        int remaining = value;
+        while ((remaining & -128) != 0) {
+            byteBuf.writeByte(remaining & 127 | 128);
+            remaining >>>= 7;
+        }
+        byteBuf.writeByte(remaining);
+    }
+
+    /**
+     * Returns the amount of bytes an integer of variable length needs
+     *
+     * @param value The integer
+     *
+     * @return The amount of bytes, between 1 and 5
+     */
+    public static int getVarIntSize(int value) {
+        for (int size = 1; size < 5; size++) {
+            if ((value & -1 << size * 7) == 0) {
+                return size;
+            }
+        }
+        return 5;
+    }
+
+    /**
+     * Reads a long of variable length
      * <p>
      * Code taken from Mojang's PacketDataSerializer
      *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read long
+     */
+    public static long readVarLong(ByteBuf byteBuf) {
+        long i = 0;
+        int j = 0;
+
+        byte b0;
+        do {
+            b0 = byteBuf.readByte();
+            i |= (long) (b0 & 127) << j++ * 7;
+            if (j > 10) {
+                throw new RuntimeException("VarLong too big");
+            }
+        } while ((b0 & 128) == 128);
+
+        return i;
+    }
+
+    /**
+     * Writes a long of variable length
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param value The long to write
+     */
+    public static void writeVarLong(ByteBuf byteBuf, long value) {
+        long remaining = value;
+        while ((remaining & -128L) != 0) {
+            byteBuf.writeByte((int) (remaining & 127) | 128);
+            remaining >>>= 7;
+        }
+        byteBuf.writeByte((int) remaining);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Strings">
+
+    /**
+     * Reads a String
+     * <p>
+     * Code taken from Mojang's PacketDataSerializer. The String is decoded directly from the buffer.
+     *
      * @param maxLength The maximum length of the String. Will be multiplied by 4 to get the bytes, so make sure
      * that
      * number fits into an integer too!
@@ -22,7 +138,6 @@ public class PacketUtilities {
      *
      * @return The read String
      */
-    @SuppressWarnings("unused")
     public static String readString(int maxLength, ByteBuf byteBuf) {
         int stringByteLength = readVarInt(byteBuf);
         if (stringByteLength > maxLength * 4) {
@@ -35,8 +150,15 @@ public class PacketUtilities {
             throw new DecoderException("The received encoded string buffer length is less than zero! Weird " +
                     "string!");
         }
+        else if (stringByteLength > byteBuf.readableBytes()) {
+            throw new DecoderException(
+                    "The received encoded string buffer length is longer than the buffer (" +
+                            stringByteLength + " > " + byteBuf.readableBytes() + ")"
+            );
+        }
         else {
-            String string = new String(byteBuf.readBytes(stringByteLength).array(), Charsets.UTF_8);
+            String string = byteBuf.toString(byteBuf.readerIndex(), stringByteLength, CharsetUtil.UTF_8);
+            byteBuf.skipBytes(stringByteLength);
             if (string.length() > maxLength) {
                 throw new DecoderException(
                         "The received string length is longer than maximum allowed (" +
@@ -50,28 +172,243 @@ public class PacketUtilities {
     }
 
     /**
-     * Reads an integer of variable length
-     * <p>
-     * Code taken from Mojang's PacketDataSerializer
+     * Reads a String of at most {@link #MAX_STRING_LENGTH} characters
      *
      * @param byteBuf The ByteBuf to read from
      *
-     * @return The read integer
+     * @return The read String
+     *
+     * @see #readString(int, ByteBuf)
      */
-    @SuppressWarnings("WeakerAccess")
-    public static int readVarInt(ByteBuf byteBuf) {
-        int i = 0;
-        int j = 0;
+    public static String readString(ByteBuf byteBuf) {
+        return readString(MAX_STRING_LENGTH, byteBuf);
+    }
 
-        byte b0;
-        do {
-            b0 = byteBuf.readByte();
-            i |= (b0 & 127) << j++ * 7;
-            if (j > 5) {
-                throw new RuntimeException("VarInt too big");
+    /**
+     * Writes a String, prefixed with its length in bytes
+     * <p>
+     * The String is encoded directly into the buffer.
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param string The String to write
+     * @param maxLength The maximum length of the String
+     *
+     * @throws EncoderException if the String is longer than maxLength
+     */
+    public static void writeString(ByteBuf byteBuf, String string, int maxLength) {
+        if (string.length() > maxLength) {
+            throw new EncoderException(
+                    "String too big (was " + string.length() + " characters, max " + maxLength + ")"
+            );
+        }
+        writeVarInt(byteBuf, getUtf8Length(string));
+        ByteBufUtil.writeUtf8(byteBuf, string);
+    }
+
+    /**
+     * Writes a String of at most {@link #MAX_STRING_LENGTH} characters, prefixed with its length in bytes
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param string The String to write
+     *
+     * @throws EncoderException if the String is longer than {@link #MAX_STRING_LENGTH}
+     * @see #writeString(ByteBuf, String, int)
+     */
+    public static void writeString(ByteBuf byteBuf, String string) {
+        writeString(byteBuf, string, MAX_STRING_LENGTH);
+    }
+
+    /**
+     * Returns the amount of bytes a String needs in UTF-8, without encoding it
+     * <p>
+     * Unpaired surrogates are counted like {@link ByteBufUtil#writeUtf8(ByteBuf, CharSequence)} writes them:
+     * a '?' for a single one. A high surrogate followed by anything but a low surrogate consumes that character
+     * too and is written as two bytes.
+     *
+     * @param string The String
+     *
+     * @return The length of the String in UTF-8
+     */
+    public static int getUtf8Length(CharSequence string) {
+        int length = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
             }
-        } while ((b0 & 128) == 128);
+            else if (c < 0x800) {
+                length += 2;
+            }
+            else if (!Character.isSurrogate(c)) {
+                length += 3;
+            }
+            else if (!Character.isHighSurrogate(c) || i + 1 == string.length()) {
+                length++;
+            }
+            else {
+                // Netty consumes the next character in any case
+                i++;
+                length += Character.isLowSurrogate(string.charAt(i)) ? 4 : 2;
+            }
+        }
+        return length;
+    }
+    // </editor-fold>
 
-        return i;
+    // <editor-fold desc="Fixed size types">
+
+    /**
+     * Reads a {@link UUID}, as two longs
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The read UUID
+     */
+    public static UUID readUUID(ByteBuf byteBuf) {
+        return new UUID(byteBuf.readLong(), byteBuf.readLong());
+    }
+
+    /**
+     * Writes a {@link UUID}, as two longs
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param uuid The UUID to write
+     */
+    public static void writeUUID(ByteBuf byteBuf, UUID uuid) {
+        byteBuf.writeLong(uuid.getMostSignificantBits());
+        byteBuf.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Reads a block position. Use {@link #getPositionX(long)} and friends to unpack it.
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The packed block position
+     */
+    public static long readBlockPosition(ByteBuf byteBuf) {
+        return byteBuf.readLong();
+    }
+
+    /**
+     * Writes a block position
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     */
+    public static void writeBlockPosition(ByteBuf byteBuf, int x, int y, int z) {
+        byteBuf.writeLong(packBlockPosition(x, y, z));
+    }
+
+    /**
+     * Packs a block position like the BlockPosition of the server: 26 bits x, 12 bits y and 26 bits z
+     *
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param z The z coordinate
+     *
+     * @return The packed block position
+     */
+    public static long packBlockPosition(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFF) << 38 | ((long) y & 0xFFF) << 26 | (long) z & 0x3FFFFFF;
+    }
+
+    /**
+     * @param position The packed block position
+     *
+     * @return The x coordinate
+     */
+    public static int getPositionX(long position) {
+        return (int) (position >> 38);
+    }
+
+    /**
+     * @param position The packed block position
+     *
+     * @return The y coordinate
+     */
+    public static int getPositionY(long position) {
+        return (int) (position << 26 >> 52);
+    }
+
+    /**
+     * @param position The packed block position
+     *
+     * @return The z coordinate
+     */
+    public static int getPositionZ(long position) {
+        return (int) (position << 38 >> 38);
+    }
+
+    /**
+     * Reads an angle, stored in steps of 1/256 of a full turn
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return The angle in degrees, between 0 (inclusive) and 360 (exclusive)
+     */
+    public static float readAngle(ByteBuf byteBuf) {
+        return byteBuf.readUnsignedByte() * 360 / 256F;
+    }
+
+    /**
+     * Writes an angle, stored in steps of 1/256 of a full turn
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param degrees The angle in degrees. Wrapped to a full turn.
+     */
+    public static void writeAngle(ByteBuf byteBuf, float degrees) {
+        byteBuf.writeByte((int) (degrees * 256 / 360F));
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Slices">
+
+    /**
+     * Reads a byte array prefixed with its length, as a view on the buffer
+     *
+     * @param byteBuf The ByteBuf to read from
+     * @param maxLength The maximum length of the array
+     *
+     * @return A slice sharing the content of the buffer. Not retained, valid as long as the buffer is.
+     *
+     * @throws DecoderException if the length is negative or bigger than maxLength or the buffer
+     */
+    public static ByteBuf readPrefixedSlice(ByteBuf byteBuf, int maxLength) {
+        int length = readVarInt(byteBuf);
+        if (length < 0 || length > maxLength || length > byteBuf.readableBytes()) {
+            throw new DecoderException(
+                    "Invalid byte array length " + length + " (max " + maxLength
+                            + ", readable " + byteBuf.readableBytes() + ")"
+            );
+        }
+        return byteBuf.readSlice(length);
+    }
+
+    /**
+     * Writes a byte array prefixed with its length
+     *
+     * @param byteBuf The ByteBuf to write to
+     * @param data The data to write. All readable bytes are written, its reader index is not changed.
+     */
+    public static void writePrefixed(ByteBuf byteBuf, ByteBuf data) {
+        writeVarInt(byteBuf, data.readableBytes());
+        byteBuf.writeBytes(data, data.readerIndex(), data.readableBytes());
+    }
+
+    /**
+     * Reads all remaining bytes, as a view on the buffer
+     * <p>
+     * Useful for the payload of custom payload packets, which is not length prefixed.
+     *
+     * @param byteBuf The ByteBuf to read from
+     *
+     * @return A slice sharing the content of the buffer. Not retained, valid as long as the buffer is.
+     */
+    public static ByteBuf readRemainingSlice(ByteBuf byteBuf) {
+        return byteBuf.readSlice(byteBuf.readableBytes());
     }
+    // </editor-fold>
 }
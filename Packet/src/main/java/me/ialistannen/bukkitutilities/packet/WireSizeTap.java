@@ -0,0 +1,44 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Sits at the head of the pipeline and records the size of the sent packets for the {@link PacketStatistics}
+ * <p>
+ * The size is measured after encoding, compression and encryption, as the packets go to the wire. The
+ * packet class is taken from the {@link PacketInjector}, as the handlers in between run in the same call.
+ * It is only in the pipeline while the statistics are enabled.
+ */
+class WireSizeTap extends ChannelOutboundHandlerAdapter {
+
+    private final PacketInjector injector;
+
+    /**
+     * @param injector The injector of the channel
+     */
+    WireSizeTap(PacketInjector injector) {
+        this.injector = injector;
+    }
+
+    /**
+     * @return The injector of the channel
+     */
+    PacketInjector getInjector() {
+        return injector;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (PacketStatistics.isEnabled() && msg instanceof ByteBuf) {
+            PacketStatistics.recordBytes(
+                    injector.getPlayerName(),
+                    injector.getWrittenPacketClass(),
+                    ((ByteBuf) msg).readableBytes()
+            );
+        }
+        super.write(ctx, msg, promise);
+    }
+}
@@ -0,0 +1,238 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+
+/**
+ * Batches the flushes of the channels this module sends packets to during a tick, flushing every channel
+ * only once.
+ * <p>
+ * When enabled, a channel a packet is sent to from the main thread is marked for the rest of the tick. The
+ * packet is still sent through the {@code PlayerConnection}, so nothing the server does for it is skipped,
+ * but a {@link FlushBatcher} at the end of the pipeline holds back the flushes of marked channels. A task
+ * flushes all marked channels once per tick, which saves a syscall for every further packet of a player in
+ * that tick. A channel is flushed earlier when the amount of held back flushes reaches the threshold.
+ * <p>
+ * While a channel is marked, the flushes of the packets the server sends to it are held back as well.
+ * Bukkit tasks run at the start of a tick, so a packet is delayed by at most one tick.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class WriteBatcher {
+
+    private static final Logger LOGGER = Logger.getLogger("WriteBatcher");
+
+    private static final String HANDLER_NAME = "bukkitUtilsBatcher";
+
+    /**
+     * The channels marked during this tick. Only accessed on the main thread.
+     */
+    private static final Map<Channel, FlushBatcher> MARKED = new HashMap<>();
+
+    private static final LongAdder HELD_FLUSHES = new LongAdder();
+    private static final LongAdder FLUSHES = new LongAdder();
+    private static final LongAdder THRESHOLD_FLUSHES = new LongAdder();
+
+    private static volatile boolean enabled;
+    private static int flushThreshold;
+    private static BukkitTask flushTask;
+
+    private WriteBatcher() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * Starts batching the writes. Must be called on the main thread.
+     *
+     * @param plugin The plugin to run the flush task for
+     * @param flushThreshold The amount of held back flushes after which a channel is flushed right away
+     *
+     * @throws NullPointerException     if plugin is null
+     * @throws IllegalArgumentException if flushThreshold is smaller than 1
+     */
+    public static synchronized void enable(Plugin plugin, int flushThreshold) {
+        Objects.requireNonNull(plugin, "plugin can not be null");
+        if (flushThreshold < 1) {
+            throw new IllegalArgumentException("flushThreshold must be at least 1, was " + flushThreshold);
+        }
+
+        // handlers added before still use the old threshold
+        flushAll();
+        removeHandlers();
+
+        WriteBatcher.flushThreshold = flushThreshold;
+        if (flushTask == null) {
+            flushTask = Bukkit.getScheduler().runTaskTimer(plugin, WriteBatcher::flushAll, 1, 1);
+        }
+        enabled = true;
+    }
+
+    /**
+     * Stops batching the writes and flushes all held back packets. Must be called on the main thread.
+     */
+    public static synchronized void disable() {
+        enabled = false;
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flushAll();
+        removeHandlers();
+    }
+
+    /**
+     * @return True if the writes are batched
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The amount of flushes requested for marked channels. They were held back and issued together.
+     */
+    public static long getHeldFlushes() {
+        return HELD_FLUSHES.sum();
+    }
+
+    /**
+     * @return The amount of flushes issued for the held back ones
+     */
+    public static long getFlushes() {
+        return FLUSHES.sum();
+    }
+
+    /**
+     * @return The amount of flushes issued because a channel reached the threshold
+     */
+    public static long getThresholdFlushes() {
+        return THRESHOLD_FLUSHES.sum();
+    }
+
+    /**
+     * @return The amount of flushes saved compared to flushing after every packet
+     */
+    public static long getSavedFlushes() {
+        return Math.max(0, getHeldFlushes() - getFlushes());
+    }
+
+    /**
+     * Resets the metrics
+     */
+    public static void resetStatistics() {
+        HELD_FLUSHES.reset();
+        FLUSHES.reset();
+        THRESHOLD_FLUSHES.reset();
+    }
+
+    /**
+     * Marks a channel, so the flushes of the packets sent to it in this tick are batched. Call it before
+     * sending the packets.
+     * <p>
+     * Does nothing if batching is disabled or this is not the main thread.
+     *
+     * @param channel The channel the packets are sent to
+     *
+     * @return True if the channel is marked
+     */
+    static boolean mark(Channel channel) {
+        if (!enabled || !Bukkit.isPrimaryThread() || !channel.isOpen()) {
+            return false;
+        }
+
+        FlushBatcher batcher = MARKED.get(channel);
+        if (batcher == null) {
+            batcher = getOrAddBatcher(channel);
+            if (batcher == null) {
+                return false;
+            }
+            MARKED.put(channel, batcher);
+        }
+        // the flush of the last tick may have cleared it after it was put in the map
+        batcher.mark();
+        return true;
+    }
+
+    /**
+     * Counts a flush requested for a marked channel. Called on the event loops.
+     */
+    static void recordHeldFlush() {
+        HELD_FLUSHES.increment();
+    }
+
+    /**
+     * Counts a flush issued for a marked channel. Called on the event loops.
+     *
+     * @param threshold True if the threshold was reached
+     */
+    static void recordFlush(boolean threshold) {
+        FLUSHES.increment();
+        if (threshold) {
+            THRESHOLD_FLUSHES.increment();
+        }
+    }
+
+    /**
+     * @param channel The channel
+     *
+     * @return The {@link FlushBatcher} of the channel or null if it couldn't be added
+     */
+    private static FlushBatcher getOrAddBatcher(Channel channel) {
+        ChannelHandler handler = channel.pipeline().get(HANDLER_NAME);
+        if (handler == null) {
+            FlushBatcher batcher = new FlushBatcher(flushThreshold);
+            try {
+                // behind the NetworkManager, so it sees every flush coming from the tail
+                channel.pipeline().addLast(HANDLER_NAME, batcher);
+                return batcher;
+            } catch (IllegalArgumentException e) {
+                // added concurrently
+                handler = channel.pipeline().get(HANDLER_NAME);
+            }
+        }
+        return handler instanceof FlushBatcher ? (FlushBatcher) handler : null;
+    }
+
+    /**
+     * Flushes all marked channels
+     */
+    private static void flushAll() {
+        if (MARKED.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<Channel, FlushBatcher> entry : MARKED.entrySet()) {
+            if (entry.getKey().isOpen()) {
+                // queued behind the writes of this tick
+                entry.getKey().eventLoop().execute(entry.getValue()::flushBatch);
+            }
+        }
+        MARKED.clear();
+    }
+
+    /**
+     * Removes the {@link FlushBatcher}s from the channels of all online players. They flush what they
+     * held back.
+     */
+    private static void removeHandlers() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            try {
+                Channel channel = PacketSender.getInstance().getChannel(player);
+                if (channel != null && channel.pipeline().get(HANDLER_NAME) != null) {
+                    channel.pipeline().remove(HANDLER_NAME);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Couldn't remove the flush batcher of " + player.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Packet Accessors class
+ */
+public class PacketAccessorsTest {
+
+    @Test
+    void indices() {
+        PacketAccessors accessors = PacketAccessors.of(FakePacket.class);
+
+        Assertions.assertEquals(3, accessors.getFields().size());
+        Assertions.assertEquals(0, accessors.indexOf("number"));
+        Assertions.assertEquals(2, accessors.indexOf("name"));
+        Assertions.assertEquals(-1, accessors.indexOf("CONSTANT"));
+        Assertions.assertFalse(accessors.isValidIndex(3));
+        Assertions.assertSame(accessors, PacketAccessors.of(FakePacket.class));
+    }
+
+    @Test
+    void getAndSet() {
+        PacketAccessors accessors = PacketAccessors.of(FakePacket.class);
+        FakePacket packet = new FakePacket();
+
+        Assertions.assertTrue(accessors.set(0, packet, 5).isSuccessful());
+        Assertions.assertTrue(accessors.set(2, packet, "test").isSuccessful());
+        Assertions.assertTrue(accessors.set(2, packet, null).isSuccessful());
+
+        Assertions.assertEquals(5, packet.number);
+        Assertions.assertNull(packet.name);
+        Assertions.assertEquals(5, accessors.get(0, packet).getValue());
+    }
+
+    @Test
+    void widening() {
+        PacketAccessors accessors = PacketAccessors.of(FakePacket.class);
+        FakePacket packet = new FakePacket();
+
+        // Field#set allowed these before the accessors were compiled
+        Assertions.assertTrue(accessors.set(0, packet, (byte) 3).isSuccessful());
+        Assertions.assertTrue(accessors.set(1, packet, 'a').isSuccessful());
+
+        Assertions.assertEquals(3, packet.number);
+        Assertions.assertEquals('a', packet.big);
+    }
+
+    @Test
+    void notFitting() {
+        PacketAccessors accessors = PacketAccessors.of(FakePacket.class);
+        FakePacket packet = new FakePacket();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessors.set(0, packet, 5L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessors.set(0, packet, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> accessors.set(2, packet, 5));
+    }
+
+    @SuppressWarnings("unused")
+    private static class FakePacket {
+        private static final int CONSTANT = 1;
+
+        private int number;
+        private long big;
+        private String name;
+    }
+}
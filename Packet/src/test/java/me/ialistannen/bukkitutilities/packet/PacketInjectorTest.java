@@ -0,0 +1,189 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+import me.ialistannen.bukkitutilities.packet.PacketListenerRegistryTest.BasePacket;
+import me.ialistannen.bukkitutilities.packet.PacketListenerRegistryTest.OtherPacket;
+
+/**
+ * Tests the merging of the global and the player listeners in the Packet Injector class
+ */
+public class PacketInjectorTest {
+
+    private static final EnumSet<ConnectionDirection> BOTH = EnumSet.allOf(ConnectionDirection.class);
+
+    @Test
+    void globalBeforeLocal() throws Exception {
+        List<String> calls = new ArrayList<>();
+        PacketListenerRegistry global = new PacketListenerRegistry();
+        global.add(new RecordingListener("global", calls), BOTH, Collections.emptySet());
+        PacketInjector injector = new PacketInjector((Channel) null, global);
+        injector.addPacketListener(new RecordingListener("local", calls));
+
+        injector.channelRead(context(new ArrayList<>()), new BasePacket());
+        injector.write(context(new ArrayList<>()), new BasePacket(), null);
+
+        Assertions.assertEquals(
+                Arrays.asList("global receive", "local receive", "global send", "local send"),
+                calls
+        );
+    }
+
+    @Test
+    void globalAndLocalCalledOnce() throws Exception {
+        List<String> calls = new ArrayList<>();
+        RecordingListener listener = new RecordingListener("both", calls);
+        PacketListenerRegistry global = new PacketListenerRegistry();
+        global.add(listener, BOTH, Collections.emptySet());
+        PacketInjector injector = new PacketInjector((Channel) null, global);
+        injector.addPacketListener(listener);
+        injector.addPacketListener(new RecordingListener("local", calls));
+
+        injector.channelRead(context(new ArrayList<>()), new BasePacket());
+        injector.write(context(new ArrayList<>()), new BasePacket(), null);
+
+        Assertions.assertEquals(
+                Arrays.asList("both receive", "local receive", "both send", "local send"),
+                calls
+        );
+    }
+
+    @Test
+    void filtersPerRegistry() throws Exception {
+        List<String> calls = new ArrayList<>();
+        PacketListenerRegistry global = new PacketListenerRegistry();
+        global.add(
+                new RecordingListener("global", calls),
+                EnumSet.of(ConnectionDirection.TO_SERVER),
+                PacketListenerRegistryTest.classes(BasePacket.class)
+        );
+        PacketInjector injector = new PacketInjector((Channel) null, global);
+        injector.addPacketListener(
+                new RecordingListener("local", calls),
+                EnumSet.of(ConnectionDirection.TO_CLIENT),
+                Collections.emptySet()
+        );
+
+        Assertions.assertTrue(injector.isListening(BasePacket.class, ConnectionDirection.TO_SERVER));
+        Assertions.assertFalse(injector.isListening(OtherPacket.class, ConnectionDirection.TO_SERVER));
+        Assertions.assertTrue(injector.isListening(OtherPacket.class, ConnectionDirection.TO_CLIENT));
+
+        injector.channelRead(context(new ArrayList<>()), new OtherPacket());
+        injector.write(context(new ArrayList<>()), new OtherPacket(), null);
+
+        Assertions.assertEquals(Collections.singletonList("local send"), calls);
+    }
+
+    @Test
+    void cancelledByGlobal() throws Exception {
+        List<String> calls = new ArrayList<>();
+        List<Object> forwarded = new ArrayList<>();
+        PacketListenerRegistry global = new PacketListenerRegistry();
+        global.add(new CancellingListener(), BOTH, Collections.emptySet());
+        PacketInjector injector = new PacketInjector((Channel) null, global);
+        injector.addPacketListener(new RecordingListener("local", calls));
+
+        injector.channelRead(context(forwarded), new BasePacket());
+
+        // the player listeners still see the cancelled packet, but it is dropped
+        Assertions.assertEquals(Collections.singletonList("local receive"), calls);
+        Assertions.assertTrue(forwarded.isEmpty());
+    }
+
+    @Test
+    void forwardsWithoutListeners() throws Exception {
+        List<Object> forwarded = new ArrayList<>();
+        PacketInjector injector = new PacketInjector((Channel) null, new PacketListenerRegistry());
+        BasePacket packet = new BasePacket();
+
+        injector.channelRead(context(forwarded), packet);
+        injector.write(context(forwarded), packet, null);
+
+        Assertions.assertEquals(Arrays.asList(packet, packet), forwarded);
+    }
+
+    @Test
+    void removingLocalKeepsGlobal() throws Exception {
+        List<String> calls = new ArrayList<>();
+        PacketListenerRegistry global = new PacketListenerRegistry();
+        global.add(new RecordingListener("global", calls), BOTH, Collections.emptySet());
+        PacketInjector injector = new PacketInjector((Channel) null, global);
+        injector.addPacketListener(new RecordingListener("local", calls));
+        Assertions.assertEquals(1, injector.getListenerAmount());
+
+        injector.removeAllPacketListeners();
+        injector.channelRead(context(new ArrayList<>()), new BasePacket());
+
+        Assertions.assertEquals(0, injector.getListenerAmount());
+        Assertions.assertEquals(Collections.singletonList("global receive"), calls);
+    }
+
+    /**
+     * @param forwarded The list to add the packets passed on to the next handler to
+     *
+     * @return A context recording the packets passed on by the handler
+     */
+    private static ChannelHandlerContext context(List<Object> forwarded) {
+        return (ChannelHandlerContext) Proxy.newProxyInstance(
+                PacketInjectorTest.class.getClassLoader(),
+                new Class<?>[]{ChannelHandlerContext.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("fireChannelRead") || method.getName().equals("write")) {
+                        forwarded.add(args[0]);
+                    }
+                    return method.getReturnType() == boolean.class ? false : null;
+                }
+        );
+    }
+
+    /**
+     * Records its calls
+     */
+    private static class RecordingListener implements PacketListener {
+
+        private final String name;
+        private final List<String> calls;
+
+        private RecordingListener(String name, List<String> calls) {
+            this.name = name;
+            this.calls = calls;
+        }
+
+        @Override
+        public void onPacketReceived(PacketEvent event) {
+            calls.add(name + " receive");
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent event) {
+            calls.add(name + " send");
+        }
+    }
+
+    /**
+     * Cancels every packet
+     */
+    private static class CancellingListener implements PacketListener {
+
+        @Override
+        public void onPacketReceived(PacketEvent event) {
+            event.setCancelled(true);
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent event) {
+            event.setCancelled(true);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+
+/**
+ * Tests the Packet Listener Registry class
+ */
+public class PacketListenerRegistryTest {
+
+    private static final Set<ConnectionDirection> BOTH = EnumSet.allOf(ConnectionDirection.class);
+
+    @Test
+    void empty() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+
+        Assertions.assertTrue(registry.isEmpty());
+        Assertions.assertEquals(0, registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT).length);
+    }
+
+    @Test
+    void directionFilter() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener sending = new NoOpListener();
+        PacketListener receiving = new NoOpListener();
+        PacketListener none = new NoOpListener();
+        registry.add(sending, EnumSet.of(ConnectionDirection.TO_CLIENT), Collections.emptySet());
+        registry.add(receiving, EnumSet.of(ConnectionDirection.TO_SERVER), Collections.emptySet());
+        registry.add(none, EnumSet.noneOf(ConnectionDirection.class), Collections.emptySet());
+
+        Assertions.assertArrayEquals(
+                new PacketListener[]{sending},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT)
+        );
+        Assertions.assertArrayEquals(
+                new PacketListener[]{receiving},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_SERVER)
+        );
+        Assertions.assertEquals(3, registry.size());
+    }
+
+    @Test
+    void subclassMatching() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener base = new NoOpListener();
+        PacketListener sub = new NoOpListener();
+        PacketListener all = new NoOpListener();
+        registry.add(base, BOTH, classes(BasePacket.class));
+        registry.add(sub, BOTH, classes(SubPacket.class));
+        registry.add(all, BOTH, Collections.emptySet());
+
+        Assertions.assertArrayEquals(
+                new PacketListener[]{base, sub, all},
+                registry.getListeners(SubPacket.class, ConnectionDirection.TO_CLIENT)
+        );
+        Assertions.assertArrayEquals(
+                new PacketListener[]{base, all},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT)
+        );
+        Assertions.assertArrayEquals(
+                new PacketListener[]{all},
+                registry.getListeners(OtherPacket.class, ConnectionDirection.TO_SERVER)
+        );
+    }
+
+    @Test
+    void deduplicates() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener listener = new NoOpListener();
+        registry.add(listener, BOTH, classes(BasePacket.class));
+        registry.add(listener, BOTH, classes(SubPacket.class));
+
+        // called once, even though two registrations match
+        Assertions.assertArrayEquals(
+                new PacketListener[]{listener},
+                registry.getListeners(SubPacket.class, ConnectionDirection.TO_CLIENT)
+        );
+        Assertions.assertEquals(2, registry.size());
+
+        // remove drops all registrations of the listener
+        registry.remove(listener);
+        Assertions.assertTrue(registry.isEmpty());
+    }
+
+    @Test
+    void cacheInvalidation() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener first = new NoOpListener();
+        PacketListener second = new NoOpListener();
+        registry.add(first, BOTH, classes(BasePacket.class));
+
+        PacketListener[] cached = registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT);
+        Assertions.assertSame(cached, registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT));
+
+        registry.add(second, BOTH, classes(BasePacket.class));
+        Assertions.assertArrayEquals(
+                new PacketListener[]{first, second},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT)
+        );
+
+        registry.remove(first);
+        Assertions.assertArrayEquals(
+                new PacketListener[]{second},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT)
+        );
+
+        registry.clear();
+        Assertions.assertEquals(0, registry.getListeners(BasePacket.class, ConnectionDirection.TO_CLIENT).length);
+    }
+
+    @Test
+    void copiesFilters() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener listener = new NoOpListener();
+        Set<Class<?>> packetClasses = classes(BasePacket.class);
+        registry.add(listener, BOTH, packetClasses);
+
+        packetClasses.clear();
+        Assertions.assertEquals(0, registry.getListeners(OtherPacket.class, ConnectionDirection.TO_CLIENT).length);
+    }
+
+    @Test
+    void publishedArraysAreNotModified() {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener first = new NoOpListener();
+        PacketListener second = new NoOpListener();
+        registry.add(first, BOTH, Collections.emptySet());
+
+        // a dispatch still iterating the old array must not see the changes
+        PacketListener[] old = registry.getListeners(BasePacket.class, ConnectionDirection.TO_SERVER);
+        registry.add(second, BOTH, Collections.emptySet());
+        registry.remove(first);
+
+        Assertions.assertArrayEquals(new PacketListener[]{first}, old);
+        Assertions.assertArrayEquals(
+                new PacketListener[]{second},
+                registry.getListeners(BasePacket.class, ConnectionDirection.TO_SERVER)
+        );
+    }
+
+    @Test
+    void concurrentReaders() throws InterruptedException {
+        PacketListenerRegistry registry = new PacketListenerRegistry();
+        PacketListener stable = new NoOpListener();
+        registry.add(stable, BOTH, Collections.emptySet());
+
+        AtomicReference<String> error = new AtomicReference<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                PacketListener[] listeners = registry.getListeners(SubPacket.class, ConnectionDirection.TO_CLIENT);
+                // every published state has the stable listener first and at most one other
+                if (listeners.length < 1 || listeners.length > 2 || listeners[0] != stable) {
+                    error.set("Saw an inconsistent state: " + Arrays.toString(listeners));
+                }
+            }
+        });
+        reader.start();
+
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                PacketListener changing = new NoOpListener();
+                registry.add(changing, BOTH, classes(BasePacket.class));
+                registry.remove(changing);
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        Assertions.assertNull(error.get());
+        Assertions.assertEquals(1, registry.size());
+    }
+
+    /**
+     * @param classes The packet classes
+     *
+     * @return A mutable set with the classes
+     */
+    static Set<Class<?>> classes(Class<?>... classes) {
+        Set<Class<?>> set = new HashSet<>();
+        Collections.addAll(set, classes);
+        return set;
+    }
+
+    /**
+     * A listener doing nothing, only compared by identity
+     */
+    static class NoOpListener implements PacketListener {
+
+        @Override
+        public void onPacketReceived(PacketEvent event) {
+        }
+
+        @Override
+        public void onPacketSend(PacketEvent event) {
+        }
+    }
+
+    static class BasePacket {
+    }
+
+    static class SubPacket extends BasePacket {
+    }
+
+    static class OtherPacket {
+    }
+}
@@ -0,0 +1,151 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.packet.PacketEvent.ConnectionDirection;
+import me.ialistannen.bukkitutilities.packet.PacketStatistics.PacketTypeStatistics;
+import me.ialistannen.bukkitutilities.packet.PacketStatistics.PlayerStatistics;
+
+/**
+ * Tests the Packet Statistics class
+ */
+public class PacketStatisticsTest {
+
+    @Test
+    void histogramBuckets() {
+        PacketStatistics.reset();
+        long[] micros = {0, 1, 2, 3, 4, 1000, 16383, 16384, Long.MAX_VALUE / 1000};
+        int[] buckets = {0, 1, 2, 2, 3, 10, 14, 15, 15};
+        for (long value : micros) {
+            PacketStatistics.recordDispatch(FakePacket.class, ConnectionDirection.TO_CLIENT, value * 1000);
+        }
+        // not a full microsecond
+        PacketStatistics.recordDispatch(FakePacket.class, ConnectionDirection.TO_CLIENT, 999);
+
+        long[] expected = new long[PacketStatistics.HISTOGRAM_BUCKETS];
+        for (int bucket : buckets) {
+            expected[bucket]++;
+        }
+        expected[0]++;
+
+        PacketTypeStatistics statistics = single(PacketStatistics.getPacketStatistics());
+        long[] histogram = statistics.getHistogram();
+        for (int i = 0; i < expected.length; i++) {
+            Assertions.assertEquals(expected[i], histogram[i]);
+        }
+        Assertions.assertEquals(micros.length + 1, statistics.getDispatches());
+        Assertions.assertEquals(0, statistics.getPackets());
+        Assertions.assertEquals(ConnectionDirection.TO_CLIENT, statistics.getDirection());
+    }
+
+    @Test
+    void bucketBounds() {
+        for (int bucket = 0; bucket < PacketStatistics.HISTOGRAM_BUCKETS; bucket++) {
+            PacketStatistics.reset();
+            long lowerBound = bucket == 0 ? 0 : PacketStatistics.getBucketUpperBoundMicros(bucket - 1);
+            long upperBound = PacketStatistics.getBucketUpperBoundMicros(bucket);
+
+            PacketStatistics.recordDispatch(
+                    FakePacket.class, ConnectionDirection.TO_SERVER, TimeUnit.MICROSECONDS.toNanos(lowerBound)
+            );
+            if (upperBound != Long.MAX_VALUE) {
+                PacketStatistics.recordDispatch(
+                        FakePacket.class, ConnectionDirection.TO_SERVER, TimeUnit.MICROSECONDS.toNanos(upperBound)
+                );
+            }
+
+            long[] histogram = single(PacketStatistics.getPacketStatistics()).getHistogram();
+            Assertions.assertEquals(1, histogram[bucket]);
+            if (upperBound != Long.MAX_VALUE) {
+                Assertions.assertEquals(1, histogram[bucket + 1]);
+            }
+        }
+        Assertions.assertEquals(Long.MAX_VALUE, PacketStatistics.getBucketUpperBoundMicros(100));
+    }
+
+    @Test
+    void dispatchTime() {
+        PacketStatistics.reset();
+        PacketStatistics.recordDispatch(FakePacket.class, ConnectionDirection.TO_SERVER, 1500);
+        PacketStatistics.recordDispatch(FakePacket.class, ConnectionDirection.TO_SERVER, 500);
+
+        PacketTypeStatistics statistics = single(PacketStatistics.getPacketStatistics());
+        Assertions.assertEquals(2000, statistics.getDispatchNanos());
+        Assertions.assertEquals(ConnectionDirection.TO_SERVER, statistics.getDirection());
+    }
+
+    @Test
+    void preEncodedBytes() {
+        PacketStatistics.reset();
+        PacketStatistics.recordBytes("player", null, 100);
+        PacketStatistics.recordBytes("player", null, 20);
+
+        PacketTypeStatistics statistics = single(PacketStatistics.getPacketStatistics());
+        Assertions.assertEquals("<pre-encoded>", statistics.getPacket());
+        Assertions.assertEquals(2, statistics.getPackets());
+        Assertions.assertEquals(120, statistics.getBytes());
+
+        PlayerStatistics player = single(PacketStatistics.getPlayerStatistics());
+        Assertions.assertEquals("player", player.getPlayer());
+        Assertions.assertEquals(2, player.getSentPackets());
+        Assertions.assertEquals(120, player.getSentBytes());
+    }
+
+    @Test
+    void injectedPacketsCountedOnce() {
+        PacketStatistics.reset();
+        PacketStatistics.recordPacket("player", FakePacket.class, ConnectionDirection.TO_CLIENT);
+        PacketStatistics.recordBytes("player", FakePacket.class, 50);
+        PacketStatistics.recordPacket("player", FakePacket.class, ConnectionDirection.TO_SERVER);
+
+        List<PacketTypeStatistics> packets = PacketStatistics.getPacketStatistics();
+        // no pre-encoded entry without pre-encoded packets
+        Assertions.assertEquals(2, packets.size());
+        for (PacketTypeStatistics statistics : packets) {
+            Assertions.assertEquals("FakePacket", statistics.getPacket());
+            Assertions.assertEquals(1, statistics.getPackets());
+            if (statistics.getDirection() == ConnectionDirection.TO_CLIENT) {
+                Assertions.assertEquals(50, statistics.getBytes());
+            }
+            else {
+                Assertions.assertEquals(0, statistics.getBytes());
+            }
+        }
+
+        PlayerStatistics player = single(PacketStatistics.getPlayerStatistics());
+        Assertions.assertEquals(1, player.getSentPackets());
+        Assertions.assertEquals(1, player.getReceivedPackets());
+        Assertions.assertEquals(50, player.getSentBytes());
+    }
+
+    @Test
+    void forgetPlayer() {
+        PacketStatistics.reset();
+        PacketStatistics.recordBytes("first", null, 10);
+        PacketStatistics.recordBytes("second", null, 20);
+
+        PacketStatistics.forgetPlayer("second");
+
+        Assertions.assertEquals("first", single(PacketStatistics.getPlayerStatistics()).getPlayer());
+        // the packets stay counted
+        Assertions.assertEquals(30, single(PacketStatistics.getPacketStatistics()).getBytes());
+    }
+
+    /**
+     * @param list The list
+     * @param <T> The type of the elements
+     *
+     * @return The only element of the list
+     */
+    private static <T> T single(List<T> list) {
+        Assertions.assertEquals(1, list.size());
+        return list.get(0);
+    }
+
+    private static class FakePacket {
+    }
+}
@@ -0,0 +1,224 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.EncoderException;
+
+/**
+ * Tests the codecs of the Packet Utilities class
+ */
+public class PacketUtilitiesTest {
+
+    @Test
+    void varIntRoundTrip() {
+        int[] values = {0, 1, 127, 128, 255, 16383, 16384, 2097151, 2097152, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        for (int value : values) {
+            ByteBuf buffer = Unpooled.buffer();
+            PacketUtilities.writeVarInt(buffer, value);
+
+            Assertions.assertEquals(PacketUtilities.getVarIntSize(value), buffer.readableBytes());
+            Assertions.assertEquals(value, PacketUtilities.readVarInt(buffer));
+            Assertions.assertEquals(0, buffer.readableBytes());
+        }
+    }
+
+    @Test
+    void varIntSize() {
+        Assertions.assertEquals(1, PacketUtilities.getVarIntSize(0));
+        Assertions.assertEquals(1, PacketUtilities.getVarIntSize(127));
+        Assertions.assertEquals(2, PacketUtilities.getVarIntSize(128));
+        Assertions.assertEquals(2, PacketUtilities.getVarIntSize(16383));
+        Assertions.assertEquals(3, PacketUtilities.getVarIntSize(16384));
+        Assertions.assertEquals(3, PacketUtilities.getVarIntSize(2097151));
+        Assertions.assertEquals(4, PacketUtilities.getVarIntSize(2097152));
+        Assertions.assertEquals(4, PacketUtilities.getVarIntSize(268435455));
+        Assertions.assertEquals(5, PacketUtilities.getVarIntSize(268435456));
+        // negative numbers always need all five bytes
+        Assertions.assertEquals(5, PacketUtilities.getVarIntSize(-1));
+    }
+
+    @Test
+    void varIntTooBig() {
+        ByteBuf buffer = Unpooled.buffer();
+        for (int i = 0; i < 6; i++) {
+            buffer.writeByte(0xFF);
+        }
+
+        Assertions.assertThrows(RuntimeException.class, () -> PacketUtilities.readVarInt(buffer));
+    }
+
+    @Test
+    void varLongRoundTrip() {
+        long[] values = {0, 127, 128, Integer.MAX_VALUE + 1L, Long.MAX_VALUE, Long.MIN_VALUE, -1};
+        for (long value : values) {
+            ByteBuf buffer = Unpooled.buffer();
+            PacketUtilities.writeVarLong(buffer, value);
+
+            Assertions.assertEquals(value, PacketUtilities.readVarLong(buffer));
+            Assertions.assertEquals(0, buffer.readableBytes());
+        }
+
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writeVarLong(buffer, -1);
+        Assertions.assertEquals(10, buffer.readableBytes());
+    }
+
+    @Test
+    void utf8LengthMatchesNetty() {
+        String[] strings = {
+                "", "abc", "\u00E4\u00F6\u00FC", "\u20AC", "\uD83D\uDE00",
+                // unpaired surrogates, which Netty replaces
+                "\uDE00", "a\uD83D", "\uD83Da", "\uD83D\u00E9", "\uD83D\u20AC", "\uD83D\uD83D\uDE00", "\uDE00\uD83D"
+        };
+        for (String string : strings) {
+            int written = ByteBufUtil.writeUtf8(Unpooled.buffer(), string);
+
+            Assertions.assertEquals(written, PacketUtilities.getUtf8Length(string));
+        }
+    }
+
+    @Test
+    void stringRoundTrip() {
+        String[] strings = {"", "Hello", "\u00E4 \u20AC \uD83D\uDE00"};
+        for (String string : strings) {
+            ByteBuf buffer = Unpooled.buffer();
+            PacketUtilities.writeString(buffer, string);
+
+            Assertions.assertEquals(string, PacketUtilities.readString(buffer));
+            Assertions.assertEquals(0, buffer.readableBytes());
+        }
+    }
+
+    @Test
+    void stringPrefixIsByteLength() {
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writeString(buffer, "\u20AC\u20AC");
+
+        Assertions.assertEquals(6, PacketUtilities.readVarInt(buffer));
+        Assertions.assertEquals(6, buffer.readableBytes());
+    }
+
+    @Test
+    void stringLimits() {
+        Assertions.assertThrows(
+                EncoderException.class, () -> PacketUtilities.writeString(Unpooled.buffer(), "too long", 3)
+        );
+
+        ByteBuf tooManyCharacters = Unpooled.buffer();
+        PacketUtilities.writeString(tooManyCharacters, "abcdef");
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readString(5, tooManyCharacters));
+
+        // at most four bytes per character
+        ByteBuf tooManyBytes = Unpooled.buffer();
+        PacketUtilities.writeVarInt(tooManyBytes, 41);
+        tooManyBytes.writeBytes(new byte[41]);
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readString(10, tooManyBytes));
+
+        ByteBuf negative = Unpooled.buffer();
+        PacketUtilities.writeVarInt(negative, -1);
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readString(negative));
+
+        ByteBuf truncated = Unpooled.buffer();
+        PacketUtilities.writeVarInt(truncated, 10);
+        truncated.writeBytes(new byte[3]);
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readString(truncated));
+    }
+
+    @Test
+    void uuidRoundTrip() {
+        UUID uuid = UUID.randomUUID();
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writeUUID(buffer, uuid);
+
+        Assertions.assertEquals(16, buffer.readableBytes());
+        Assertions.assertEquals(uuid, PacketUtilities.readUUID(buffer));
+    }
+
+    @Test
+    void blockPositionSignExtension() {
+        int[][] positions = {
+                {0, 0, 0},
+                {-1, -1, -1},
+                {123, 64, -456},
+                // the limits of 26 and 12 bits
+                {33554431, 2047, 33554431},
+                {-33554432, -2048, -33554432}
+        };
+        for (int[] position : positions) {
+            long packed = PacketUtilities.packBlockPosition(position[0], position[1], position[2]);
+
+            Assertions.assertEquals(position[0], PacketUtilities.getPositionX(packed));
+            Assertions.assertEquals(position[1], PacketUtilities.getPositionY(packed));
+            Assertions.assertEquals(position[2], PacketUtilities.getPositionZ(packed));
+        }
+
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writeBlockPosition(buffer, -5, 200, 7);
+        long read = PacketUtilities.readBlockPosition(buffer);
+        Assertions.assertEquals(-5, PacketUtilities.getPositionX(read));
+        Assertions.assertEquals(200, PacketUtilities.getPositionY(read));
+        Assertions.assertEquals(7, PacketUtilities.getPositionZ(read));
+    }
+
+    @Test
+    void angleWrap() {
+        Assertions.assertEquals(0, angle(0));
+        Assertions.assertEquals(90, angle(90));
+        Assertions.assertEquals(180, angle(180));
+        // a full turn is 256 steps and wraps to 0
+        Assertions.assertEquals(0, angle(360));
+        Assertions.assertEquals(90, angle(450));
+        Assertions.assertEquals(270, angle(-90));
+        Assertions.assertEquals(255 * 360 / 256F, angle(359));
+    }
+
+    @Test
+    void prefixedSlice() {
+        ByteBuf data = Unpooled.buffer();
+        data.writeBytes(new byte[]{1, 2, 3});
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writePrefixed(buffer, data);
+        buffer.writeByte(4);
+
+        Assertions.assertEquals(0, data.readerIndex());
+
+        ByteBuf slice = PacketUtilities.readPrefixedSlice(buffer, 3);
+        Assertions.assertEquals(3, slice.readableBytes());
+        Assertions.assertEquals(2, slice.getByte(1));
+        Assertions.assertEquals(1, buffer.readableBytes());
+
+        Assertions.assertEquals(1, PacketUtilities.readRemainingSlice(buffer).readableBytes());
+        Assertions.assertEquals(0, buffer.readableBytes());
+    }
+
+    @Test
+    void prefixedSliceLimits() {
+        ByteBuf tooLong = Unpooled.buffer();
+        PacketUtilities.writeVarInt(tooLong, 4);
+        tooLong.writeBytes(new byte[4]);
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readPrefixedSlice(tooLong, 3));
+
+        ByteBuf truncated = Unpooled.buffer();
+        PacketUtilities.writeVarInt(truncated, 4);
+        truncated.writeBytes(new byte[2]);
+        Assertions.assertThrows(DecoderException.class, () -> PacketUtilities.readPrefixedSlice(truncated, 10));
+    }
+
+    /**
+     * @param degrees The angle to write
+     *
+     * @return The angle read back
+     */
+    private static float angle(float degrees) {
+        ByteBuf buffer = Unpooled.buffer();
+        PacketUtilities.writeAngle(buffer, degrees);
+        return PacketUtilities.readAngle(buffer);
+    }
+}
@@ -0,0 +1,122 @@
+package me.ialistannen.bukkitutilities.packet;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Tests the flush accounting of the Write Batcher and the Flush Batcher classes
+ */
+public class WriteBatcherTest {
+
+    private final AtomicInteger flushes = new AtomicInteger();
+    private final ChannelHandlerContext context = (ChannelHandlerContext) Proxy.newProxyInstance(
+            WriteBatcherTest.class.getClassLoader(),
+            new Class<?>[]{ChannelHandlerContext.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("flush")) {
+                    flushes.incrementAndGet();
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            }
+    );
+
+    @Test
+    void unmarkedPassesThrough() throws Exception {
+        FlushBatcher batcher = added(new FlushBatcher(10));
+
+        batcher.flush(context);
+        batcher.flush(context);
+
+        Assertions.assertEquals(2, flushes.get());
+        Assertions.assertEquals(0, WriteBatcher.getHeldFlushes());
+        Assertions.assertEquals(0, WriteBatcher.getSavedFlushes());
+    }
+
+    @Test
+    void flushedOncePerBatch() throws Exception {
+        FlushBatcher batcher = added(new FlushBatcher(10));
+        batcher.mark();
+
+        for (int i = 0; i < 5; i++) {
+            batcher.flush(context);
+        }
+        Assertions.assertEquals(0, flushes.get());
+        Assertions.assertEquals(5, batcher.getPending());
+
+        batcher.flushBatch();
+
+        Assertions.assertEquals(1, flushes.get());
+        Assertions.assertFalse(batcher.isMarked());
+        Assertions.assertEquals(5, WriteBatcher.getHeldFlushes());
+        Assertions.assertEquals(1, WriteBatcher.getFlushes());
+        Assertions.assertEquals(0, WriteBatcher.getThresholdFlushes());
+        Assertions.assertEquals(4, WriteBatcher.getSavedFlushes());
+    }
+
+    @Test
+    void threshold() throws Exception {
+        FlushBatcher batcher = added(new FlushBatcher(3));
+        batcher.mark();
+
+        for (int i = 0; i < 7; i++) {
+            batcher.flush(context);
+        }
+        // flushed at the third and sixth packet
+        Assertions.assertEquals(2, flushes.get());
+        Assertions.assertEquals(1, batcher.getPending());
+
+        batcher.flushBatch();
+
+        Assertions.assertEquals(3, flushes.get());
+        Assertions.assertEquals(7, WriteBatcher.getHeldFlushes());
+        Assertions.assertEquals(3, WriteBatcher.getFlushes());
+        Assertions.assertEquals(2, WriteBatcher.getThresholdFlushes());
+        Assertions.assertEquals(4, WriteBatcher.getSavedFlushes());
+    }
+
+    @Test
+    void nothingPending() throws Exception {
+        FlushBatcher batcher = added(new FlushBatcher(1));
+        batcher.mark();
+
+        // every flush reaches the threshold of one, nothing is held back
+        batcher.flush(context);
+        batcher.flushBatch();
+
+        Assertions.assertEquals(1, flushes.get());
+        Assertions.assertEquals(1, WriteBatcher.getFlushes());
+        Assertions.assertEquals(0, WriteBatcher.getSavedFlushes());
+    }
+
+    @Test
+    void closeAndRemoveFlush() throws Exception {
+        FlushBatcher batcher = added(new FlushBatcher(10));
+        batcher.mark();
+        batcher.flush(context);
+        batcher.close(context, null);
+        Assertions.assertEquals(1, flushes.get());
+
+        batcher.flush(context);
+        batcher.handlerRemoved(context);
+        Assertions.assertEquals(2, flushes.get());
+        Assertions.assertFalse(batcher.isMarked());
+    }
+
+    /**
+     * @param batcher The batcher
+     *
+     * @return The batcher, added to the test context. The statistics are reset.
+     *
+     * @throws Exception never
+     */
+    private FlushBatcher added(FlushBatcher batcher) throws Exception {
+        WriteBatcher.resetStatistics();
+        batcher.handlerAdded(context);
+        return batcher;
+    }
+}
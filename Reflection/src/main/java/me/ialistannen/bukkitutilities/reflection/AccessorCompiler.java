@@ -0,0 +1,755 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Compiles resolved members to {@link MethodHandle} backed accessors.
+ * <p>
+ * The compiled accessors are cached in the {@link MemberIndex} of the declaring class.
+ */
+final class AccessorCompiler {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private AccessorCompiler() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * Returns the cached accessor or compiles a new one
+     *
+     * @param accessorType The type of the accessor
+     * @param member The member to compile it for
+     * @param compiler The function creating the accessor
+     * @param <M> The type of the member
+     * @param <A> The type of the accessor
+     *
+     * @return The accessor
+     */
+    @SuppressWarnings("unchecked")
+    static <M extends Member, A> A getOrCompile(Class<?> accessorType, M member, Function<M, A> compiler) {
+        ConcurrentMap<Member, Object> accessors = MemberIndex.of(member.getDeclaringClass())
+                .compiledAccessors(accessorType);
+
+        // plain get first, computeIfAbsent would allocate the capturing lambda on every call
+        Object accessor = accessors.get(member);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(member, ignored -> compiler.apply(member));
+        }
+        return (A) accessor;
+    }
+
+    /**
+     * Rethrows unchecked exceptions and wraps checked ones in a {@link ReflectionException}
+     *
+     * @param throwable The thrown exception
+     *
+     * @return Nothing, it always throws. Declared so callers can write {@code throw propagate(e)}
+     */
+    static RuntimeException propagate(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+        throw new ReflectionException("A checked exception was thrown by the invoked member", throwable);
+    }
+
+    /**
+     * Compiles a getter
+     *
+     * @param field The field to compile it for
+     * @param <T> The type of the field
+     *
+     * @return The getter
+     */
+    static <T> FieldGetter<T> compileGetter(Field field) {
+        MethodHandle getter;
+        try {
+            field.setAccessible(true);
+            getter = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access field " + field, e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        MethodHandle handle = getter.asType(MethodType.methodType(Object.class, Object.class));
+
+        return instance -> {
+            try {
+                @SuppressWarnings("unchecked")
+                T value = (T) (Object) handle.invokeExact(instance);
+                return value;
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        };
+    }
+
+    /**
+     * Compiles a setter
+     *
+     * @param field The field to compile it for
+     * @param <T> The type of the field
+     *
+     * @return The setter
+     *
+     * @throws ReflectionException if the field is static final or couldn't be accessed
+     */
+    static <T> FieldSetter<T> compileSetter(Field field) {
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            setter = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // static final fields can't be written by handles nor Field#set
+            throw new ReflectionException("Couldn't access field " + field, e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+        MethodHandle handle = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+
+        return (instance, value) -> {
+            try {
+                handle.invokeExact(instance, (Object) value);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        };
+    }
+
+    /**
+     * Creates the handles backing a primitive field accessor
+     *
+     * @param field The field
+     * @param type The primitive type the field must have
+     *
+     * @return The getter of type {@code (Object)type} and the setter of type {@code (Object, type)void}
+     *
+     * @throws ReflectionException if the field is not of the given type, static final or couldn't be accessed
+     */
+    private static MethodHandle[] compilePrimitiveHandles(Field field, Class<?> type) {
+        if (field.getType() != type) {
+            throw new ReflectionException("Field " + field + " is not of type " + type.getName());
+        }
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+
+        MethodHandle getter;
+        try {
+            field.setAccessible(true);
+            getter = LOOKUP.unreflectGetter(field);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access field " + field, e);
+        }
+        if (isStatic) {
+            getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+
+        MethodHandle setter;
+        try {
+            setter = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // static final fields can't be written by handles nor Field#setXXX
+            throw new ReflectionException("Couldn't access field " + field, e);
+        }
+        if (isStatic) {
+            setter = MethodHandles.dropArguments(setter, 0, Object.class);
+        }
+
+        return new MethodHandle[]{
+                getter.asType(MethodType.methodType(type, Object.class)),
+                setter.asType(MethodType.methodType(void.class, Object.class, type))
+        };
+    }
+
+    /**
+     * Compiles an accessor for an {@code int} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static IntFieldAccessor compileIntAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, int.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new IntFieldAccessor() {
+            @Override
+            public int get(Object handle) {
+                try {
+                    return (int) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, int value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code long} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static LongFieldAccessor compileLongAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, long.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new LongFieldAccessor() {
+            @Override
+            public long get(Object handle) {
+                try {
+                    return (long) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, long value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code double} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static DoubleFieldAccessor compileDoubleAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, double.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new DoubleFieldAccessor() {
+            @Override
+            public double get(Object handle) {
+                try {
+                    return (double) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, double value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code float} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static FloatFieldAccessor compileFloatAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, float.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new FloatFieldAccessor() {
+            @Override
+            public float get(Object handle) {
+                try {
+                    return (float) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, float value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code short} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static ShortFieldAccessor compileShortAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, short.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new ShortFieldAccessor() {
+            @Override
+            public short get(Object handle) {
+                try {
+                    return (short) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, short value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code byte} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static ByteFieldAccessor compileByteAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, byte.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new ByteFieldAccessor() {
+            @Override
+            public byte get(Object handle) {
+                try {
+                    return (byte) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, byte value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles an accessor for a {@code boolean} field
+     *
+     * @param field The field to compile it for
+     *
+     * @return The accessor
+     *
+     * @throws ReflectionException if the field is not of the given type or couldn't be accessed
+     */
+    static BooleanFieldAccessor compileBooleanAccessor(Field field) {
+        MethodHandle[] handles = compilePrimitiveHandles(field, boolean.class);
+        MethodHandle getter = handles[0];
+        MethodHandle setter = handles[1];
+
+        return new BooleanFieldAccessor() {
+            @Override
+            public boolean get(Object handle) {
+                try {
+                    return (boolean) getter.invokeExact(handle);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+
+            @Override
+            public void set(Object handle, boolean value) {
+                try {
+                    setter.invokeExact(handle, value);
+                } catch (Throwable e) {
+                    throw propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Compiles a copier
+     * <p>
+     * The copy operations of all fields are folded into a single {@link MethodHandle}, primitive fields are
+     * copied without boxing.
+     *
+     * @param clazz The class of the copied objects
+     * @param fields The instance fields to copy
+     * @param <T> The type of the class
+     *
+     * @return The copier
+     *
+     * @throws ReflectionException if a field couldn't be accessed
+     */
+    static <T> ObjectCopier<T> compileCopier(Class<T> clazz, List<Field> fields) {
+        // (Object target, Object source)void
+        MethodHandle copyAll = MethodHandles.dropArguments(
+                MethodHandles.constant(Void.class, null).asType(MethodType.methodType(void.class)),
+                0, Object.class, Object.class
+        );
+
+        for (Field field : fields) {
+            MethodHandle getter;
+            MethodHandle setter;
+            try {
+                field.setAccessible(true);
+                getter = LOOKUP.unreflectGetter(field);
+                setter = LOOKUP.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw new ReflectionException("Couldn't access field " + field, e);
+            }
+            getter = getter.asType(MethodType.methodType(field.getType(), Object.class));
+            setter = setter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+
+            MethodHandle copyField = MethodHandles.filterArguments(setter, 1, getter);
+            copyAll = MethodHandles.foldArguments(copyAll, copyField);
+        }
+
+        return new CompiledObjectCopier<>(clazz, Collections.unmodifiableList(new ArrayList<>(fields)), copyAll);
+    }
+
+    /**
+     * Compiles an invoker for a method
+     *
+     * @param method The method to compile it for
+     * @param <R> The return type of the method
+     *
+     * @return The invoker
+     */
+    static <R> MethodInvoker<R> compileInvoker(Method method) {
+        MethodHandle target;
+        try {
+            method.setAccessible(true);
+            target = LOOKUP.unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access method " + method, e);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            target = MethodHandles.dropArguments(target, 0, Object.class);
+        }
+        return new CompiledMethodInvoker<>(
+                target.asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+        );
+    }
+
+    /**
+     * Compiles an invoker for a constructor
+     *
+     * @param constructor The constructor to compile it for
+     * @param <T> The type of the created object
+     *
+     * @return The invoker
+     */
+    static <T> ConstructorInvoker<T> compileConstructor(Constructor<T> constructor) {
+        MethodHandle target;
+        try {
+            constructor.setAccessible(true);
+            target = LOOKUP.unreflectConstructor(constructor).asFixedArity();
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access constructor " + constructor, e);
+        }
+        return new CompiledConstructorInvoker<>(
+                target.asType(MethodType.genericMethodType(constructor.getParameterCount()))
+        );
+    }
+
+    /**
+     * @param expected The amount of parameters of the member
+     * @param actual The amount of passed parameters
+     *
+     * @return The exception to throw
+     */
+    private static IllegalArgumentException wrongParameterCount(int expected, int actual) {
+        return new IllegalArgumentException("Wrong number of arguments: expected " + expected + ", got " + actual);
+    }
+
+    /**
+     * A {@link MethodInvoker} backed by a {@link MethodHandle}
+     * <p>
+     * The fixed arity methods call the handle with exactly their parameters, only
+     * {@link #invoke(Object, Object...)} spreads an array.
+     *
+     * @param <R> The return type of the method
+     */
+    private static final class CompiledMethodInvoker <R> implements MethodInvoker<R> {
+
+        private final int parameterCount;
+        private final MethodHandle exact;
+        private final MethodHandle spreader;
+
+        /**
+         * @param exact The handle, of the generic type {@code (Object handle, Object... params)Object}
+         */
+        private CompiledMethodInvoker(MethodHandle exact) {
+            this.parameterCount = exact.type().parameterCount() - 1;
+            this.exact = exact;
+            this.spreader = exact.asSpreader(Object[].class, parameterCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R invoke(Object handle, Object... params) {
+            try {
+                return (R) (Object) spreader.invokeExact(handle, params);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R invoke0(Object handle) {
+            if (parameterCount != 0) {
+                throw wrongParameterCount(parameterCount, 0);
+            }
+            try {
+                return (R) (Object) exact.invokeExact(handle);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R invoke1(Object handle, Object param) {
+            if (parameterCount != 1) {
+                throw wrongParameterCount(parameterCount, 1);
+            }
+            try {
+                return (R) (Object) exact.invokeExact(handle, param);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R invoke2(Object handle, Object first, Object second) {
+            if (parameterCount != 2) {
+                throw wrongParameterCount(parameterCount, 2);
+            }
+            try {
+                return (R) (Object) exact.invokeExact(handle, first, second);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public R invoke3(Object handle, Object first, Object second, Object third) {
+            if (parameterCount != 3) {
+                throw wrongParameterCount(parameterCount, 3);
+            }
+            try {
+                return (R) (Object) exact.invokeExact(handle, first, second, third);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+    }
+
+    /**
+     * A {@link ConstructorInvoker} backed by a {@link MethodHandle}
+     * <p>
+     * The fixed arity methods call the handle with exactly their parameters, only
+     * {@link #newInstance(Object...)} spreads an array.
+     *
+     * @param <T> The type of the created object
+     */
+    private static final class CompiledConstructorInvoker <T> implements ConstructorInvoker<T> {
+
+        private final int parameterCount;
+        private final MethodHandle exact;
+        private final MethodHandle spreader;
+
+        /**
+         * @param exact The handle, of the generic type {@code (Object... params)Object}
+         */
+        private CompiledConstructorInvoker(MethodHandle exact) {
+            this.parameterCount = exact.type().parameterCount();
+            this.exact = exact;
+            this.spreader = exact.asSpreader(Object[].class, parameterCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance(Object... params) {
+            try {
+                return (T) (Object) spreader.invokeExact(params);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance0() {
+            if (parameterCount != 0) {
+                throw wrongParameterCount(parameterCount, 0);
+            }
+            try {
+                return (T) (Object) exact.invokeExact();
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance1(Object param) {
+            if (parameterCount != 1) {
+                throw wrongParameterCount(parameterCount, 1);
+            }
+            try {
+                return (T) (Object) exact.invokeExact(param);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance2(Object first, Object second) {
+            if (parameterCount != 2) {
+                throw wrongParameterCount(parameterCount, 2);
+            }
+            try {
+                return (T) (Object) exact.invokeExact(first, second);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T newInstance3(Object first, Object second, Object third) {
+            if (parameterCount != 3) {
+                throw wrongParameterCount(parameterCount, 3);
+            }
+            try {
+                return (T) (Object) exact.invokeExact(first, second, third);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+    }
+
+    /**
+     * An {@link ObjectCopier} backed by a single {@link MethodHandle}
+     *
+     * @param <T> The type of the copied objects
+     */
+    private static final class CompiledObjectCopier <T> implements ObjectCopier<T> {
+
+        private final Class<T> clazz;
+        private final List<Field> fields;
+        private final MethodHandle copyAll;
+        private volatile ConstructorInvoker<T> constructor;
+
+        /**
+         * @param clazz The class of the copied objects
+         * @param fields The copied fields
+         * @param copyAll The handle copying all fields, of type {@code (Object target, Object source)void}
+         */
+        private CompiledObjectCopier(Class<T> clazz, List<Field> fields, MethodHandle copyAll) {
+            this.clazz = clazz;
+            this.fields = fields;
+            this.copyAll = copyAll;
+        }
+
+        @Override
+        public void copy(T source, T target) {
+            try {
+                copyAll.invokeExact(target, source);
+            } catch (Throwable e) {
+                throw propagate(e);
+            }
+        }
+
+        @Override
+        public T copy(T source) {
+            T target = getConstructor().newInstance0();
+            copy(source, target);
+            return target;
+        }
+
+        /**
+         * @return The no-args constructor
+         *
+         * @throws ReflectionException if the class has no no-args constructor
+         */
+        private ConstructorInvoker<T> getConstructor() {
+            ConstructorInvoker<T> invoker = constructor;
+            if (invoker == null) {
+                try {
+                    invoker = ReflectionUtil.compileConstructor(clazz.getDeclaredConstructor());
+                } catch (NoSuchMethodException e) {
+                    throw new ReflectionException("No no-args constructor found in " + clazz.getName(), e);
+                }
+                constructor = invoker;
+            }
+            return invoker;
+        }
+
+        @Override
+        public List<Field> getFields() {
+            return fields;
+        }
+    }
+}
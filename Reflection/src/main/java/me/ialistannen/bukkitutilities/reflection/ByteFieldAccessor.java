@@ -0,0 +1,26 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled accessor for a {@code byte} field, reading and writing it without boxing
+ *
+ * @see ReflectionUtil#compileByteAccessor(java.lang.reflect.Field)
+ */
+public interface ByteFieldAccessor {
+
+    /**
+     * Returns the value of the field
+     *
+     * @param handle The instance to get it for. Ignored for static fields.
+     *
+     * @return The value of the field
+     */
+    byte get(Object handle);
+
+    /**
+     * Sets the value of the field
+     *
+     * @param handle The instance to set it for. Ignored for static fields.
+     * @param value The new value
+     */
+    void set(Object handle, byte value);
+}
@@ -0,0 +1,81 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled invoker for a constructor
+ * <p>
+ * Exceptions thrown by the constructor are passed through unchanged, checked ones are wrapped in a
+ * {@link ReflectionException}.
+ * <p>
+ * The {@code newInstanceN} methods take a fixed amount of parameters. Compiled invokers pass them to the
+ * constructor directly, while {@link #newInstance(Object...)} needs an array for every call. Prefer them on
+ * hot paths.
+ *
+ * @param <T> The type of the created object
+ *
+ * @see ReflectionUtil#compileConstructor(java.lang.reflect.Constructor)
+ */
+@FunctionalInterface
+public interface ConstructorInvoker <T> {
+
+    /**
+     * Creates a new instance
+     *
+     * @param params The parameters of the constructor
+     *
+     * @return The created instance
+     */
+    T newInstance(Object... params);
+
+    /**
+     * Creates a new instance with a constructor without parameters
+     *
+     * @return The created instance
+     *
+     * @throws IllegalArgumentException if the constructor has parameters
+     */
+    default T newInstance0() {
+        return newInstance();
+    }
+
+    /**
+     * Creates a new instance with a constructor with one parameter
+     *
+     * @param param The parameter
+     *
+     * @return The created instance
+     *
+     * @throws IllegalArgumentException if the constructor does not have exactly one parameter
+     */
+    default T newInstance1(Object param) {
+        return newInstance(param);
+    }
+
+    /**
+     * Creates a new instance with a constructor with two parameters
+     *
+     * @param first The first parameter
+     * @param second The second parameter
+     *
+     * @return The created instance
+     *
+     * @throws IllegalArgumentException if the constructor does not have exactly two parameters
+     */
+    default T newInstance2(Object first, Object second) {
+        return newInstance(first, second);
+    }
+
+    /**
+     * Creates a new instance with a constructor with three parameters
+     *
+     * @param first The first parameter
+     * @param second The second parameter
+     * @param third The third parameter
+     *
+     * @return The created instance
+     *
+     * @throws IllegalArgumentException if the constructor does not have exactly three parameters
+     */
+    default T newInstance3(Object first, Object second, Object third) {
+        return newInstance(first, second, third);
+    }
+}
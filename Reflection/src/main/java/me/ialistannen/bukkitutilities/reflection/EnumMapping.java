@@ -0,0 +1,116 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A precomputed mapping from the constants of one enum to the constants of another, for example from
+ * {@code org.bukkit.Particle} to the NMS {@code EnumParticle}.
+ * <p>
+ * The mapping is built once and stored in arrays indexed by ordinal, so converting in either direction
+ * is a single array access. Store it in a static final field.
+ *
+ * @param <S> The type of the source enum
+ *
+ * @see ReflectionUtil#mapEnum(Class, Class)
+ * @see ReflectionUtil#mapEnum(Class, Class, Function)
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class EnumMapping <S extends Enum<S>> {
+
+    private final Class<S> sourceType;
+    private final Class<?> targetType;
+    private final Enum<?>[] targets;
+    private final S[] sources;
+    private final Set<S> unmapped;
+
+    /**
+     * @param sourceType The source enum
+     * @param targetType The target enum
+     * @param nameFunction Returns the name of the target constant for a source constant. May return null
+     * if there is no counterpart.
+     */
+    @SuppressWarnings("unchecked")
+    EnumMapping(Class<S> sourceType, Class<?> targetType, Function<? super S, String> nameFunction) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+
+        EnumTable targetTable = EnumTable.of(targetType);
+        S[] sourceConstants = sourceType.getEnumConstants();
+
+        this.targets = new Enum<?>[sourceConstants.length];
+        this.sources = (S[]) new Enum<?>[targetTable.constants().length];
+
+        Set<S> unmapped = EnumSet.noneOf(sourceType);
+        for (S source : sourceConstants) {
+            String targetName = nameFunction.apply(source);
+            Enum<?> target = targetName == null ? null : targetTable.byName(targetName);
+
+            if (target == null) {
+                unmapped.add(source);
+                continue;
+            }
+            targets[source.ordinal()] = target;
+            if (sources[target.ordinal()] == null) {
+                sources[target.ordinal()] = source;
+            }
+        }
+        this.unmapped = Collections.unmodifiableSet(unmapped);
+    }
+
+    /**
+     * Converts a source constant to the target enum
+     *
+     * @param source The source constant
+     *
+     * @return The target constant or null if it has no counterpart
+     *
+     * @throws NullPointerException if source is null
+     */
+    public Enum<?> toTarget(S source) {
+        return targets[source.ordinal()];
+    }
+
+    /**
+     * Converts a target constant back to the source enum
+     *
+     * @param target The target constant
+     *
+     * @return The first source constant mapped to it or null if none
+     *
+     * @throws NullPointerException     if target is null
+     * @throws IllegalArgumentException if target is not a constant of the target enum
+     */
+    public S toSource(Object target) {
+        Objects.requireNonNull(target, "target can not be null");
+
+        if (!targetType.isInstance(target)) {
+            throw new IllegalArgumentException("Not a constant of " + targetType.getName() + ": " + target);
+        }
+        return sources[((Enum<?>) target).ordinal()];
+    }
+
+    /**
+     * @return The source enum
+     */
+    public Class<S> getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return The target enum
+     */
+    public Class<?> getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * @return All source constants without a counterpart. Unmodifiable.
+     */
+    public Set<S> getUnmapped() {
+        return unmapped;
+    }
+}
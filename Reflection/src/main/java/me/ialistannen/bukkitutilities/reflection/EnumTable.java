@@ -0,0 +1,82 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+
+/**
+ * The constants of an enum, indexed by name and ordinal.
+ * <p>
+ * {@link Class#getEnumConstants()} clones its array on every call, this table is built once per class.
+ * <p>
+ * Instances are stored in a {@link ClassCache}, so tables of server enums don't keep this plugin alive.
+ */
+final class EnumTable {
+
+    private static final ClassCache<EnumTable> TABLES = new ClassCache<>(EnumTable::new);
+
+    private final Enum<?>[] constants;
+    private final Map<String, Enum<?>> byName;
+
+    /**
+     * @param enumClass The enum class to index
+     */
+    private EnumTable(Class<?> enumClass) {
+        Object[] enumConstants = enumClass.getEnumConstants();
+        this.constants = new Enum<?>[enumConstants.length];
+
+        Map<String, Enum<?>> byName = new HashMap<>();
+        for (Object enumConstant : enumConstants) {
+            Enum<?> constant = (Enum<?>) enumConstant;
+            constants[constant.ordinal()] = constant;
+            byName.put(constant.name(), constant);
+        }
+        this.byName = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Returns the table for an enum
+     *
+     * @param enumClass The enum class
+     *
+     * @return The table for the enum
+     *
+     * @throws IllegalArgumentException if the class is no enum
+     */
+    static EnumTable of(Class<?> enumClass) {
+        if (!enumClass.isEnum()) {
+            throw new IllegalArgumentException("The class is no enum: " + enumClass.getName());
+        }
+        return TABLES.get(enumClass);
+    }
+
+    /**
+     * @return All constants, in ordinal order. The array is shared, <b>do not modify it</b>.
+     */
+    Enum<?>[] constants() {
+        return constants;
+    }
+
+    /**
+     * @param name The name of the constant. Case sensitive.
+     *
+     * @return The constant or null if none
+     */
+    Enum<?> byName(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * @param ordinal The ordinal of the constant
+     *
+     * @return The constant or null if the ordinal is out of range
+     */
+    Enum<?> byOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= constants.length) {
+            return null;
+        }
+        return constants[ordinal];
+    }
+}
@@ -0,0 +1,21 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled getter for a field
+ *
+ * @param <T> The type of the field
+ *
+ * @see ReflectionUtil#compileGetter(java.lang.reflect.Field)
+ */
+@FunctionalInterface
+public interface FieldGetter <T> {
+
+    /**
+     * Returns the value of the field
+     *
+     * @param handle The instance to get it for. Ignored for static fields.
+     *
+     * @return The value of the field
+     */
+    T get(Object handle);
+}
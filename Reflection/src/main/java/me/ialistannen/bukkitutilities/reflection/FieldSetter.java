@@ -0,0 +1,20 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled setter for a field
+ *
+ * @param <T> The type of the field
+ *
+ * @see ReflectionUtil#compileSetter(java.lang.reflect.Field)
+ */
+@FunctionalInterface
+public interface FieldSetter <T> {
+
+    /**
+     * Sets the value of the field
+     *
+     * @param handle The instance to set it for. Ignored for static fields.
+     * @param value The new value
+     */
+    void set(Object handle, T value);
+}
@@ -0,0 +1,26 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled accessor for a {@code float} field, reading and writing it without boxing
+ *
+ * @see ReflectionUtil#compileFloatAccessor(java.lang.reflect.Field)
+ */
+public interface FloatFieldAccessor {
+
+    /**
+     * Returns the value of the field
+     *
+     * @param handle The instance to get it for. Ignored for static fields.
+     *
+     * @return The value of the field
+     */
+    float get(Object handle);
+
+    /**
+     * Sets the value of the field
+     *
+     * @param handle The instance to set it for. Ignored for static fields.
+     * @param value The new value
+     */
+    void set(Object handle, float value);
+}
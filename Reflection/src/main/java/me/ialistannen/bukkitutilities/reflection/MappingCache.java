@@ -0,0 +1,244 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.bukkit.Bukkit;
+
+/**
+ * A persistent cache remembering which members were found for a lookup.
+ * <p>
+ * Lookups by one of the built in {@link ReflectionUtil.MemberPredicate}s that have to scan the members
+ * of a class are recorded automatically. Discoveries made by other means (e.g. by probing methods) can be
+ * stored with {@link #putMethod(Class, String, Method)}.
+ * <p>
+ * The cache is bound to the server version and the CraftBukkit package. If either changes, the old
+ * entries are discarded. Entries are always verified against the predicate of the lookup (or the one passed
+ * to {@link #getMethod(Class, String, Predicate)}) before they are used, so a stale entry only costs a normal
+ * scan.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class MappingCache {
+
+    private static final Logger LOGGER = Logger.getLogger("MappingCache");
+
+    private static final String VERSION_KEY = "server-version";
+
+    private static volatile MappingCache instance;
+
+    private final Path file;
+    private final String serverVersion;
+    private final ConcurrentMap<String, String> mappings = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    /**
+     * @param file The file to store the mappings in
+     * @param serverVersion The server version the mappings are valid for
+     */
+    private MappingCache(Path file, String serverVersion) {
+        this.file = file;
+        this.serverVersion = serverVersion;
+    }
+
+    /**
+     * Enables the cache, loading the mappings from the file if they match the running server
+     *
+     * @param file The file the mappings are stored in
+     *
+     * @throws NullPointerException if file is null
+     */
+    public static void enable(Path file) {
+        Objects.requireNonNull(file, "file can not be null");
+
+        MappingCache cache = new MappingCache(file, getServerVersion());
+        cache.load();
+        instance = cache;
+    }
+
+    /**
+     * Saves the mappings, if they changed, and disables the cache
+     */
+    public static void disable() {
+        MappingCache cache = instance;
+        instance = null;
+        if (cache != null) {
+            cache.save();
+        }
+    }
+
+    /**
+     * @return True if the cache is enabled
+     */
+    public static boolean isEnabled() {
+        return instance != null;
+    }
+
+    /**
+     * Returns the method stored for the key
+     *
+     * @param owner The class declaring (or inheriting) the method
+     * @param key The key, unique for the owner
+     * @param predicate Verifies the stored method, e.g. its return type, as only its name and parameter
+     * types are stored
+     *
+     * @return The stored method, if any, it still exists and it matches the predicate
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    public static Optional<Method> getMethod(Class<?> owner, String key, Predicate<? super Method> predicate) {
+        Objects.requireNonNull(owner, "owner can not be null");
+        Objects.requireNonNull(key, "key can not be null");
+        Objects.requireNonNull(predicate, "predicate can not be null");
+
+        String memberId = get(owner.getName() + "#" + key);
+        if (memberId == null) {
+            return Optional.empty();
+        }
+        Method method = MemberIndex.of(owner).methods().findById(memberId);
+        return method != null && predicate.test(method) ? Optional.of(method) : Optional.empty();
+    }
+
+    /**
+     * Stores a method for the key
+     *
+     * @param owner The class declaring (or inheriting) the method
+     * @param key The key, unique for the owner
+     * @param method The method to store
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    public static void putMethod(Class<?> owner, String key, Method method) {
+        Objects.requireNonNull(owner, "owner can not be null");
+        Objects.requireNonNull(key, "key can not be null");
+        Objects.requireNonNull(method, "method can not be null");
+
+        put(owner.getName() + "#" + key, describe(method));
+    }
+
+    /**
+     * @param key The key
+     *
+     * @return The stored member id or null if none or the cache is disabled
+     */
+    static String get(String key) {
+        MappingCache cache = instance;
+        return cache == null ? null : cache.mappings.get(key);
+    }
+
+    /**
+     * Stores a member id. Does nothing if the cache is disabled.
+     *
+     * @param key The key
+     * @param memberId The id of the member, as returned by {@link #describe(Member)}
+     */
+    static void put(String key, String memberId) {
+        MappingCache cache = instance;
+        if (cache == null) {
+            return;
+        }
+        if (!memberId.equals(cache.mappings.put(key, memberId))) {
+            cache.dirty = true;
+        }
+    }
+
+    /**
+     * Creates an id for a member, that is stable across restarts
+     *
+     * @param member The member
+     *
+     * @return The name for fields, the name and parameter types otherwise
+     */
+    static String describe(Member member) {
+        if (member instanceof Field) {
+            return member.getName();
+        }
+        String name = member instanceof Constructor ? "<init>" : member.getName();
+
+        StringJoiner joiner = new StringJoiner(",", name + "(", ")");
+        for (Class<?> type : ((Executable) member).getParameterTypes()) {
+            joiner.add(type.getName());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * @return The version of the running server, including the CraftBukkit package
+     */
+    private static String getServerVersion() {
+        return ReflectionUtil.getMajorVersion()
+                + "." + ReflectionUtil.getMinorVersion()
+                + "." + ReflectionUtil.getPatchVersion()
+                + "/" + Bukkit.getServer().getClass().getPackage().getName();
+    }
+
+    /**
+     * Loads the mappings from the file. Discards them if they are for another server version.
+     */
+    private void load() {
+        if (Files.notExists(file)) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Couldn't read the mapping cache " + file, e);
+            return;
+        }
+
+        if (!serverVersion.equals(properties.getProperty(VERSION_KEY))) {
+            LOGGER.info("Server version changed, discarding the mapping cache");
+            dirty = true;
+            return;
+        }
+        properties.remove(VERSION_KEY);
+
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            mappings.put((String) entry.getKey(), (String) entry.getValue());
+        }
+    }
+
+    /**
+     * Saves the mappings to the file, if they changed
+     */
+    private void save() {
+        if (!dirty) {
+            return;
+        }
+
+        Properties properties = new Properties();
+        properties.putAll(mappings);
+        properties.setProperty(VERSION_KEY, serverVersion);
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                properties.store(outputStream, "Resolved reflection members. Safe to delete.");
+            }
+            dirty = false;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Couldn't write the mapping cache " + file, e);
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MemberPredicate;
+
+/**
+ * A per-class index of the fields, methods and constructors of a class.
+ * <p>
+ * The members are read once and kept in arrays and hash tables, so lookups by name or by one of the
+ * built in {@link MemberPredicate}s are answered from a table after the first call.
+ * <p>
+ * Besides the tables mirroring {@link Class#getFields()} and friends, it has tables for all members of the
+ * whole hierarchy, see {@link #hierarchyFields()} and {@link #hierarchyMethods()}.
+ * <p>
+ * It also caches the accessors and copiers compiled for the members of the class.
+ * <p>
+ * Instances are stored in a {@link ClassCache} owned by this plugin, not in a {@link ClassValue}: the index of a
+ * server class must not keep our class loader alive after a reload.
+ */
+final class MemberIndex {
+
+    private static final ClassCache<MemberIndex> INDEX = new ClassCache<>(MemberIndex::new);
+
+    private final Class<?> clazz;
+
+    private volatile MemberTable<Field> fields;
+    private volatile MemberTable<Method> methods;
+    private volatile MemberTable<Constructor<?>> constructors;
+    private volatile MemberTable<Field> hierarchyFields;
+    private volatile MemberTable<Method> hierarchyMethods;
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Member, Object>> compiledAccessors =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Field>, ObjectCopier<?>> copiers = new ConcurrentHashMap<>();
+    private volatile ObjectCopier<?> allFieldsCopier;
+
+    /**
+     * @param clazz The class to index
+     */
+    private MemberIndex(Class<?> clazz) {
+        this.clazz = clazz;
+    }
+
+    /**
+     * Returns the index for a class
+     *
+     * @param clazz The class to get the index for
+     *
+     * @return The index for the class
+     */
+    static MemberIndex of(Class<?> clazz) {
+        return INDEX.get(clazz);
+    }
+
+    /**
+     * Returns the fields of the class
+     * <p>
+     * Contains the declared fields first and then the public inherited ones.
+     *
+     * @return The fields table
+     */
+    MemberTable<Field> fields() {
+        MemberTable<Field> table = fields;
+        if (table == null) {
+            table = new MemberTable<>(
+                    clazz,
+                    clazz.getName() + " fields ",
+                    distinct(clazz.getDeclaredFields(), clazz.getFields()),
+                    MemberIndex::fieldSignature,
+                    Field[]::new
+            );
+            fields = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the methods of the class
+     * <p>
+     * Contains the public (and inherited) methods first and then the declared ones.
+     *
+     * @return The methods table
+     */
+    MemberTable<Method> methods() {
+        MemberTable<Method> table = methods;
+        if (table == null) {
+            table = new MemberTable<>(
+                    clazz,
+                    clazz.getName() + " methods ",
+                    distinct(clazz.getMethods(), clazz.getDeclaredMethods()),
+                    MemberIndex::executableSignature,
+                    Method[]::new
+            );
+            methods = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the constructors of the class
+     * <p>
+     * Contains the public constructors first and then the declared ones.
+     *
+     * @return The constructors table
+     */
+    MemberTable<Constructor<?>> constructors() {
+        MemberTable<Constructor<?>> table = constructors;
+        if (table == null) {
+            table = new MemberTable<>(
+                    clazz,
+                    clazz.getName() + " constructors ",
+                    distinct(clazz.getConstructors(), clazz.getDeclaredConstructors()),
+                    MemberIndex::executableSignature,
+                    Constructor<?>[]::new
+            );
+            constructors = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the fields of the whole hierarchy
+     * <p>
+     * Contains the declared fields of the class, then the ones of its superclasses (nearest first) and
+     * finally the constants of all implemented interfaces. A field shadowing another one comes first, so
+     * lookups by name find the one visible from the class.
+     *
+     * @return The hierarchy fields table
+     */
+    MemberTable<Field> hierarchyFields() {
+        MemberTable<Field> table = hierarchyFields;
+        if (table == null) {
+            List<Field> fields = new ArrayList<>();
+            Collections.addAll(fields, clazz.getDeclaredFields());
+            if (clazz.getSuperclass() != null) {
+                Collections.addAll(fields, of(clazz.getSuperclass()).hierarchyFields().getMembers());
+            }
+            for (Class<?> implementedInterface : clazz.getInterfaces()) {
+                Collections.addAll(fields, of(implementedInterface).hierarchyFields().getMembers());
+            }
+            table = new MemberTable<>(
+                    clazz,
+                    clazz.getName() + " hierarchy fields ",
+                    new ArrayList<>(new LinkedHashSet<>(fields)),
+                    MemberIndex::fieldSignature,
+                    Field[]::new
+            );
+            hierarchyFields = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the methods of the whole hierarchy
+     * <p>
+     * Contains the declared methods of the class, then the ones of its superclasses (nearest first) and
+     * finally the ones of all implemented interfaces. Methods overridden (or hidden) by a method with the
+     * same name and parameter types are left out, bridge methods as well.
+     *
+     * @return The hierarchy methods table
+     */
+    MemberTable<Method> hierarchyMethods() {
+        MemberTable<Method> table = hierarchyMethods;
+        if (table == null) {
+            Map<Object, Method> methods = new LinkedHashMap<>();
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (!method.isBridge()) {
+                    methods.putIfAbsent(executableSignature(method), method);
+                }
+            }
+            if (clazz.getSuperclass() != null) {
+                for (Method method : of(clazz.getSuperclass()).hierarchyMethods().getMembers()) {
+                    methods.putIfAbsent(executableSignature(method), method);
+                }
+            }
+            for (Class<?> implementedInterface : clazz.getInterfaces()) {
+                for (Method method : of(implementedInterface).hierarchyMethods().getMembers()) {
+                    methods.putIfAbsent(executableSignature(method), method);
+                }
+            }
+            table = new MemberTable<>(
+                    clazz,
+                    clazz.getName() + " hierarchy methods ",
+                    new ArrayList<>(methods.values()),
+                    MemberIndex::executableSignature,
+                    Method[]::new
+            );
+            hierarchyMethods = table;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the cache for compiled accessors of the given type
+     *
+     * @param accessorType The type of the accessor, e.g. {@link FieldGetter}
+     *
+     * @return The cache, mapping the member to its accessor
+     */
+    ConcurrentMap<Member, Object> compiledAccessors(Class<?> accessorType) {
+        ConcurrentMap<Member, Object> accessors = compiledAccessors.get(accessorType);
+        if (accessors == null) {
+            accessors = compiledAccessors.computeIfAbsent(accessorType, type -> new ConcurrentHashMap<>());
+        }
+        return accessors;
+    }
+
+    /**
+     * Returns the cache for compiled copiers
+     *
+     * @return The cache, mapping the copied fields to the copier
+     */
+    ConcurrentMap<List<Field>, ObjectCopier<?>> copiers() {
+        return copiers;
+    }
+
+    /**
+     * Returns the copier for all instance fields, which is read on every {@code compileCopier(Class)} call
+     *
+     * @return The copier or null if it was not compiled yet
+     */
+    ObjectCopier<?> allFieldsCopier() {
+        return allFieldsCopier;
+    }
+
+    /**
+     * @param copier The copier for all instance fields
+     */
+    void setAllFieldsCopier(ObjectCopier<?> copier) {
+        this.allFieldsCopier = copier;
+    }
+
+    /**
+     * @param field The field
+     *
+     * @return The name and type of the field
+     */
+    private static Object fieldSignature(Field field) {
+        return signature(field.getName(), field.getType());
+    }
+
+    /**
+     * @param executable The method or constructor
+     *
+     * @return The name and parameter types of the executable
+     */
+    private static Object executableSignature(Executable executable) {
+        return signature(executable.getName(), executable.getParameterTypes());
+    }
+
+    /**
+     * Creates a signature key
+     *
+     * @param name The name of the member
+     * @param types The type of the field or the parameter types
+     *
+     * @return A key with the name and types, suitable for hash maps
+     */
+    static Object signature(String name, Class<?>... types) {
+        List<Object> signature = new ArrayList<>(types.length + 1);
+        signature.add(name);
+        Collections.addAll(signature, types);
+        return signature;
+    }
+
+    /**
+     * Concatenates the arrays, dropping duplicates but keeping the order
+     *
+     * @param first The first array
+     * @param second The second array
+     * @param <T> The type of the elements
+     *
+     * @return A list with all distinct members
+     */
+    private static <T> List<T> distinct(T[] first, T[] second) {
+        Set<T> result = new LinkedHashSet<>(first.length + second.length);
+        Collections.addAll(result, first);
+        Collections.addAll(result, second);
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * A table holding all members of one kind
+     *
+     * @param <T> The type of the member
+     */
+    static final class MemberTable <T extends Member> {
+
+        private final Class<?> owner;
+        private final String mappingPrefix;
+        private final T[] members;
+        private final T[] empty;
+        private final Map<String, T[]> byName;
+        private final Map<Object, T> bySignature;
+        private final ConcurrentMap<Object, Optional<T>> predicateCache = new ConcurrentHashMap<>();
+
+        /**
+         * @param owner The class the members belong to
+         * @param mappingPrefix The prefix for the keys in the {@link MappingCache}
+         * @param members The members, in lookup order
+         * @param signatureFunction Computes the {@link #signature(String, Class[])} of a member
+         * @param arrayCreator Creates a new array of the member type
+         */
+        private MemberTable(Class<?> owner, String mappingPrefix, List<T> members,
+                            Function<? super T, Object> signatureFunction, IntFunction<T[]> arrayCreator) {
+            this.owner = owner;
+            this.mappingPrefix = mappingPrefix;
+            this.members = members.toArray(arrayCreator.apply(members.size()));
+            this.empty = arrayCreator.apply(0);
+
+            Map<String, List<T>> grouped = new HashMap<>();
+            for (T member : this.members) {
+                grouped.computeIfAbsent(member.getName(), name -> new ArrayList<>(1)).add(member);
+            }
+            Map<String, T[]> byName = new HashMap<>(grouped.size() * 2);
+            for (Map.Entry<String, List<T>> entry : grouped.entrySet()) {
+                List<T> list = entry.getValue();
+                byName.put(entry.getKey(), list.toArray(arrayCreator.apply(list.size())));
+            }
+            this.byName = byName;
+
+            Map<Object, T> bySignature = new HashMap<>(this.members.length * 2);
+            for (T member : this.members) {
+                bySignature.putIfAbsent(signatureFunction.apply(member), member);
+            }
+            this.bySignature = bySignature;
+        }
+
+        /**
+         * Returns all members. The array is shared, <b>do not modify it</b>.
+         *
+         * @return All members of this table
+         */
+        T[] getMembers() {
+            return members;
+        }
+
+        /**
+         * Returns the first member with exactly the given name
+         *
+         * @param name The name of the member. Not a RegEx.
+         *
+         * @return The member or null if none
+         */
+        T findByName(String name) {
+            T[] candidates = byName.get(name);
+            return candidates == null ? null : candidates[0];
+        }
+
+        /**
+         * Returns all members with exactly the given name. The array is shared, <b>do not modify it</b>.
+         *
+         * @param name The name of the member. Not a RegEx.
+         *
+         * @return The members or null if none
+         */
+        T[] findAllByName(String name) {
+            return byName.get(name);
+        }
+
+        /**
+         * Returns the first member with the given signature
+         *
+         * @param signature The signature, as returned by {@link #signature(String, Class[])}
+         *
+         * @return The member or null if none
+         */
+        T findBySignature(Object signature) {
+            return bySignature.get(signature);
+        }
+
+        /**
+         * Returns the member with the given id
+         *
+         * @param memberId The id of the member, as returned by {@link MappingCache#describe(Member)}
+         *
+         * @return The member or null if none
+         */
+        T findById(String memberId) {
+            int parameterStart = memberId.indexOf('(');
+            String name = parameterStart < 0 ? memberId : memberId.substring(0, parameterStart);
+
+            // constructors are named after their class, not "<init>"
+            T[] candidates = name.equals("<init>") ? members : byName.get(name);
+            if (candidates == null) {
+                return null;
+            }
+            for (T candidate : candidates) {
+                if (MappingCache.describe(candidate).equals(memberId)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the first member matching the predicate
+         * <p>
+         * Results for the built in {@link MemberPredicate}s are memoized, other predicates (including
+         * subclasses of them) are tested against the members each time. Memoized lookups that are not by
+         * a literal name are also stored in the {@link MappingCache}.
+         * <p>
+         * Predicates referencing classes of another plugin (e.g. as parameter type), that the owner of this
+         * table can not see, are not memoized. The key would keep that plugin alive after it was disabled.
+         *
+         * @param predicate The predicate to use
+         *
+         * @return The first matching member or null if none
+         */
+        T findFirst(Predicate<? super T> predicate) {
+            if (!(predicate instanceof MemberPredicate)) {
+                return scan(members, predicate);
+            }
+            MemberPredicate<?> memberPredicate = (MemberPredicate<?>) predicate;
+            Object cacheKey = memberPredicate.getCacheKey();
+            if (cacheKey == null) {
+                return scan(members, predicate);
+            }
+
+            Optional<T> cached = predicateCache.get(cacheKey);
+            if (cached == null) {
+                if (!canReferenceAll(cacheKey)) {
+                    return scan(members, predicate);
+                }
+                cached = Optional.ofNullable(resolve(memberPredicate, predicate, cacheKey));
+                predicateCache.putIfAbsent(cacheKey, cached);
+            }
+            return cached.orElse(null);
+        }
+
+        /**
+         * Checks if this table may keep a reference to all classes in a cache key
+         *
+         * @param cacheKey The cache key or a part of it
+         *
+         * @return True if all classes in the key can be referenced, see {@link ClassCache#canReference(Class,
+         * Class)}
+         */
+        private boolean canReferenceAll(Object cacheKey) {
+            if (cacheKey instanceof Class) {
+                return ClassCache.canReference(owner, (Class<?>) cacheKey);
+            }
+            if (cacheKey instanceof Collection) {
+                for (Object part : (Collection<?>) cacheKey) {
+                    if (!canReferenceAll(part)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Resolves a memoizable predicate, using the {@link MappingCache} if possible
+         *
+         * @param memberPredicate The predicate
+         * @param predicate The same predicate, typed for the members
+         * @param cacheKey The cache key of the predicate
+         *
+         * @return The first matching member or null if none
+         */
+        private T resolve(MemberPredicate<?> memberPredicate, Predicate<? super T> predicate, Object cacheKey) {
+            // literal names are a hash lookup anyways
+            if (memberPredicate.getLiteralName() != null || !MappingCache.isEnabled()) {
+                return scan(candidatesFor(memberPredicate), predicate);
+            }
+
+            String mappingKey = mappingPrefix + cacheKey;
+            String memberId = MappingCache.get(mappingKey);
+            if (memberId != null) {
+                T member = findById(memberId);
+                if (member != null && predicate.test(member)) {
+                    return member;
+                }
+            }
+
+            T member = scan(members, predicate);
+            if (member != null) {
+                MappingCache.put(mappingKey, MappingCache.describe(member));
+            }
+            return member;
+        }
+
+        /**
+         * Returns the members a predicate needs to be tested against
+         *
+         * @param predicate The predicate
+         *
+         * @return The candidates, narrowed down by name if possible
+         */
+        private T[] candidatesFor(MemberPredicate<?> predicate) {
+            String literalName = predicate.getLiteralName();
+            if (literalName == null) {
+                return members;
+            }
+            T[] candidates = byName.get(literalName);
+            return candidates == null ? empty : candidates;
+        }
+
+        /**
+         * @param candidates The candidates to test
+         * @param predicate The predicate to test them with
+         * @param <T> The type of the members
+         *
+         * @return The first matching candidate or null
+         */
+        private static <T> T scan(T[] candidates, Predicate<? super T> predicate) {
+            for (T candidate : candidates) {
+                if (predicate.test(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * A compiled invoker for a method
+ * <p>
+ * Exceptions thrown by the method are passed through unchanged, checked ones are wrapped in a
+ * {@link ReflectionException}.
+ * <p>
+ * The {@code invokeN} methods take a fixed amount of parameters. Compiled invokers pass them to the method
+ * directly, while {@link #invoke(Object, Object...)} needs an array for every call. Prefer them on hot paths.
+ *
+ * @param <R> The return type of the method
+ *
+ * @see ReflectionUtil#compileInvoker(java.lang.reflect.Method)
+ */
+@FunctionalInterface
+public interface MethodInvoker <R> {
+
+    /**
+     * Invokes the method
+     *
+     * @param handle The instance to invoke it on. Ignored for static methods.
+     * @param params The parameters of the method
+     *
+     * @return The result of the method. Null for void methods.
+     */
+    R invoke(Object handle, Object... params);
+
+    /**
+     * Invokes a method without parameters
+     *
+     * @param handle The instance to invoke it on. Ignored for static methods.
+     *
+     * @return The result of the method. Null for void methods.
+     *
+     * @throws IllegalArgumentException if the method has parameters
+     */
+    default R invoke0(Object handle) {
+        return invoke(handle);
+    }
+
+    /**
+     * Invokes a method with one parameter
+     *
+     * @param handle The instance to invoke it on. Ignored for static methods.
+     * @param param The parameter
+     *
+     * @return The result of the method. Null for void methods.
+     *
+     * @throws IllegalArgumentException if the method does not have exactly one parameter
+     */
+    default R invoke1(Object handle, Object param) {
+        return invoke(handle, param);
+    }
+
+    /**
+     * Invokes a method with two parameters
+     *
+     * @param handle The instance to invoke it on. Ignored for static methods.
+     * @param first The first parameter
+     * @param second The second parameter
+     *
+     * @return The result of the method. Null for void methods.
+     *
+     * @throws IllegalArgumentException if the method does not have exactly two parameters
+     */
+    default R invoke2(Object handle, Object first, Object second) {
+        return invoke(handle, first, second);
+    }
+
+    /**
+     * Invokes a method with three parameters
+     *
+     * @param handle The instance to invoke it on. Ignored for static methods.
+     * @param first The first parameter
+     * @param second The second parameter
+     * @param third The third parameter
+     *
+     * @return The result of the method. Null for void methods.
+     *
+     * @throws IllegalArgumentException if the method does not have exactly three parameters
+     */
+    default R invoke3(Object handle, Object first, Object second, Object third) {
+        return invoke(handle, first, second, third);
+    }
+}
@@ -0,0 +1,41 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.lang.reflect.Field;
+import java.util.List;
+
+/**
+ * A compiled copier, copying a fixed set of instance fields from one object to another in a single call
+ *
+ * @param <T> The type of the objects
+ *
+ * @see ReflectionUtil#compileCopier(Class)
+ * @see ReflectionUtil#compileCopier(Class, java.util.function.Predicate)
+ */
+public interface ObjectCopier <T> {
+
+    /**
+     * Copies the values of all fields of this copier
+     * <p>
+     * The values are copied shallowly, referenced objects are shared afterwards.
+     *
+     * @param source The object to copy from
+     * @param target The object to copy to
+     */
+    void copy(T source, T target);
+
+    /**
+     * Creates a new instance using the no-args constructor and copies the fields of this copier to it
+     *
+     * @param source The object to copy
+     *
+     * @return The copy
+     *
+     * @throws ReflectionException if the class has no no-args constructor
+     */
+    T copy(T source);
+
+    /**
+     * @return The copied fields. Unmodifiable.
+     */
+    List<Field> getFields();
+}
@@ -0,0 +1,137 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import me.ialistannen.bukkitutilities.modulesystem.AdminCommand;
+import me.ialistannen.bukkitutilities.reflection.ReflectionStatistics.CallSiteStatistics;
+
+/**
+ * Controls the {@link ReflectionStatistics}
+ */
+class ReflectionAdminCommand implements AdminCommand {
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private final Path dataFolder;
+
+    /**
+     * @param dataFolder The folder to dump the statistics to
+     */
+    ReflectionAdminCommand(Path dataFolder) {
+        this.dataFolder = dataFolder;
+    }
+
+    @Override
+    public String getName() {
+        return "reflection";
+    }
+
+    @Override
+    public String getUsage() {
+        return "<enable|disable|reset|top [amount]|dump>";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Records which plugins use reflection how often";
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, List<String> args) {
+        if (args.isEmpty()) {
+            return false;
+        }
+
+        switch (args.get(0).toLowerCase(Locale.ROOT)) {
+            case "enable":
+                ReflectionStatistics.setEnabled(true);
+                sender.sendMessage(ChatColor.GREEN + "Recording reflection statistics.");
+                return true;
+            case "disable":
+                ReflectionStatistics.setEnabled(false);
+                sender.sendMessage(ChatColor.GREEN + "Stopped recording reflection statistics.");
+                return true;
+            case "reset":
+                ReflectionStatistics.reset();
+                sender.sendMessage(ChatColor.GREEN + "Discarded the reflection statistics.");
+                return true;
+            case "top":
+                return sendTop(sender, args);
+            case "dump":
+                dump(sender);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param sender The sender to send the top call sites to
+     * @param args The arguments
+     *
+     * @return False if the arguments were invalid
+     */
+    private boolean sendTop(CommandSender sender, List<String> args) {
+        int amount = 10;
+        if (args.size() > 1) {
+            try {
+                amount = Integer.parseInt(args.get(1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        List<CallSiteStatistics> statistics = ReflectionStatistics.getStatistics();
+        if (statistics.isEmpty()) {
+            sender.sendMessage(ChatColor.YELLOW + "Nothing recorded"
+                    + (ReflectionStatistics.isEnabled() ? "." : ", recording is disabled."));
+            return true;
+        }
+
+        for (CallSiteStatistics entry : statistics.subList(0, Math.min(amount, statistics.size()))) {
+            sender.sendMessage(String.format(
+                    Locale.ROOT,
+                    "%s%s#%s %sfrom %s%s",
+                    ChatColor.AQUA, entry.getOwner(), entry.getMember(),
+                    ChatColor.GRAY, ChatColor.WHITE, entry.getCaller()
+            ));
+            sender.sendMessage(String.format(
+                    Locale.ROOT,
+                    "  %s%d lookups (%s%d uncached%s) in %d us, %d invocations in %d us",
+                    ChatColor.GRAY,
+                    entry.getLookups(),
+                    entry.getUncachedLookups() > 0 ? ChatColor.RED : ChatColor.GRAY,
+                    entry.getUncachedLookups(),
+                    ChatColor.GRAY,
+                    TimeUnit.NANOSECONDS.toMicros(entry.getLookupNanos()),
+                    entry.getInvocations(),
+                    TimeUnit.NANOSECONDS.toMicros(entry.getInvocationNanos())
+            ));
+        }
+        return true;
+    }
+
+    /**
+     * @param sender The sender to inform about the result
+     */
+    private void dump(CommandSender sender) {
+        Path file = dataFolder.resolve(
+                "reflection-statistics-" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".tsv"
+        );
+        try {
+            ReflectionStatistics.dump(file);
+            sender.sendMessage(ChatColor.GREEN + "Dumped the reflection statistics to " + file);
+        } catch (IOException e) {
+            sender.sendMessage(ChatColor.RED + "Couldn't write " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+/**
+ * Thrown when a reflective operation fails.
+ * <p>
+ * Used by the methods not returning a {@link ReflectionUtil.ReflectResponse}.
+ */
+public class ReflectionException extends RuntimeException {
+
+    /**
+     * @param message The detail message
+     */
+    public ReflectionException(String message) {
+        super(message);
+    }
+
+    /**
+     * @param message The detail message
+     * @param cause The cause of the exception
+     */
+    public ReflectionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
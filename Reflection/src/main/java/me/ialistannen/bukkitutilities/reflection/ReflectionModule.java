@@ -1,16 +1,44 @@
 package me.ialistannen.bukkitutilities.reflection;
 
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
 import me.ialistannen.bukkitutilities.modulesystem.AbstractModule;
+import me.ialistannen.bukkitutilities.modulesystem.AdminCommand;
 
 /**
  * The reflection module
  */
 public class ReflectionModule extends AbstractModule {
 
+    private Collection<AdminCommand> adminCommands = Collections.emptyList();
+
     /**
      * Creates the reflection module
      */
     public ReflectionModule() {
         super(getModulePropertiesFromJar(ReflectionModule.class));
     }
+
+    @Override
+    public void onEnable(JavaPlugin corePlugin) {
+        Path dataFolder = corePlugin.getDataFolder().toPath();
+
+        MappingCache.enable(dataFolder.resolve("reflection-mappings.properties"));
+        adminCommands = Collections.singletonList(new ReflectionAdminCommand(dataFolder));
+    }
+
+    @Override
+    public Collection<AdminCommand> getAdminCommands() {
+        return adminCommands;
+    }
+
+    @Override
+    public void onDisable() {
+        MappingCache.disable();
+        ReflectionStatistics.setEnabled(false);
+    }
 }
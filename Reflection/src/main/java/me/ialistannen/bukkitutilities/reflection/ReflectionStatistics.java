@@ -0,0 +1,443 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Member;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MemberPredicate;
+
+/**
+ * Optional instrumentation of the {@link ReflectionUtil} lookups and invocations.
+ * <p>
+ * When enabled, every lookup and invocation is counted and timed per declaring class and member. The
+ * counters are {@link LongAdder}s, so concurrent callers don't contend on them.
+ * <p>
+ * Finding the caller needs a stack walk, so only the first and then about every {@value #SAMPLE_INTERVAL}th
+ * record of a member looks for it. The caller is the plugin owning the first class on the stack that is not
+ * part of BukkitUtilities or the JDK. If there is none, the BukkitUtilities module calling is shown instead.
+ * <p>
+ * Compiled accessors (e.g. {@link ReflectionUtil#compileGetter(java.lang.reflect.Field)}) are not
+ * instrumented, they are what you want to end up with.
+ */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ReflectionStatistics {
+
+    /**
+     * The average amount of records per stack walk
+     */
+    public static final int SAMPLE_INTERVAL = 64;
+
+    private static final String REFLECTION_PACKAGE = ReflectionStatistics.class.getPackage().getName() + ".";
+    private static final String ROOT_PACKAGE = "me.ialistannen.bukkitutilities.";
+    private static final String NOT_FOUND = "<not found>";
+    private static final String UNKNOWN_CALLER = "<unknown>";
+
+    private static volatile boolean enabled;
+
+    /**
+     * The counters per owning class and member. The member is replaced by {@link #NOT_FOUND} if none was found.
+     */
+    private static final ClassCache<ConcurrentMap<Object, Counters>> COUNTERS = new ClassCache<>(
+            type -> new ConcurrentHashMap<>()
+    );
+    private static final ClassCache<String> CALLER_NAMES = new ClassCache<>(ReflectionStatistics::describeCaller);
+    private static final CallerFinder CALLER_FINDER = new CallerFinder();
+
+    private ReflectionStatistics() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * @param enabled True to record lookups and invocations
+     */
+    public static void setEnabled(boolean enabled) {
+        ReflectionStatistics.enabled = enabled;
+    }
+
+    /**
+     * @return True if lookups and invocations are recorded
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Discards all recorded data
+     */
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * Returns a snapshot of the recorded data
+     *
+     * @return All call sites, the most expensive first
+     */
+    public static List<CallSiteStatistics> getStatistics() {
+        List<CallSiteStatistics> result = new ArrayList<>();
+        for (Map.Entry<Class<?>, ConcurrentMap<Object, Counters>> owner : COUNTERS.asMap().entrySet()) {
+            for (Map.Entry<Object, Counters> entry : owner.getValue().entrySet()) {
+                result.add(new CallSiteStatistics(owner.getKey(), entry.getKey(), entry.getValue()));
+            }
+        }
+        result.sort(Comparator.comparingLong(CallSiteStatistics::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Writes the recorded data as tab separated values
+     *
+     * @param file The file to write to. Will be overwritten.
+     *
+     * @throws IOException          if an error occurred writing the file
+     * @throws NullPointerException if file is null
+     */
+    public static void dump(Path file) throws IOException {
+        Objects.requireNonNull(file, "file can not be null");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("owner\tmember\tcaller\tlookups\tuncached lookups\tlookup ns\tinvocations\tinvocation ns");
+            writer.newLine();
+            for (CallSiteStatistics statistics : getStatistics()) {
+                writer.write(String.join(
+                        "\t",
+                        statistics.getOwner(),
+                        statistics.getMember(),
+                        statistics.getCaller(),
+                        Long.toString(statistics.getLookups()),
+                        Long.toString(statistics.getUncachedLookups()),
+                        Long.toString(statistics.getLookupNanos()),
+                        Long.toString(statistics.getInvocations()),
+                        Long.toString(statistics.getInvocationNanos())
+                ));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Starts a measurement
+     *
+     * @return The start time or -1 if disabled
+     */
+    static long start() {
+        return enabled ? System.nanoTime() : -1;
+    }
+
+    /**
+     * Records a lookup
+     *
+     * @param owner The class the member was searched in
+     * @param selector The selector used
+     * @param result The found member or null
+     * @param start The value returned by {@link #start()}
+     */
+    static void recordLookup(Class<?> owner, Predicate<?> selector, Member result, long start) {
+        if (start < 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+
+        Counters counters = counters(owner, result);
+        counters.lookups.increment();
+        counters.lookupNanos.add(duration);
+        if (!isMemoized(selector)) {
+            counters.uncachedLookups.increment();
+        }
+    }
+
+    /**
+     * Records a lookup by name, which is always memoized
+     *
+     * @param owner The class the member was searched in
+     * @param result The found member or null
+     * @param start The value returned by {@link #start()}
+     */
+    static void recordLookup(Class<?> owner, Member result, long start) {
+        if (start < 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+
+        Counters counters = counters(owner, result);
+        counters.lookups.increment();
+        counters.lookupNanos.add(duration);
+    }
+
+    /**
+     * Records an invocation (or field access)
+     *
+     * @param member The invoked member
+     * @param start The value returned by {@link #start()}
+     */
+    static void recordInvocation(Member member, long start) {
+        if (start < 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+
+        Counters counters = counters(member.getDeclaringClass(), member);
+        counters.invocations.increment();
+        counters.invocationNanos.add(duration);
+    }
+
+    /**
+     * @param owner The owning class
+     * @param member The member or null if none was found
+     *
+     * @return The counters for the call site
+     */
+    private static Counters counters(Class<?> owner, Member member) {
+        ConcurrentMap<Object, Counters> ownerCounters = COUNTERS.get(owner);
+        Object key = member == null ? NOT_FOUND : member;
+        Counters counters = ownerCounters.get(key);
+        if (counters == null) {
+            counters = ownerCounters.computeIfAbsent(key, ignored -> new Counters());
+        }
+
+        if (counters.callers.isEmpty() || ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0) {
+            String caller = findCaller();
+            LongAdder samples = counters.callers.get(caller);
+            if (samples == null) {
+                samples = counters.callers.computeIfAbsent(caller, ignored -> new LongAdder());
+            }
+            samples.increment();
+        }
+        return counters;
+    }
+
+    /**
+     * @param selector The selector
+     *
+     * @return True if the result for the selector is memoized
+     */
+    private static boolean isMemoized(Predicate<?> selector) {
+        return selector instanceof MemberPredicate && ((MemberPredicate<?>) selector).getCacheKey() != null;
+    }
+
+    /**
+     * @return The name of the plugin calling, see the class comment
+     */
+    private static String findCaller() {
+        ClassLoader ownLoader = ReflectionStatistics.class.getClassLoader();
+        Class<?> firstOwn = null;
+
+        for (Class<?> clazz : CALLER_FINDER.getClassContext()) {
+            ClassLoader loader = clazz.getClassLoader();
+            if (loader == ownLoader) {
+                if (firstOwn == null && !clazz.getName().startsWith(REFLECTION_PACKAGE)) {
+                    firstOwn = clazz;
+                }
+            }
+            else if (!isServerLoader(loader)) {
+                return CALLER_NAMES.get(clazz);
+            }
+        }
+        return firstOwn == null ? UNKNOWN_CALLER : CALLER_NAMES.get(firstOwn);
+    }
+
+    /**
+     * @param loader The class loader of a class on the stack
+     *
+     * @return True if it loaded the JDK or the server (e.g. Netty), so the class belongs to no plugin
+     */
+    private static boolean isServerLoader(ClassLoader loader) {
+        if (loader == null) {
+            return true;
+        }
+        ClassLoader ownLoader = ReflectionStatistics.class.getClassLoader();
+        for (ClassLoader parent = ownLoader.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == loader) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param caller The calling class
+     *
+     * @return The name of the plugin owning it, with the module for classes of BukkitUtilities
+     */
+    private static String describeCaller(Class<?> caller) {
+        String plugin;
+        try {
+            plugin = JavaPlugin.getProvidingPlugin(caller).getName();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // not loaded by a plugin, e.g. a library of the server
+            return caller.getName();
+        }
+
+        String className = caller.getName();
+        if (caller.getClassLoader() != ReflectionStatistics.class.getClassLoader()
+                || !className.startsWith(ROOT_PACKAGE)) {
+            return plugin;
+        }
+        int moduleEnd = className.indexOf('.', ROOT_PACKAGE.length());
+        return moduleEnd < 0 ? plugin : plugin + " (" + className.substring(ROOT_PACKAGE.length(), moduleEnd) + ")";
+    }
+
+    /**
+     * Exposes the classes on the stack, which is cheaper than building a stack trace
+     */
+    private static final class CallerFinder extends SecurityManager {
+
+        @Override
+        protected Class<?>[] getClassContext() {
+            return super.getClassContext();
+        }
+    }
+
+    /**
+     * The counters of one call site
+     */
+    private static final class Counters {
+        private final LongAdder lookups = new LongAdder();
+        private final LongAdder uncachedLookups = new LongAdder();
+        private final LongAdder lookupNanos = new LongAdder();
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder invocationNanos = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> callers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A snapshot of the recorded data for a call site
+     */
+    public static final class CallSiteStatistics {
+
+        private final String owner;
+        private final String member;
+        private final Map<String, Long> callers;
+        private final long lookups;
+        private final long uncachedLookups;
+        private final long lookupNanos;
+        private final long invocations;
+        private final long invocationNanos;
+
+        /**
+         * @param owner The owning class
+         * @param member The member or {@link #NOT_FOUND}
+         * @param counters Its counters
+         */
+        private CallSiteStatistics(Class<?> owner, Object member, Counters counters) {
+            this.owner = owner.getName();
+            this.member = member instanceof Member ? MappingCache.describe((Member) member) : NOT_FOUND;
+            this.callers = new LinkedHashMap<>();
+            counters.callers.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum())
+                            .reversed())
+                    .forEach(entry -> callers.put(entry.getKey(), entry.getValue().sum()));
+            this.lookups = counters.lookups.sum();
+            this.uncachedLookups = counters.uncachedLookups.sum();
+            this.lookupNanos = counters.lookupNanos.sum();
+            this.invocations = counters.invocations.sum();
+            this.invocationNanos = counters.invocationNanos.sum();
+        }
+
+        /**
+         * @return The name of the class the member was searched in or declared by
+         */
+        public String getOwner() {
+            return owner;
+        }
+
+        /**
+         * @return The name of the member, including parameter types for executables
+         */
+        public String getMember() {
+            return member;
+        }
+
+        /**
+         * @return The plugin calling most often, as far as the samples tell
+         */
+        public String getCaller() {
+            return callers.isEmpty() ? UNKNOWN_CALLER : callers.keySet().iterator().next();
+        }
+
+        /**
+         * Returns the sampled callers
+         * <p>
+         * About every {@value #SAMPLE_INTERVAL}th record is sampled, so the counts are only proportional to
+         * the real amount of calls.
+         *
+         * @return The callers and the amount of samples from them, the most frequent first. Unmodifiable.
+         */
+        public Map<String, Long> getCallers() {
+            return Collections.unmodifiableMap(callers);
+        }
+
+        /**
+         * @return The amount of lookups
+         */
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * @return The amount of lookups whose result is not memoized and needed a full scan
+         */
+        public long getUncachedLookups() {
+            return uncachedLookups;
+        }
+
+        /**
+         * @return The total time spent in lookups, in nanoseconds
+         */
+        public long getLookupNanos() {
+            return lookupNanos;
+        }
+
+        /**
+         * @return The amount of invocations and field accesses
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * @return The total time spent in invocations and field accesses, in nanoseconds
+         */
+        public long getInvocationNanos() {
+            return invocationNanos;
+        }
+
+        /**
+         * @return The total time spent in lookups and invocations, in nanoseconds
+         */
+        public long getTotalNanos() {
+            return lookupNanos + invocationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    Locale.ROOT,
+                    "%s#%s from %s: %d lookups (%d uncached) %d us, %d invocations %d us",
+                    owner, member, getCaller(),
+                    lookups, uncachedLookups, TimeUnit.NANOSECONDS.toMicros(lookupNanos),
+                    invocations, TimeUnit.NANOSECONDS.toMicros(invocationNanos)
+            );
+        }
+    }
+}
@@ -10,16 +10,26 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import org.bukkit.Bukkit;
 
+import me.ialistannen.bukkitutilities.modulesystem.TypeHierarchy;
+
 import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse.ResultType;
 
 /**
@@ -28,6 +38,8 @@ import static me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectRe
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class ReflectionUtil {
 
+    private static final Logger LOGGER = Logger.getLogger("ReflectionUtil");
+
     private static final String SERVER_VERSION;
 
     // <editor-fold desc="INIT">
@@ -99,6 +111,8 @@ public class ReflectionUtil {
 
     /**
      * Returns the class with the given name in the given package
+     * <p>
+     * The result is cached, so a class that wasn't found is only searched (and logged) once.
      *
      * @param nameSpace The {@link NameSpace} of the class
      * @param qualifiedName The qualified name of the class inside the
@@ -112,8 +126,48 @@ public class ReflectionUtil {
         Objects.requireNonNull(nameSpace, "nameSpace can not be null");
         Objects.requireNonNull(qualifiedName, "qualifiedName can not be null");
 
-        String fullyQualifiedName = nameSpace.resolve(qualifiedName);
-        return classForName(fullyQualifiedName);
+        return nameSpace.findClass(qualifiedName);
+    }
+
+    /**
+     * Resolves all the given classes in one go. Useful to resolve everything you need at startup.
+     *
+     * @param nameSpace The {@link NameSpace} of the classes
+     * @param qualifiedNames The qualified names of the classes inside the {@link NameSpace}
+     *
+     * @return A map with the qualified name as key and the class, if found, as value. Has the same
+     * iteration order as the passed names.
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #getClass(NameSpace, String)
+     */
+    public static Map<String, Optional<Class<?>>> resolveAll(NameSpace nameSpace,
+                                                            Collection<String> qualifiedNames) {
+        Objects.requireNonNull(nameSpace, "nameSpace can not be null");
+        Objects.requireNonNull(qualifiedNames, "qualifiedNames can not be null");
+
+        Map<String, Optional<Class<?>>> result = new LinkedHashMap<>();
+        for (String qualifiedName : qualifiedNames) {
+            result.put(qualifiedName, getClass(nameSpace, qualifiedName));
+        }
+        return result;
+    }
+
+    /**
+     * Resolves all the given classes in one go. Useful to resolve everything you need at startup.
+     *
+     * @param nameSpace The {@link NameSpace} of the classes
+     * @param qualifiedNames The qualified names of the classes inside the {@link NameSpace}
+     *
+     * @return A map with the qualified name as key and the class, if found, as value
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #resolveAll(NameSpace, Collection)
+     */
+    public static Map<String, Optional<Class<?>>> resolveAll(NameSpace nameSpace, String... qualifiedNames) {
+        Objects.requireNonNull(qualifiedNames, "qualifiedNames can not be null");
+
+        return resolveAll(nameSpace, Arrays.asList(qualifiedNames));
     }
 
     /**
@@ -166,7 +220,7 @@ public class ReflectionUtil {
         try {
             return Optional.ofNullable(Class.forName(fullyQualifiedName));
         } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+            LOGGER.log(Level.FINE, "Class not found: " + fullyQualifiedName, e);
         }
         return Optional.empty();
     }
@@ -182,19 +236,11 @@ public class ReflectionUtil {
      *
      * @return True if {@code toCheck} somehow inherits from
      * {@code inheritedClass}
+     *
+     * @see TypeHierarchy#isSubtypeOf(Class, Class)
      */
     public static boolean inheritsFrom(Class<?> toCheck, Class<?> inheritedClass) {
-        if (inheritedClass.isAssignableFrom(toCheck)) {
-            return true;
-        }
-
-        for (Class<?> implementedInterface : toCheck.getInterfaces()) {
-            if (inheritsFrom(implementedInterface, inheritedClass)) {
-                return true;
-            }
-        }
-
-        return false;
+        return TypeHierarchy.isSubtypeOf(toCheck, inheritedClass);
     }
 
     // <editor-fold desc="Fields">
@@ -214,12 +260,14 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Field> first = getFields(clazz).filter(selector).findFirst();
+        long start = ReflectionStatistics.start();
+        Field field = MemberIndex.of(clazz).fields().findFirst(selector);
+        ReflectionStatistics.recordLookup(clazz, selector, field, start);
 
-        if (!first.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+        if (field == null) {
+            return ReflectResponse.notFound();
         }
-        return new ReflectResponse<>(first.get());
+        return new ReflectResponse<>(field);
     }
 
     /**
@@ -250,8 +298,122 @@ public class ReflectionUtil {
      * @return The fields of the class
      */
     private static Stream<Field> getFields(Class<?> clazz) {
-        return Stream.concat(
-                Arrays.stream(clazz.getDeclaredFields()), Arrays.stream(clazz.getFields())).distinct();
+        return Arrays.stream(MemberIndex.of(clazz).fields().getMembers());
+    }
+
+    /**
+     * Returns the fields of the class and <b>all</b> its superclasses and interfaces, filtered by the
+     * given Predicate.
+     * <p>
+     * Unlike {@link #getFields(Class, Predicate)} this includes private fields of the superclasses. The
+     * fields of the class come first, then the ones of the superclasses, nearest first. A field shadowing
+     * another one therefore comes before it.
+     *
+     * @param clazz The Class to get the fields for
+     * @param predicate The Predicate to use to filter the fields
+     *
+     * @return The fields of the class hierarchy
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    public static Stream<Field> getHierarchyFields(Class<?> clazz, Predicate<Field> predicate) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(predicate, "predicate can not be null");
+
+        return Arrays.stream(MemberIndex.of(clazz).hierarchyFields().getMembers()).filter(predicate);
+    }
+
+    /**
+     * Returns the first field in the class hierarchy matching the selector
+     *
+     * @param clazz The Class to start searching in
+     * @param selector The Selector function to use
+     *
+     * @return The first field matching the selector
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #getHierarchyFields(Class, Predicate)
+     */
+    public static ReflectResponse<Field> getHierarchyField(Class<?> clazz, Predicate<Field> selector) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(selector, "selector can not be null");
+
+        long start = ReflectionStatistics.start();
+        Field field = MemberIndex.of(clazz).hierarchyFields().findFirst(selector);
+        ReflectionStatistics.recordLookup(clazz, selector, field, start);
+
+        if (field == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(field);
+    }
+
+    /**
+     * Returns the field with the given name, as visible from the class
+     *
+     * @param clazz The Class to start searching in
+     * @param name The exact name of the field. <b>Not</b> a RegEx.
+     *
+     * @return The field. If it is shadowed, the one nearest to the class.
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #getHierarchyFields(Class, Predicate)
+     */
+    public static ReflectResponse<Field> getHierarchyField(Class<?> clazz, String name) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(name, "name can not be null");
+
+        long start = ReflectionStatistics.start();
+        Field field = MemberIndex.of(clazz).hierarchyFields().findByName(name);
+        ReflectionStatistics.recordLookup(clazz, field, start);
+
+        if (field == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(field);
+    }
+
+    /**
+     * Returns the first field with the given name
+     *
+     * @param clazz The Class to get the field from
+     * @param name The name of the field. Is a <b>RegEx</b>
+     *
+     * @return The field or null if not found
+     */
+    private static Field getFieldByName(Class<?> clazz, String name) {
+        long start = ReflectionStatistics.start();
+        Field field;
+        if (MemberPredicate.isLiteral(name)) {
+            field = MemberIndex.of(clazz).fields().findByName(name);
+        }
+        else {
+            field = MemberIndex.of(clazz).fields().findFirst(new MemberPredicate<Field>().withName(name));
+        }
+        ReflectionStatistics.recordLookup(clazz, field, start);
+        return field;
+    }
+
+    /**
+     * Returns the field with the given name without creating a {@link ReflectResponse}
+     *
+     * @param name The name of the field
+     * @param clazz The class to get the field from
+     *
+     * @return The field
+     *
+     * @throws NullPointerException if any parameter is null
+     * @throws ReflectionException  if the field wasn't found
+     */
+    public static Field getFieldUnchecked(String name, Class<?> clazz) {
+        Objects.requireNonNull(name, "name can not be null");
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        Field field = getFieldByName(clazz, name);
+        if (field == null) {
+            throw new ReflectionException("Field '" + name + "' not found in " + clazz.getName());
+        }
+        return field;
     }
 
     /**
@@ -272,7 +434,7 @@ public class ReflectionUtil {
 
         ReflectResponse<Field> field = getField(clazz, selector);
         if (!field.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return getFieldValue(field.getValue(), handle);
@@ -294,7 +456,12 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(name, "name can not be null");
 
-        return getFieldValue(clazz, handle, new MemberPredicate<Field>().withName(name));
+        Field field = getFieldByName(clazz, name);
+        if (field == null) {
+            return ReflectResponse.notFound();
+        }
+
+        return getFieldValue(field, handle);
     }
 
     /**
@@ -311,6 +478,7 @@ public class ReflectionUtil {
     public static ReflectResponse<Object> getFieldValue(Field field, Object handle) {
         Objects.requireNonNull(field, "field can not be null");
 
+        long start = ReflectionStatistics.start();
         try {
             field.setAccessible(true);
             return new ReflectResponse<>(field.get(handle));
@@ -319,6 +487,8 @@ public class ReflectionUtil {
             // from it.
             e.printStackTrace();
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionStatistics.recordInvocation(field, start);
         }
     }
 
@@ -337,15 +507,18 @@ public class ReflectionUtil {
     public static ReflectResponse<Void> setFieldValue(Field field, Object handle, Object value) {
         Objects.requireNonNull(field, "field can not be null");
 
+        long start = ReflectionStatistics.start();
         try {
             field.setAccessible(true);
             field.set(handle, value);
-            return new ReflectResponse<>(ResultType.SUCCESSFUL);
+            return ReflectResponse.successfulVoid();
         } catch (IllegalAccessException e) {
             // This method must be logged. It is critical and you can't recover
             // from it.
             e.printStackTrace();
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionStatistics.recordInvocation(field, start);
         }
     }
 
@@ -370,7 +543,7 @@ public class ReflectionUtil {
 
         ReflectResponse<Field> field = getField(clazz, selector);
         if (!field.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return setFieldValue(field.getValue(), handle, value);
@@ -394,7 +567,112 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        return setFieldValue(clazz, new MemberPredicate<Field>().withName(selector), handle, value);
+        Field field = getFieldByName(clazz, selector);
+        if (field == null) {
+            return ReflectResponse.notFound();
+        }
+
+        return setFieldValue(field, handle, value);
+    }
+
+    /**
+     * Returns the value of a field without wrapping it in a {@link ReflectResponse}
+     *
+     * @param field The field to get
+     * @param handle The handle to get it for
+     *
+     * @return The value of the field
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field couldn't be accessed
+     * @see #getFieldValue(Field, Object)
+     */
+    public static Object getFieldValueUnchecked(Field field, Object handle) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        long start = ReflectionStatistics.start();
+        try {
+            field.setAccessible(true);
+            return field.get(handle);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access field " + field, e);
+        } finally {
+            ReflectionStatistics.recordInvocation(field, start);
+        }
+    }
+
+    /**
+     * Returns the value of a field without wrapping it in a {@link ReflectResponse}
+     *
+     * @param name The name of the field
+     * @param clazz The clazz get the Field from
+     * @param handle The handle to get it for
+     *
+     * @return The value of the field
+     *
+     * @throws NullPointerException if clazz or name is null
+     * @throws ReflectionException  if the field wasn't found or couldn't be accessed
+     * @see #getFieldValue(String, Class, Object)
+     */
+    public static Object getFieldValueUnchecked(String name, Class<?> clazz, Object handle) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(name, "name can not be null");
+
+        Field field = getFieldByName(clazz, name);
+        if (field == null) {
+            throw new ReflectionException("Field '" + name + "' not found in " + clazz.getName());
+        }
+
+        return getFieldValueUnchecked(field, handle);
+    }
+
+    /**
+     * Sets the value of a field without creating a {@link ReflectResponse}
+     *
+     * @param field The field to set the value for
+     * @param handle The handle to set it for
+     * @param value The value to set it to
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field couldn't be accessed
+     * @see #setFieldValue(Field, Object, Object)
+     */
+    public static void setFieldValueUnchecked(Field field, Object handle, Object value) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        long start = ReflectionStatistics.start();
+        try {
+            field.setAccessible(true);
+            field.set(handle, value);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access field " + field, e);
+        } finally {
+            ReflectionStatistics.recordInvocation(field, start);
+        }
+    }
+
+    /**
+     * Sets the value of a field without creating a {@link ReflectResponse}
+     *
+     * @param name The name of the field
+     * @param clazz The clazz get the field from
+     * @param handle The handle to set it for
+     * @param value The value to set it to
+     *
+     * @throws NullPointerException if clazz or name is null
+     * @throws ReflectionException  if the field wasn't found or couldn't be accessed
+     * @see #setFieldValue(String, Class, Object, Object)
+     */
+    public static void setFieldValueUnchecked(String name, Class<?> clazz, Object handle, Object value) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(name, "name can not be null");
+
+        Field field = getFieldByName(clazz, name);
+        if (field == null) {
+            throw new ReflectionException("Field '" + name + "' not found in " + clazz.getName());
+        }
+
+        setFieldValueUnchecked(field, handle, value);
     }
     // </editor-fold>
 
@@ -415,12 +693,14 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Method> firstMethod = getMethods(clazz).filter(selector).findFirst();
+        long start = ReflectionStatistics.start();
+        Method method = MemberIndex.of(clazz).methods().findFirst(selector);
+        ReflectionStatistics.recordLookup(clazz, selector, method, start);
 
-        if (!firstMethod.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+        if (method == null) {
+            return ReflectResponse.notFound();
         }
-        return new ReflectResponse<>(firstMethod.get());
+        return new ReflectResponse<>(method);
     }
 
     /**
@@ -438,9 +718,14 @@ public class ReflectionUtil {
         Objects.requireNonNull(method, "method can not be null");
         Objects.requireNonNull(params, "params can not be null");
 
+        long start = ReflectionStatistics.start();
         try {
             method.setAccessible(true);
-            return new ReflectResponse<>(method.invoke(handle, params));
+            Object result = method.invoke(handle, params);
+            if (method.getReturnType() == void.class) {
+                return ReflectResponse.successfulVoid();
+            }
+            return new ReflectResponse<>(result);
         } catch (IllegalAccessException e) {
             // This method must be logged. It is critical and you can't recover
             // from it.
@@ -448,6 +733,8 @@ public class ReflectionUtil {
             return new ReflectResponse<>(e);
         } catch (InvocationTargetException | IllegalArgumentException e) {
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionStatistics.recordInvocation(method, start);
         }
     }
 
@@ -472,12 +759,45 @@ public class ReflectionUtil {
 
         ReflectResponse<Method> method = getMethod(clazz, selector);
         if (!method.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return invokeMethod(method.getValue(), handle, params);
     }
 
+    /**
+     * Invokes a method without wrapping the result in a {@link ReflectResponse}
+     * <p>
+     * Unchecked exceptions thrown by the method are passed through, checked ones are wrapped in a
+     * {@link ReflectionException}.
+     *
+     * @param method The method to invoke
+     * @param handle The handle of the method
+     * @param params The parameters of the method
+     *
+     * @return The result of invoking the method
+     *
+     * @throws NullPointerException if any parameter (except handle) is null
+     * @throws ReflectionException  if the method couldn't be accessed
+     * @see #invokeMethod(Method, Object, Object...)
+     */
+    public static Object invokeMethodUnchecked(Method method, Object handle, Object... params) {
+        Objects.requireNonNull(method, "method can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        long start = ReflectionStatistics.start();
+        try {
+            method.setAccessible(true);
+            return method.invoke(handle, params);
+        } catch (IllegalAccessException e) {
+            throw new ReflectionException("Couldn't access method " + method, e);
+        } catch (InvocationTargetException e) {
+            throw AccessorCompiler.propagate(e.getCause());
+        } finally {
+            ReflectionStatistics.recordInvocation(method, start);
+        }
+    }
+
     /**
      * Invokes an instance method
      *
@@ -551,7 +871,82 @@ public class ReflectionUtil {
      * @return All the methods in the class.
      */
     private static Stream<Method> getMethods(Class<?> clazz) {
-        return Stream.concat(Arrays.stream(clazz.getMethods()), Arrays.stream(clazz.getDeclaredMethods())).distinct();
+        return Arrays.stream(MemberIndex.of(clazz).methods().getMembers());
+    }
+
+    /**
+     * Returns the methods of the class and <b>all</b> its superclasses and interfaces, filtered by the
+     * given predicate
+     * <p>
+     * Unlike {@link #getMethods(Class, Predicate)} this includes private methods of the superclasses.
+     * Overridden methods are left out, only the most specific declaration of a signature is returned.
+     * The methods of the class come first, then the ones of the superclasses (nearest first) and then the
+     * ones of the interfaces.
+     *
+     * @param clazz The Class to get the methods from
+     * @param predicate The predicate to use to filter
+     *
+     * @return The methods of the class hierarchy
+     *
+     * @throws NullPointerException if any parameter is null
+     */
+    public static Stream<Method> getHierarchyMethods(Class<?> clazz, Predicate<Method> predicate) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(predicate, "predicate can not be null");
+
+        return Arrays.stream(MemberIndex.of(clazz).hierarchyMethods().getMembers()).filter(predicate);
+    }
+
+    /**
+     * Returns the first method in the class hierarchy matching the selector
+     *
+     * @param clazz The class to start searching in
+     * @param selector The Selector function to use
+     *
+     * @return The first method matching the selector
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #getHierarchyMethods(Class, Predicate)
+     */
+    public static ReflectResponse<Method> getHierarchyMethod(Class<?> clazz, Predicate<Method> selector) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(selector, "selector can not be null");
+
+        long start = ReflectionStatistics.start();
+        Method method = MemberIndex.of(clazz).hierarchyMethods().findFirst(selector);
+        ReflectionStatistics.recordLookup(clazz, selector, method, start);
+
+        if (method == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(method);
+    }
+
+    /**
+     * Returns the most specific method with the given signature in the class hierarchy
+     *
+     * @param clazz The class to start searching in
+     * @param name The exact name of the method. <b>Not</b> a RegEx.
+     * @param params The exact parameter types of the method
+     *
+     * @return The method
+     *
+     * @throws NullPointerException if any parameter is null
+     * @see #getHierarchyMethods(Class, Predicate)
+     */
+    public static ReflectResponse<Method> getHierarchyMethod(Class<?> clazz, String name, Class<?>... params) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(name, "name can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        long start = ReflectionStatistics.start();
+        Method method = MemberIndex.of(clazz).hierarchyMethods().findBySignature(MemberIndex.signature(name, params));
+        ReflectionStatistics.recordLookup(clazz, method, start);
+
+        if (method == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(method);
     }
     // </editor-fold>
 
@@ -572,13 +967,15 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(selector, "selector can not be null");
 
-        Optional<Constructor<?>> firstConstructor = getAllConstructors(clazz).filter(selector).findFirst();
+        long start = ReflectionStatistics.start();
+        Constructor<?> constructor = MemberIndex.of(clazz).constructors().findFirst(selector);
+        ReflectionStatistics.recordLookup(clazz, selector, constructor, start);
 
-        if (!firstConstructor.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+        if (constructor == null) {
+            return ReflectResponse.notFound();
         }
 
-        return new ReflectResponse<>(firstConstructor.get());
+        return new ReflectResponse<>(constructor);
     }
 
     /**
@@ -613,6 +1010,7 @@ public class ReflectionUtil {
         Objects.requireNonNull(constructor, "constructor can not be null");
         Objects.requireNonNull(params, "params can not be null");
 
+        long start = ReflectionStatistics.start();
         try {
             constructor.setAccessible(true);
             return new ReflectResponse<>(constructor.newInstance(params));
@@ -621,6 +1019,41 @@ public class ReflectionUtil {
             return new ReflectResponse<>(e);
         } catch (InstantiationException | InvocationTargetException | IllegalArgumentException e) {
             return new ReflectResponse<>(e);
+        } finally {
+            ReflectionStatistics.recordInvocation(constructor, start);
+        }
+    }
+
+    /**
+     * Instantiates the constructor without wrapping the result in a {@link ReflectResponse}
+     * <p>
+     * Unchecked exceptions thrown by the constructor are passed through, checked ones are wrapped in a
+     * {@link ReflectionException}.
+     *
+     * @param constructor The constructor
+     * @param params The parameters to pass
+     * @param <T> The type of the class to instantiate
+     *
+     * @return The instantiated Object
+     *
+     * @throws NullPointerException if any parameter is null
+     * @throws ReflectionException  if the constructor couldn't be accessed or the class is abstract
+     * @see #instantiate(Constructor, Object...)
+     */
+    public static <T> T instantiateUnchecked(Constructor<T> constructor, Object... params) {
+        Objects.requireNonNull(constructor, "constructor can not be null");
+        Objects.requireNonNull(params, "params can not be null");
+
+        long start = ReflectionStatistics.start();
+        try {
+            constructor.setAccessible(true);
+            return constructor.newInstance(params);
+        } catch (IllegalAccessException | InstantiationException e) {
+            throw new ReflectionException("Couldn't instantiate " + constructor, e);
+        } catch (InvocationTargetException e) {
+            throw AccessorCompiler.propagate(e.getCause());
+        } finally {
+            ReflectionStatistics.recordInvocation(constructor, start);
         }
     }
 
@@ -644,7 +1077,7 @@ public class ReflectionUtil {
         ReflectResponse<Constructor<?>> constructor = getConstructor(clazz, selector);
 
         if (!constructor.isValuePresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+            return ReflectResponse.notFound();
         }
 
         return instantiate(constructor.getValue(), params);
@@ -678,8 +1111,7 @@ public class ReflectionUtil {
      * @return All the {@link Constructor}s of that class
      */
     private static Stream<Constructor<?>> getAllConstructors(Class<?> clazz) {
-        return Stream.concat(Arrays.stream(clazz.getConstructors()), Arrays.stream(clazz.getDeclaredConstructors()))
-                .distinct();
+        return Arrays.stream(MemberIndex.of(clazz).constructors().getMembers());
     }
     // </editor-fold>
 
@@ -701,24 +1133,18 @@ public class ReflectionUtil {
         Objects.requireNonNull(clazz, "clazz can not be null");
         Objects.requireNonNull(predicate, "predicate can not be null");
 
-        if (!clazz.isEnum()) {
-            throw new IllegalArgumentException("The class is no enum: " + clazz.getName());
-        }
-
-        Optional<? extends Enum<?>> anEnum = Arrays.stream(clazz.getEnumConstants())
-                .map(o -> (Enum<?>) o)
-                .filter(predicate)
-                .findFirst();
-
-        if (!anEnum.isPresent()) {
-            return new ReflectResponse<>(ResultType.NOT_FOUND);
+        for (Enum<?> constant : EnumTable.of(clazz).constants()) {
+            if (predicate.test(constant)) {
+                return new ReflectResponse<>(constant);
+            }
         }
-
-        return new ReflectResponse<>(anEnum.get());
+        return ReflectResponse.notFound();
     }
 
     /**
      * Tries to find an enum constant.
+     * <p>
+     * The constants are looked up in a table built once per enum.
      *
      * @param clazz The class to get it from
      * @param name The name it should match. Case sensitive.
@@ -729,7 +1155,375 @@ public class ReflectionUtil {
      * @throws IllegalArgumentException if 'clazz' is not an enum
      */
     public static ReflectResponse<Enum<?>> getEnumConstant(Class<?> clazz, String name) {
-        return getEnumConstant(clazz, anEnum -> anEnum.name().equals(name));
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(name, "name can not be null");
+
+        Enum<?> constant = EnumTable.of(clazz).byName(name);
+        if (constant == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(constant);
+    }
+
+    /**
+     * Tries to find an enum constant.
+     * <p>
+     * The constants are looked up in a table built once per enum.
+     *
+     * @param clazz The class to get it from
+     * @param ordinal The ordinal of the constant
+     *
+     * @return The found constant.
+     *
+     * @throws NullPointerException     if clazz is null
+     * @throws IllegalArgumentException if 'clazz' is not an enum
+     */
+    public static ReflectResponse<Enum<?>> getEnumConstant(Class<?> clazz, int ordinal) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        Enum<?> constant = EnumTable.of(clazz).byOrdinal(ordinal);
+        if (constant == null) {
+            return ReflectResponse.notFound();
+        }
+        return new ReflectResponse<>(constant);
+    }
+
+    /**
+     * Maps the constants of one enum to the constants of another enum with the same name
+     *
+     * @param source The source enum, e.g. {@code org.bukkit.Particle}
+     * @param target The target enum, e.g. the NMS {@code EnumParticle}
+     * @param <S> The type of the source enum
+     *
+     * @return The mapping. Store it, building it iterates both enums.
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if 'target' is not an enum
+     * @see #mapEnum(Class, Class, Function)
+     */
+    public static <S extends Enum<S>> EnumMapping<S> mapEnum(Class<S> source, Class<?> target) {
+        return mapEnum(source, target, Enum::name);
+    }
+
+    /**
+     * Maps the constants of one enum to the constants of another enum
+     *
+     * @param source The source enum, e.g. {@code org.bukkit.Particle}
+     * @param target The target enum, e.g. the NMS {@code EnumParticle}
+     * @param nameFunction Returns the name of the target constant for a source constant. May return null if
+     * the constant has no counterpart.
+     * @param <S> The type of the source enum
+     *
+     * @return The mapping. Store it, building it iterates both enums.
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if 'target' is not an enum
+     */
+    public static <S extends Enum<S>> EnumMapping<S> mapEnum(Class<S> source, Class<?> target,
+                                                             Function<? super S, String> nameFunction) {
+        Objects.requireNonNull(source, "source can not be null");
+        Objects.requireNonNull(target, "target can not be null");
+        Objects.requireNonNull(nameFunction, "nameFunction can not be null");
+
+        return new EnumMapping<>(source, target, nameFunction);
+    }
+    // </editor-fold>
+
+    // <editor-fold desc="Compiled accessors">
+    // ==== COMPILED ACCESSORS ====
+
+    /**
+     * Compiles a getter for the field, backed by a {@link java.lang.invoke.MethodHandle}.
+     * <p>
+     * The getter is cached, so calling this method multiple times for the same field returns the same
+     * instance. Store it in a static final field anyways, to skip the cache lookup.
+     *
+     * @param field The field to compile the getter for
+     * @param <T> The type of the field
+     *
+     * @return The compiled getter
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field couldn't be made accessible
+     */
+    public static <T> FieldGetter<T> compileGetter(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(FieldGetter.class, field, AccessorCompiler::compileGetter);
+    }
+
+    /**
+     * Compiles a setter for the field, backed by a {@link java.lang.invoke.MethodHandle}.
+     * <p>
+     * The setter is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the setter for
+     * @param <T> The type of the field
+     *
+     * @return The compiled setter
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is static final or couldn't be made accessible
+     */
+    public static <T> FieldSetter<T> compileSetter(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(FieldSetter.class, field, AccessorCompiler::compileSetter);
+    }
+
+    /**
+     * Compiles an accessor for an {@code int} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not an {@code int}, static final or couldn't be made accessible
+     */
+    public static IntFieldAccessor compileIntAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                IntFieldAccessor.class, field, AccessorCompiler::compileIntAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code long} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code long}, static final or couldn't be made accessible
+     */
+    public static LongFieldAccessor compileLongAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                LongFieldAccessor.class, field, AccessorCompiler::compileLongAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code double} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code double}, static final or couldn't be made accessible
+     */
+    public static DoubleFieldAccessor compileDoubleAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                DoubleFieldAccessor.class, field, AccessorCompiler::compileDoubleAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code float} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code float}, static final or couldn't be made accessible
+     */
+    public static FloatFieldAccessor compileFloatAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                FloatFieldAccessor.class, field, AccessorCompiler::compileFloatAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code short} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code short}, static final or couldn't be made accessible
+     */
+    public static ShortFieldAccessor compileShortAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                ShortFieldAccessor.class, field, AccessorCompiler::compileShortAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code byte} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code byte}, static final or couldn't be made accessible
+     */
+    public static ByteFieldAccessor compileByteAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                ByteFieldAccessor.class, field, AccessorCompiler::compileByteAccessor
+        );
+    }
+
+    /**
+     * Compiles an accessor for a {@code boolean} field, reading and writing it without boxing.
+     * <p>
+     * The accessor is cached, so calling this method multiple times for the same field returns the same
+     * instance.
+     *
+     * @param field The field to compile the accessor for
+     *
+     * @return The compiled accessor
+     *
+     * @throws NullPointerException if field is null
+     * @throws ReflectionException  if the field is not a {@code boolean}, static final or couldn't be made accessible
+     */
+    public static BooleanFieldAccessor compileBooleanAccessor(Field field) {
+        Objects.requireNonNull(field, "field can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                BooleanFieldAccessor.class, field, AccessorCompiler::compileBooleanAccessor
+        );
+    }
+
+    /**
+     * Compiles a copier for all instance fields of the class and its superclasses.
+     * <p>
+     * The copier is cached, so calling this method multiple times for the same class returns the same
+     * instance.
+     *
+     * @param clazz The class to compile the copier for
+     * @param <T> The type of the class
+     *
+     * @return The compiled copier
+     *
+     * @throws NullPointerException if clazz is null
+     * @throws ReflectionException  if a field couldn't be made accessible
+     * @see #compileCopier(Class, Predicate)
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ObjectCopier<T> compileCopier(Class<T> clazz) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+
+        // read directly, skipping the field list the selector version needs for its cache key
+        MemberIndex index = MemberIndex.of(clazz);
+        ObjectCopier<?> copier = index.allFieldsCopier();
+        if (copier == null) {
+            copier = compileCopier(clazz, field -> true);
+            index.setAllFieldsCopier(copier);
+        }
+        return (ObjectCopier<T>) copier;
+    }
+
+    /**
+     * Compiles a copier for the selected instance fields of the class and its superclasses.
+     * <p>
+     * All fields are copied by a single {@link java.lang.invoke.MethodHandle}, without looking them up or
+     * boxing primitive values. Copiers are cached by the selected fields, so calling this method multiple
+     * times with a selector matching the same fields returns the same instance.
+     *
+     * @param clazz The class to compile the copier for
+     * @param selector Selects the fields to copy. Static fields are never copied.
+     * @param <T> The type of the class
+     *
+     * @return The compiled copier
+     *
+     * @throws NullPointerException if any parameter is null
+     * @throws ReflectionException  if a field couldn't be made accessible
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ObjectCopier<T> compileCopier(Class<T> clazz, Predicate<Field> selector) {
+        Objects.requireNonNull(clazz, "clazz can not be null");
+        Objects.requireNonNull(selector, "selector can not be null");
+
+        MemberIndex index = MemberIndex.of(clazz);
+        List<Field> fields = new ArrayList<>();
+        for (Field field : index.hierarchyFields().getMembers()) {
+            if (!Modifier.STATIC.isSet(field.getModifiers()) && selector.test(field)) {
+                fields.add(field);
+            }
+        }
+
+        return (ObjectCopier<T>) index.copiers().computeIfAbsent(
+                fields, key -> AccessorCompiler.compileCopier(clazz, key)
+        );
+    }
+
+    /**
+     * Compiles an invoker for the method, backed by a {@link java.lang.invoke.MethodHandle}.
+     * <p>
+     * The invoker is cached, so calling this method multiple times for the same method returns the same
+     * instance. Use the fixed arity methods, like {@link MethodInvoker#invoke1(Object, Object)}, on hot paths:
+     * they don't create a parameter array.
+     *
+     * @param method The method to compile the invoker for
+     * @param <R> The return type of the method
+     *
+     * @return The compiled invoker
+     *
+     * @throws NullPointerException if method is null
+     * @throws ReflectionException  if the method couldn't be made accessible
+     */
+    public static <R> MethodInvoker<R> compileInvoker(Method method) {
+        Objects.requireNonNull(method, "method can not be null");
+
+        return AccessorCompiler.getOrCompile(MethodInvoker.class, method, AccessorCompiler::compileInvoker);
+    }
+
+    /**
+     * Compiles an invoker for the constructor, backed by a {@link java.lang.invoke.MethodHandle}.
+     * <p>
+     * The invoker is cached, so calling this method multiple times for the same constructor returns the
+     * same instance. Use the fixed arity methods, like {@link ConstructorInvoker#newInstance1(Object)}, on hot
+     * paths: they don't create a parameter array.
+     *
+     * @param constructor The constructor to compile the invoker for
+     * @param <T> The type of the class to instantiate
+     *
+     * @return The compiled invoker
+     *
+     * @throws NullPointerException if constructor is null
+     * @throws ReflectionException  if the constructor couldn't be made accessible
+     */
+    public static <T> ConstructorInvoker<T> compileConstructor(Constructor<T> constructor) {
+        Objects.requireNonNull(constructor, "constructor can not be null");
+
+        return AccessorCompiler.getOrCompile(
+                ConstructorInvoker.class, constructor, AccessorCompiler::compileConstructor
+        );
     }
     // </editor-fold>
 
@@ -755,6 +1549,7 @@ public class ReflectionUtil {
 
         private Pattern detectionPattern;
         private Function<String, String> resolverFunction;
+        private final Map<String, Optional<Class<?>>> classCache = new ConcurrentHashMap<>();
 
         /**
          * @param detectionPattern The pattern to identify this type
@@ -805,6 +1600,22 @@ public class ReflectionUtil {
             return resolverFunction.apply(removePattern(className));
         }
 
+        /**
+         * Finds a class in this namespace. Remembers found and missing classes.
+         *
+         * @param className The class name to find
+         *
+         * @return The class, if found
+         */
+        private Optional<Class<?>> findClass(String className) {
+            Optional<Class<?>> cached = classCache.get(className);
+            if (cached == null) {
+                cached = classForName(resolve(className));
+                classCache.putIfAbsent(className, cached);
+            }
+            return cached;
+        }
+
         /**
          * Returns the {@link NameSpace} which contains the identifier
          *
@@ -832,9 +1643,13 @@ public class ReflectionUtil {
      * @param <T> The class that is wrapped
      */
     public static class ReflectResponse <T> {
-        private T value;
-        private ResultType resultType;
-        private Throwable exception;
+
+        private static final ReflectResponse<?> NOT_FOUND = new ReflectResponse<>(ResultType.NOT_FOUND);
+        private static final ReflectResponse<?> SUCCESSFUL_VOID = new ReflectResponse<>(ResultType.SUCCESSFUL);
+
+        private final T value;
+        private final ResultType resultType;
+        private final Throwable exception;
 
         private ReflectResponse(T value, ResultType resultType, Throwable exception) {
             this.value = value;
@@ -869,7 +1684,44 @@ public class ReflectionUtil {
          * @param resultType The type of the result.
          */
         private ReflectResponse(ResultType resultType) {
-            this.resultType = resultType;
+            this(null, resultType, null);
+        }
+
+        /**
+         * Returns the shared {@link ResultType#NOT_FOUND} response
+         *
+         * @param <T> The type of the response
+         *
+         * @return The shared response. Immutable, so it is safe to reuse.
+         */
+        @SuppressWarnings({"unchecked", "WeakerAccess"})
+        public static <T> ReflectResponse<T> notFound() {
+            return (ReflectResponse<T>) NOT_FOUND;
+        }
+
+        /**
+         * Returns the shared {@link ResultType#SUCCESSFUL} response without a value
+         *
+         * @param <T> The type of the response
+         *
+         * @return The shared response. Immutable, so it is safe to reuse.
+         */
+        @SuppressWarnings({"unchecked", "WeakerAccess"})
+        public static <T> ReflectResponse<T> successfulVoid() {
+            return (ReflectResponse<T>) SUCCESSFUL_VOID;
+        }
+
+        /**
+         * Creates a {@link ResultType#SUCCESSFUL} response, e.g. for the result of a compiled accessor
+         *
+         * @param value The value. May be null.
+         * @param <T> The type of the response
+         *
+         * @return The response
+         */
+        @SuppressWarnings("WeakerAccess")
+        public static <T> ReflectResponse<T> successful(T value) {
+            return new ReflectResponse<>(value);
         }
 
         /**
@@ -898,15 +1750,17 @@ public class ReflectionUtil {
          * null, but empty
          *
          * @return The raw value
+         *
+         * @throws ReflectionException if the result is not {@link ResultType#SUCCESSFUL}
          */
         public T getValueOrThrow(String... messages) {
             Objects.requireNonNull(messages, "messages can not be null!");
 
             if (getResultType() == ResultType.ERROR) {
-                throw new RuntimeException(String.join(" - ", messages), getException());
+                throw new ReflectionException(String.join(" - ", messages), getException());
             }
             else if (getResultType() == ResultType.NOT_FOUND) {
-                throw new RuntimeException(String.join(" - ", messages) + " Result was 'NOT_FOUND'");
+                throw new ReflectionException(String.join(" - ", messages) + " Result was 'NOT_FOUND'");
             }
             return getValue();
         }
@@ -1071,6 +1925,73 @@ public class ReflectionUtil {
             return this;
         }
 
+        /**
+         * Returns a key describing the current state of this predicate. Used by the {@link MemberIndex}
+         * to memoize lookups.
+         * <p>
+         * Subclasses outside of this class may change {@link #test(Member)}, so only the exact
+         * predicate classes defined here return a key.
+         *
+         * @return The key or null if the result of this predicate can not be cached
+         */
+        Object getCacheKey() {
+            return getClass() == MemberPredicate.class ? createBaseCacheKey() : null;
+        }
+
+        /**
+         * @return A new mutable key with the class, name and modifiers of this predicate
+         */
+        List<Object> createBaseCacheKey() {
+            List<Object> key = new ArrayList<>(6);
+            key.add(getClass());
+            key.add(name);
+            key.add(toModifierSet(modifiers));
+            key.add(toModifierSet(withoutModifier));
+            return key;
+        }
+
+        /**
+         * Returns the name, if it is a literal name and no real RegEx
+         *
+         * @return The name this predicate matches or null if it matches more than one name
+         */
+        String getLiteralName() {
+            return isLiteral(name) ? name : null;
+        }
+
+        /**
+         * Checks if a name RegEx can only match itself
+         *
+         * @param name The name to check
+         *
+         * @return True if the name contains no RegEx meta characters
+         */
+        static boolean isLiteral(String name) {
+            if (name == null || name.isEmpty()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char character = name.charAt(i);
+                // '$' is a valid java identifier, but an anchor in a RegEx
+                if (character == '$' || !Character.isJavaIdentifierPart(character)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @param modifiers The modifiers to copy
+         *
+         * @return An immutable copy of the modifiers, ignoring their order
+         */
+        private static Set<Modifier> toModifierSet(Collection<Modifier> modifiers) {
+            if (modifiers.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return Collections.unmodifiableSet(EnumSet.copyOf(modifiers));
+        }
+
         @Override
         public boolean test(Member member) {
             if (name != null && !member.getName().matches(name)) {
@@ -1165,6 +2086,16 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        Object getCacheKey() {
+            if (getClass() != FieldPredicate.class) {
+                return null;
+            }
+            List<Object> key = createBaseCacheKey();
+            key.add(type);
+            return key;
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Field) || !super.test(member)) {
@@ -1249,6 +2180,18 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        Object getCacheKey() {
+            return getClass() == ExecutablePredicate.class ? createBaseCacheKey() : null;
+        }
+
+        @Override
+        List<Object> createBaseCacheKey() {
+            List<Object> key = super.createBaseCacheKey();
+            key.add(parameters == null ? null : Arrays.asList(parameters.clone()));
+            return key;
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Executable) || !super.test(member)) {
@@ -1342,6 +2285,16 @@ public class ReflectionUtil {
         }
         // </editor-fold>
 
+        @Override
+        Object getCacheKey() {
+            if (getClass() != MethodPredicate.class) {
+                return null;
+            }
+            List<Object> key = createBaseCacheKey();
+            key.add(returnType);
+            return key;
+        }
+
         @Override
         public boolean test(Member member) {
             if (!(member instanceof Method) || !super.test(member)) {
@@ -0,0 +1,81 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The superclass of the view classes generated by {@link StructViews}.
+ * <p>
+ * It holds the wrapped object and implements {@link #equals(Object)}, {@link #hashCode()} and
+ * {@link #toString()}, so the generated classes only contain the view methods. Do not extend it yourself.
+ */
+public abstract class AbstractStructView {
+
+    private static final Map<Class<?>, MethodHandle[]> PENDING_HANDLES = new ConcurrentHashMap<>();
+
+    /**
+     * The wrapped object
+     */
+    protected final Object handle;
+
+    /**
+     * @param handle The wrapped object
+     */
+    protected AbstractStructView(Object handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Returns the wrapped object
+     *
+     * @return The object this view reads from and writes to
+     *
+     * @see StructView#getHandle()
+     */
+    public Object getHandle() {
+        return handle;
+    }
+
+    /**
+     * Stores the handles a generated class reads in its static initializer
+     *
+     * @param viewClass The generated class, not initialized yet
+     * @param handles The handles for its static fields
+     */
+    static void registerHandles(Class<?> viewClass, MethodHandle[] handles) {
+        PENDING_HANDLES.put(viewClass, handles);
+    }
+
+    /**
+     * Called by the static initializer of the generated classes
+     *
+     * @param viewClass The generated class
+     *
+     * @return The handles registered for it
+     *
+     * @throws IllegalStateException if none were registered
+     */
+    protected static MethodHandle[] takeHandles(Class<?> viewClass) {
+        MethodHandle[] handles = PENDING_HANDLES.remove(viewClass);
+        if (handles == null) {
+            throw new IllegalStateException("No handles registered for " + viewClass.getName());
+        }
+        return handles;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof AbstractStructView && ((AbstractStructView) other).handle == handle;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(handle);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getInterfaces()[0].getSimpleName() + "{" + handle + "}";
+    }
+}
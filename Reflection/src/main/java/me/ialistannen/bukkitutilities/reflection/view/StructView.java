@@ -0,0 +1,16 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+/**
+ * An optional super interface for views, giving access to the wrapped object.
+ *
+ * @see StructViews
+ */
+public interface StructView {
+
+    /**
+     * Returns the wrapped object
+     *
+     * @return The object this view reads from and writes to
+     */
+    Object getHandle();
+}
@@ -0,0 +1,69 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.util.Objects;
+
+import me.ialistannen.bukkitutilities.reflection.ConstructorInvoker;
+
+/**
+ * Creates views of one interface over objects of one class.
+ * <p>
+ * All members are resolved and compiled into a generated class when the factory is created, so wrapping an
+ * object is just the creation of an instance of that class.
+ *
+ * @param <V> The type of the view
+ *
+ * @see StructViews#compile(Class, Class)
+ */
+public final class StructViewFactory <V> {
+
+    private final Class<V> viewInterface;
+    private final Class<?> targetClass;
+    private final ConstructorInvoker<?> viewConstructor;
+
+    /**
+     * @param viewInterface The view interface
+     * @param targetClass The wrapped class
+     * @param viewConstructor The constructor of the generated view class, taking the wrapped object
+     */
+    StructViewFactory(Class<V> viewInterface, Class<?> targetClass, ConstructorInvoker<?> viewConstructor) {
+        this.viewInterface = viewInterface;
+        this.targetClass = targetClass;
+        this.viewConstructor = viewConstructor;
+    }
+
+    /**
+     * Creates a view for the given object
+     *
+     * @param handle The object to wrap
+     *
+     * @return A view reading from and writing to the object
+     *
+     * @throws NullPointerException     if handle is null
+     * @throws IllegalArgumentException if handle is not an instance of the {@link #getTargetClass()}
+     */
+    public V wrap(Object handle) {
+        Objects.requireNonNull(handle, "handle can not be null");
+
+        if (!targetClass.isInstance(handle)) {
+            throw new IllegalArgumentException(
+                    "Expected an instance of " + targetClass.getName() + ", got " + handle.getClass().getName()
+            );
+        }
+
+        return viewInterface.cast(viewConstructor.newInstance1(handle));
+    }
+
+    /**
+     * @return The interface of the created views
+     */
+    public Class<V> getViewInterface() {
+        return viewInterface;
+    }
+
+    /**
+     * @return The class the views wrap
+     */
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+}
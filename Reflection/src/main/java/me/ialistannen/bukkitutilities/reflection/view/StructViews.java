@@ -0,0 +1,442 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import me.ialistannen.bukkitutilities.modulesystem.ClassCache;
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace;
+
+/**
+ * Compiles annotated interfaces to views over NMS objects.
+ * <p>
+ * <b>Example:</b>
+ * <pre>{@code
+ * @ViewTarget("{nms}.PacketPlayInCustomPayload")
+ * interface CustomPayload extends StructView {
+ *     @ViewField
+ *     String getChannel();
+ *
+ *     @ViewField(type = "{nms}.PacketDataSerializer")
+ *     ByteBuf getData();
+ * }
+ *
+ * private static final StructViewFactory<CustomPayload> FACTORY = StructViews.compile(CustomPayload.class);
+ *
+ * String channel = FACTORY.wrap(nmsPacket).getChannel();
+ * }</pre>
+ * All members are resolved when the view is compiled. If any can not be found, a
+ * {@link ReflectionException} listing all of them is thrown.
+ * <p>
+ * Compiling generates a class implementing the interface, which calls the bound members directly. There is
+ * no dispatch per call, a view is just an object holding the wrapped one.
+ */
+public final class StructViews {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodHandle WRAP_EXCEPTION;
+
+    private static final ClassCache<ConcurrentMap<Class<?>, StructViewFactory<?>>> FACTORIES = new ClassCache<>(
+            type -> new ConcurrentHashMap<>()
+    );
+
+    static {
+        try {
+            WRAP_EXCEPTION = LOOKUP.findStatic(
+                    StructViews.class,
+                    "wrapException",
+                    MethodType.methodType(RuntimeException.class, Exception.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private StructViews() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * Compiles a view for the class given by the {@link ViewTarget} annotation
+     *
+     * @param viewInterface The annotated view interface
+     * @param <V> The type of the view
+     *
+     * @return The factory for the views
+     *
+     * @throws NullPointerException     if viewInterface is null
+     * @throws IllegalArgumentException if the interface has no {@link ViewTarget} annotation
+     * @throws ReflectionException      if the target class or any member could not be found
+     * @see #compile(Class, Class)
+     */
+    public static <V> StructViewFactory<V> compile(Class<V> viewInterface) {
+        Objects.requireNonNull(viewInterface, "viewInterface can not be null");
+
+        ViewTarget target = viewInterface.getAnnotation(ViewTarget.class);
+        if (target == null) {
+            throw new IllegalArgumentException(viewInterface.getName() + " has no @ViewTarget annotation");
+        }
+
+        Class<?> targetClass = resolveClass(target.value())
+                .orElseThrow(() -> new ReflectionException("View target class not found: " + target.value()));
+
+        return compile(viewInterface, targetClass);
+    }
+
+    /**
+     * Compiles a view for the given class
+     * <p>
+     * The result is cached, so compiling the same view twice returns the same factory.
+     *
+     * @param viewInterface The annotated view interface
+     * @param targetClass The class the view wraps
+     * @param <V> The type of the view
+     *
+     * @return The factory for the views
+     *
+     * @throws NullPointerException     if any parameter is null
+     * @throws IllegalArgumentException if viewInterface is no interface
+     * @throws ReflectionException      if any member could not be found
+     */
+    public static <V> StructViewFactory<V> compile(Class<V> viewInterface, Class<?> targetClass) {
+        Objects.requireNonNull(viewInterface, "viewInterface can not be null");
+        Objects.requireNonNull(targetClass, "targetClass can not be null");
+
+        if (!viewInterface.isInterface()) {
+            throw new IllegalArgumentException(viewInterface.getName() + " is no interface");
+        }
+
+        ConcurrentMap<Class<?>, StructViewFactory<?>> factories = FACTORIES.get(viewInterface);
+        StructViewFactory<?> factory = factories.get(targetClass);
+        if (factory == null) {
+            factory = factories.computeIfAbsent(targetClass, target -> createFactory(viewInterface, target));
+        }
+
+        @SuppressWarnings("unchecked")
+        StructViewFactory<V> result = (StructViewFactory<V>) factory;
+        return result;
+    }
+
+    /**
+     * @param viewInterface The view interface
+     * @param targetClass The wrapped class
+     * @param <V> The type of the view
+     *
+     * @return The created factory
+     *
+     * @throws ReflectionException if any member could not be bound
+     */
+    private static <V> StructViewFactory<V> createFactory(Class<V> viewInterface, Class<?> targetClass) {
+        List<Method> methods = new ArrayList<>();
+        List<MethodHandle> handles = new ArrayList<>();
+        Set<String> signatures = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+
+        for (Method method : viewInterface.getMethods()) {
+            // getHandle is implemented by the AbstractStructView
+            if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == StructView.class) {
+                continue;
+            }
+            // inherited from multiple super interfaces
+            if (!signatures.add(method.getName() + viewType(method).toMethodDescriptorString())) {
+                continue;
+            }
+
+            try {
+                handles.add(bind(method, targetClass));
+                methods.add(method);
+            } catch (ReflectionException e) {
+                errors.add(method.getName() + ": " + e.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ReflectionException(String.format(
+                    "Could not bind view %s to %s:%n - %s",
+                    viewInterface.getName(), targetClass.getName(), String.join(System.lineSeparator() + " - ", errors)
+            ));
+        }
+
+        Class<?> viewClass = ViewClassGenerator.generate(viewInterface, methods, handles);
+        Constructor<?> viewConstructor;
+        try {
+            viewConstructor = viewClass.getConstructor(Object.class);
+        } catch (NoSuchMethodException e) {
+            throw new ReflectionException("Generated view class has no constructor", e);
+        }
+
+        return new StructViewFactory<>(
+                viewInterface, targetClass, ReflectionUtil.compileConstructor(viewConstructor)
+        );
+    }
+
+    /**
+     * Binds a single view method
+     *
+     * @param method The view method
+     * @param targetClass The wrapped class
+     *
+     * @return The bound handle, of the type {@link #viewType(Method)} with the wrapped object prepended
+     *
+     * @throws ReflectionException if the member could not be bound
+     */
+    private static MethodHandle bind(Method method, Class<?> targetClass) {
+        if (method.isDefault()) {
+            throw new ReflectionException("default methods are not supported");
+        }
+
+        MethodHandle handle;
+        ViewField viewField = method.getAnnotation(ViewField.class);
+        ViewMethod viewMethod = method.getAnnotation(ViewMethod.class);
+        if (viewField != null) {
+            handle = bindField(method, viewField, targetClass);
+        }
+        else if (viewMethod != null) {
+            handle = bindMethod(method, viewMethod, targetClass);
+        }
+        else {
+            throw new ReflectionException("not annotated with @ViewField or @ViewMethod");
+        }
+
+        try {
+            return handle.asType(viewType(method).insertParameterTypes(0, Object.class));
+        } catch (WrongMethodTypeException e) {
+            throw new ReflectionException("can not convert " + handle.type() + " to " + viewType(method));
+        }
+    }
+
+    /**
+     * @param method The view method
+     * @param annotation The annotation of the method
+     * @param targetClass The wrapped class
+     *
+     * @return The getter or setter handle, taking the wrapped object first
+     *
+     * @throws ReflectionException if the field could not be found
+     */
+    private static MethodHandle bindField(Method method, ViewField annotation, Class<?> targetClass) {
+        boolean getter = method.getParameterCount() == 0 && method.getReturnType() != void.class;
+        boolean setter = method.getParameterCount() == 1 && method.getReturnType() == void.class;
+        if (!getter && !setter) {
+            throw new ReflectionException("a field method must be a getter or a void method with one parameter");
+        }
+        Class<?> valueType = getter ? method.getReturnType() : method.getParameterTypes()[0];
+
+        Field field = findField(annotation, valueType, targetClass);
+
+        if (getter && !isCompatible(valueType, field.getType())) {
+            throw new ReflectionException("field type " + field.getType().getName() + " is no " + valueType);
+        }
+        if (setter && !isCompatible(field.getType(), valueType)) {
+            throw new ReflectionException("field type " + field.getType().getName() + " can't hold " + valueType);
+        }
+
+        MethodHandle handle;
+        try {
+            field.setAccessible(true);
+            handle = getter ? LOOKUP.unreflectGetter(field) : LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ReflectionException("field " + field.getName() + " is not accessible: " + e.getMessage(), e);
+        }
+
+        return Modifier.isStatic(field.getModifiers()) ? MethodHandles.dropArguments(handle, 0, Object.class) : handle;
+    }
+
+    /**
+     * @param annotation The annotation of the view method
+     * @param valueType The type used by the view method
+     * @param targetClass The wrapped class
+     *
+     * @return The found field
+     *
+     * @throws ReflectionException if no field was found
+     */
+    private static Field findField(ViewField annotation, Class<?> valueType, Class<?> targetClass) {
+        if (annotation.value().length > 0) {
+            for (String name : annotation.value()) {
+                Optional<Field> field = ReflectionUtil.getField(
+                        targetClass,
+                        new FieldPredicate().withName(toRegex(name))
+                ).get();
+                if (field.isPresent()) {
+                    return field.get();
+                }
+            }
+            throw new ReflectionException("no field named " + String.join(" or ", annotation.value()));
+        }
+
+        Class<?> fieldType = valueType;
+        if (!annotation.type().isEmpty()) {
+            fieldType = resolveClass(annotation.type())
+                    .orElseThrow(() -> new ReflectionException("type not found: " + annotation.type()));
+        }
+        if (fieldType == Object.class) {
+            throw new ReflectionException("select the field by name or type, Object is too broad");
+        }
+
+        String typeName = fieldType.getName();
+        return ReflectionUtil.getFields(targetClass, new FieldPredicate(fieldType))
+                .skip(annotation.ordinal())
+                .findFirst()
+                .orElseThrow(() -> new ReflectionException(
+                        "no field of type " + typeName + " at index " + annotation.ordinal()
+                ));
+    }
+
+    /**
+     * @param method The view method
+     * @param annotation The annotation of the method
+     * @param targetClass The wrapped class
+     *
+     * @return The method handle, taking the wrapped object first
+     *
+     * @throws ReflectionException if the method could not be found
+     */
+    private static MethodHandle bindMethod(Method method, ViewMethod annotation, Class<?> targetClass) {
+        int parameterCount = method.getParameterCount();
+
+        for (String name : annotation.value()) {
+            Optional<Method> target = ReflectionUtil.getMethods(
+                    targetClass,
+                    new MethodPredicate().withName(toRegex(name))
+            )
+                    .filter(candidate -> candidate.getParameterCount() == parameterCount)
+                    .findFirst();
+
+            if (!target.isPresent()) {
+                continue;
+            }
+            if (method.getReturnType() != void.class
+                    && !isCompatible(method.getReturnType(), target.get().getReturnType())) {
+                throw new ReflectionException("return type " + target.get().getReturnType().getName()
+                        + " is no " + method.getReturnType());
+            }
+
+            MethodHandle handle;
+            try {
+                target.get().setAccessible(true);
+                handle = LOOKUP.unreflect(target.get());
+            } catch (IllegalAccessException | RuntimeException e) {
+                throw new ReflectionException("method " + name + " is not accessible: " + e.getMessage(), e);
+            }
+            if (Modifier.isStatic(target.get().getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+
+            return wrapCheckedExceptions(handle);
+        }
+
+        throw new ReflectionException("no method named " + String.join(" or ", annotation.value())
+                + " with " + parameterCount + " parameter(s)");
+    }
+
+    /**
+     * Wraps checked exceptions thrown by the handle in a {@link ReflectionException}, like the compiled
+     * {@link me.ialistannen.bukkitutilities.reflection.MethodInvoker}s do
+     *
+     * @param handle The handle
+     *
+     * @return A handle of the same type, only throwing unchecked exceptions
+     */
+    private static MethodHandle wrapCheckedExceptions(MethodHandle handle) {
+        MethodHandle thrower = MethodHandles.filterArguments(
+                MethodHandles.throwException(handle.type().returnType(), RuntimeException.class),
+                0,
+                WRAP_EXCEPTION
+        );
+        return MethodHandles.catchException(
+                handle,
+                Exception.class,
+                MethodHandles.dropArguments(thrower, 1, handle.type().parameterList())
+        );
+    }
+
+    /**
+     * Called by the handles of {@link #wrapCheckedExceptions(MethodHandle)}
+     *
+     * @param exception The thrown exception
+     *
+     * @return The exception if it is unchecked, a {@link ReflectionException} wrapping it otherwise
+     */
+    private static RuntimeException wrapException(Exception exception) {
+        if (exception instanceof RuntimeException) {
+            return (RuntimeException) exception;
+        }
+        return new ReflectionException("A checked exception was thrown by the invoked member", exception);
+    }
+
+    /**
+     * @param method The view method
+     *
+     * @return The type of the view method
+     */
+    private static MethodType viewType(Method method) {
+        return MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+    }
+
+    /**
+     * Checks if a value of one type can be assigned to another, taking boxing into account
+     *
+     * @param to The type to assign to
+     * @param from The type of the value
+     *
+     * @return True if the value can be assigned
+     */
+    private static boolean isCompatible(Class<?> to, Class<?> from) {
+        return to == Object.class || box(to).isAssignableFrom(box(from));
+    }
+
+    /**
+     * @param type The type to box
+     *
+     * @return The wrapper type for primitives, the type itself otherwise
+     */
+    private static Class<?> box(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    /**
+     * @param name The literal member name
+     *
+     * @return A RegEx only matching the name
+     */
+    private static String toRegex(String name) {
+        // '$' is the only RegEx meta character allowed in java identifiers
+        return name.indexOf('$') < 0 ? name : Pattern.quote(name);
+    }
+
+    /**
+     * @param name The class name. Either fully qualified or with a {@link NameSpace} identifier.
+     *
+     * @return The class, if found
+     */
+    private static Optional<Class<?>> resolveClass(String name) {
+        if (NameSpace.getFromIdentifier(name).isPresent()) {
+            return ReflectionUtil.getClass(name);
+        }
+        try {
+            return Optional.of(Class.forName(name));
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+}
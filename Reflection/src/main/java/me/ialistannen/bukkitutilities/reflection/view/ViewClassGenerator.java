@@ -0,0 +1,527 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
+
+/**
+ * Generates the implementation classes of view interfaces.
+ * <p>
+ * A generated class extends {@link AbstractStructView} and implements the view interface. Every view method
+ * calls its bound {@link MethodHandle}, stored in a {@code static final} field of the class. The JIT treats
+ * those as constants, so a view call compiles down to the field access or method call it is bound to.
+ * <p>
+ * The class is defined in the package and class loader of the view interface, so package-private interfaces
+ * work as well.
+ */
+final class ViewClassGenerator {
+
+    private static final int CLASS_FILE_VERSION = 52;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final String SUPER_CLASS = internalName(AbstractStructView.class);
+    private static final String HANDLE_CLASS = internalName(MethodHandle.class);
+    private static final String HANDLE_DESCRIPTOR = "L" + HANDLE_CLASS + ";";
+
+    private static final AtomicInteger CLASS_COUNTER = new AtomicInteger();
+
+    private ViewClassGenerator() {
+        throw new UnsupportedOperationException("No instantiation");
+    }
+
+    /**
+     * Generates, defines and initializes a view class
+     *
+     * @param viewInterface The view interface
+     * @param methods The view methods to implement
+     * @param handles The handles the methods call. Of type {@code (Object handle, params...)returnType}, with
+     * the exact types of the view method.
+     *
+     * @return The generated class. It has a constructor taking the wrapped object.
+     *
+     * @throws ReflectionException if the class could not be defined
+     */
+    static Class<?> generate(Class<?> viewInterface, List<Method> methods, List<MethodHandle> handles) {
+        String className = viewInterface.getName() + "$$StructView" + CLASS_COUNTER.incrementAndGet();
+        byte[] bytes = new ClassWriter(internalName(className), internalName(viewInterface), methods).toBytes();
+
+        Class<?> viewClass = defineClass(viewInterface, className, bytes);
+        AbstractStructView.registerHandles(viewClass, handles.toArray(new MethodHandle[0]));
+        try {
+            return Class.forName(viewClass.getName(), true, viewClass.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new ReflectionException("Could not initialize the generated view " + className, e);
+        }
+    }
+
+    /**
+     * Defines a class next to another one
+     *
+     * @param neighbor A class in the same package
+     * @param className The name of the new class
+     * @param bytes The class file
+     *
+     * @return The defined class
+     *
+     * @throws ReflectionException if the class could not be defined
+     */
+    private static Class<?> defineClass(Class<?> neighbor, String className, byte[] bytes) {
+        try {
+            // Java 9+: MethodHandles.privateLookupIn(neighbor, lookup()).defineClass(bytes)
+            Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class, Lookup.class);
+            Method defineClass = Lookup.class.getMethod("defineClass", byte[].class);
+            Object lookup = privateLookupIn.invoke(null, neighbor, MethodHandles.lookup());
+            return (Class<?>) defineClass.invoke(lookup, (Object) bytes);
+        } catch (NoSuchMethodException e) {
+            return defineClassLegacy(neighbor.getClassLoader(), className, bytes);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new ReflectionException("Could not define the generated view " + className, e);
+        }
+    }
+
+    /**
+     * Defines a class using {@code ClassLoader#defineClass}, for Java 8
+     *
+     * @param classLoader The class loader to define it in
+     * @param className The name of the new class
+     * @param bytes The class file
+     *
+     * @return The defined class
+     *
+     * @throws ReflectionException if the class could not be defined
+     */
+    private static Class<?> defineClassLegacy(ClassLoader classLoader, String className, byte[] bytes) {
+        try {
+            Method defineClass = ClassLoader.class.getDeclaredMethod(
+                    "defineClass", String.class, byte[].class, int.class, int.class
+            );
+            defineClass.setAccessible(true);
+            return (Class<?>) defineClass.invoke(classLoader, className, bytes, 0, bytes.length);
+        } catch (ReflectiveOperationException e) {
+            throw new ReflectionException("Could not define the generated view " + className, e);
+        }
+    }
+
+    /**
+     * @param clazz The class
+     *
+     * @return The internal name of the class, e.g. {@code java/lang/Object}
+     */
+    private static String internalName(Class<?> clazz) {
+        return internalName(clazz.getName());
+    }
+
+    /**
+     * @param className The binary name of a class
+     *
+     * @return The internal name of the class, e.g. {@code java/lang/Object}
+     */
+    private static String internalName(String className) {
+        return className.replace('.', '/');
+    }
+
+    /**
+     * Writes the class file of one view class
+     */
+    private static final class ClassWriter {
+
+        private final ByteArrayOutputStream constantPoolBytes = new ByteArrayOutputStream();
+        private final DataOutputStream constantPool = new DataOutputStream(constantPoolBytes);
+        private final Map<String, Integer> constants = new HashMap<>();
+        private int constantCount = 1;
+
+        private final String className;
+        private final String interfaceName;
+        private final List<Method> methods;
+
+        /**
+         * @param className The internal name of the generated class
+         * @param interfaceName The internal name of the view interface
+         * @param methods The view methods
+         */
+        private ClassWriter(String className, String interfaceName, List<Method> methods) {
+            this.className = className;
+            this.interfaceName = interfaceName;
+            this.methods = methods;
+        }
+
+        /**
+         * @return The class file
+         */
+        private byte[] toBytes() {
+            try {
+                // the constant pool is written first, as the rest refers to it
+                ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
+                DataOutputStream body = new DataOutputStream(bodyBytes);
+                writeBody(body);
+
+                ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(classBytes);
+                out.writeInt(0xCAFEBABE);
+                out.writeShort(0);
+                out.writeShort(CLASS_FILE_VERSION);
+                out.writeShort(constantCount);
+                constantPoolBytes.writeTo(out);
+                bodyBytes.writeTo(out);
+                return classBytes.toByteArray();
+            } catch (IOException e) {
+                throw new ReflectionException("Could not write the view class " + className, e);
+            }
+        }
+
+        /**
+         * Writes everything after the constant pool
+         *
+         * @param out The stream to write to
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private void writeBody(DataOutputStream out) throws IOException {
+            out.writeShort(ACC_FINAL | ACC_SUPER);
+            out.writeShort(classConstant(className));
+            out.writeShort(classConstant(SUPER_CLASS));
+            out.writeShort(1);
+            out.writeShort(classConstant(interfaceName));
+
+            out.writeShort(methods.size());
+            for (int i = 0; i < methods.size(); i++) {
+                out.writeShort(ACC_PRIVATE | ACC_STATIC | ACC_FINAL);
+                out.writeShort(utf8Constant(handleFieldName(i)));
+                out.writeShort(utf8Constant(HANDLE_DESCRIPTOR));
+                out.writeShort(0);
+            }
+
+            out.writeShort(methods.size() + 2);
+            writeConstructor(out);
+            writeStaticInitializer(out);
+            for (int i = 0; i < methods.size(); i++) {
+                writeViewMethod(out, methods.get(i), i);
+            }
+
+            out.writeShort(0);
+        }
+
+        /**
+         * Writes the constructor, passing the wrapped object to {@link AbstractStructView}
+         *
+         * @param out The stream to write to
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private void writeConstructor(DataOutputStream out) throws IOException {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            code.write(0x2A); // aload_0
+            code.write(0x2B); // aload_1
+            writeInstruction(code, 0xB7, methodConstant(SUPER_CLASS, "<init>", "(Ljava/lang/Object;)V"));
+            code.write(0xB1); // return
+
+            writeMethod(out, ACC_PUBLIC, "<init>", "(Ljava/lang/Object;)V", code.toByteArray(), 2, 2);
+        }
+
+        /**
+         * Writes the static initializer, storing the registered handles in the static fields
+         *
+         * @param out The stream to write to
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private void writeStaticInitializer(DataOutputStream out) throws IOException {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            writeInstruction(code, 0x13, classConstant(className)); // ldc_w
+            writeInstruction(code, 0xB8, methodConstant(
+                    SUPER_CLASS, "takeHandles", "(Ljava/lang/Class;)[" + HANDLE_DESCRIPTOR
+            ));
+            for (int i = 0; i < methods.size(); i++) {
+                code.write(0x59); // dup
+                writeInstruction(code, 0x11, i); // sipush
+                code.write(0x32); // aaload
+                writeInstruction(code, 0xB3, fieldConstant(className, handleFieldName(i), HANDLE_DESCRIPTOR));
+            }
+            code.write(0x57); // pop
+            code.write(0xB1); // return
+
+            writeMethod(out, ACC_STATIC, "<clinit>", "()V", code.toByteArray(), 3, 0);
+        }
+
+        /**
+         * Writes a view method, calling its handle with the wrapped object and all parameters
+         *
+         * @param out The stream to write to
+         * @param method The view method
+         * @param index The index of its handle
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private void writeViewMethod(DataOutputStream out, Method method, int index) throws IOException {
+            ByteArrayOutputStream code = new ByteArrayOutputStream();
+            writeInstruction(code, 0xB2, fieldConstant(className, handleFieldName(index), HANDLE_DESCRIPTOR));
+            code.write(0x2A); // aload_0
+            writeInstruction(code, 0xB4, fieldConstant(className, "handle", "Ljava/lang/Object;"));
+
+            // at most 255 slots, the JVM does not allow more parameters
+            int slot = 1;
+            for (Class<?> parameter : method.getParameterTypes()) {
+                code.write(loadOpcode(parameter));
+                code.write(slot);
+                slot += slotSize(parameter);
+            }
+
+            MethodType handleType = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                    .insertParameterTypes(0, Object.class);
+            writeInstruction(code, 0xB6, methodConstant(
+                    HANDLE_CLASS, "invokeExact", handleType.toMethodDescriptorString()
+            ));
+            code.write(returnOpcode(method.getReturnType()));
+
+            String descriptor = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+                    .toMethodDescriptorString();
+            int maxStack = Math.max(2 + slot - 1, slotSize(method.getReturnType()));
+            writeMethod(out, ACC_PUBLIC, method.getName(), descriptor, code.toByteArray(), maxStack, slot);
+        }
+
+        /**
+         * Writes a method with a Code attribute
+         *
+         * @param out The stream to write to
+         * @param access The access flags
+         * @param name The name of the method
+         * @param descriptor The descriptor of the method
+         * @param code The byte code
+         * @param maxStack The maximum depth of the operand stack
+         * @param maxLocals The amount of local variable slots
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private void writeMethod(DataOutputStream out, int access, String name, String descriptor, byte[] code,
+                                 int maxStack, int maxLocals) throws IOException {
+            out.writeShort(access);
+            out.writeShort(utf8Constant(name));
+            out.writeShort(utf8Constant(descriptor));
+            out.writeShort(1);
+
+            out.writeShort(utf8Constant("Code"));
+            out.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(code.length);
+            out.write(code);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+
+        /**
+         * @param code The code to write to
+         * @param opcode The opcode
+         * @param operand The two byte operand
+         */
+        private static void writeInstruction(ByteArrayOutputStream code, int opcode, int operand) {
+            code.write(opcode);
+            code.write(operand >> 8);
+            code.write(operand);
+        }
+
+        /**
+         * @param index The index of the view method
+         *
+         * @return The name of the static field holding its handle
+         */
+        private static String handleFieldName(int index) {
+            return "HANDLE_" + index;
+        }
+
+        /**
+         * @param type The type of the value
+         *
+         * @return The opcode loading a local variable of that type
+         */
+        private static int loadOpcode(Class<?> type) {
+            if (!type.isPrimitive()) {
+                return 0x19; // aload
+            }
+            if (type == long.class) {
+                return 0x16; // lload
+            }
+            if (type == float.class) {
+                return 0x17; // fload
+            }
+            if (type == double.class) {
+                return 0x18; // dload
+            }
+            return 0x15; // iload
+        }
+
+        /**
+         * @param type The return type
+         *
+         * @return The opcode returning a value of that type
+         */
+        private static int returnOpcode(Class<?> type) {
+            if (type == void.class) {
+                return 0xB1; // return
+            }
+            if (!type.isPrimitive()) {
+                return 0xB0; // areturn
+            }
+            if (type == long.class) {
+                return 0xAD; // lreturn
+            }
+            if (type == float.class) {
+                return 0xAE; // freturn
+            }
+            if (type == double.class) {
+                return 0xAF; // dreturn
+            }
+            return 0xAC; // ireturn
+        }
+
+        /**
+         * @param type The type
+         *
+         * @return The amount of local variable (or stack) slots a value of the type needs
+         */
+        private static int slotSize(Class<?> type) {
+            if (type == void.class) {
+                return 0;
+            }
+            return type == long.class || type == double.class ? 2 : 1;
+        }
+
+        // <editor-fold desc="Constant pool">
+
+        /**
+         * @param value The string
+         *
+         * @return The index of the Utf8 constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int utf8Constant(String value) throws IOException {
+            Integer index = constants.get("utf8 " + value);
+            if (index != null) {
+                return index;
+            }
+            constantPool.writeByte(1);
+            constantPool.writeUTF(value);
+            return register("utf8 " + value);
+        }
+
+        /**
+         * @param internalName The internal name of the class
+         *
+         * @return The index of the Class constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int classConstant(String internalName) throws IOException {
+            Integer index = constants.get("class " + internalName);
+            if (index != null) {
+                return index;
+            }
+            int name = utf8Constant(internalName);
+            constantPool.writeByte(7);
+            constantPool.writeShort(name);
+            return register("class " + internalName);
+        }
+
+        /**
+         * @param name The name of the member
+         * @param descriptor The descriptor of the member
+         *
+         * @return The index of the NameAndType constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int nameAndTypeConstant(String name, String descriptor) throws IOException {
+            String key = "nameAndType " + name + " " + descriptor;
+            Integer index = constants.get(key);
+            if (index != null) {
+                return index;
+            }
+            int nameIndex = utf8Constant(name);
+            int descriptorIndex = utf8Constant(descriptor);
+            constantPool.writeByte(12);
+            constantPool.writeShort(nameIndex);
+            constantPool.writeShort(descriptorIndex);
+            return register(key);
+        }
+
+        /**
+         * @param owner The internal name of the declaring class
+         * @param name The name of the field
+         * @param descriptor The descriptor of the field
+         *
+         * @return The index of the Fieldref constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int fieldConstant(String owner, String name, String descriptor) throws IOException {
+            return memberConstant(9, owner, name, descriptor);
+        }
+
+        /**
+         * @param owner The internal name of the declaring class
+         * @param name The name of the method
+         * @param descriptor The descriptor of the method
+         *
+         * @return The index of the Methodref constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int methodConstant(String owner, String name, String descriptor) throws IOException {
+            return memberConstant(10, owner, name, descriptor);
+        }
+
+        /**
+         * @param tag The tag of the constant
+         * @param owner The internal name of the declaring class
+         * @param name The name of the member
+         * @param descriptor The descriptor of the member
+         *
+         * @return The index of the constant
+         *
+         * @throws IOException never, it writes to memory
+         */
+        private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException {
+            String key = tag + " " + owner + " " + name + " " + descriptor;
+            Integer index = constants.get(key);
+            if (index != null) {
+                return index;
+            }
+            int ownerIndex = classConstant(owner);
+            int nameAndType = nameAndTypeConstant(name, descriptor);
+            constantPool.writeByte(tag);
+            constantPool.writeShort(ownerIndex);
+            constantPool.writeShort(nameAndType);
+            return register(key);
+        }
+
+        /**
+         * @param key The key of the constant just written
+         *
+         * @return Its index
+         */
+        private int register(String key) {
+            int index = constantCount++;
+            constants.put(key, index);
+            return index;
+        }
+        // </editor-fold>
+    }
+}
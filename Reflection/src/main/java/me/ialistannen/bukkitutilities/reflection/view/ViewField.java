@@ -0,0 +1,45 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a view method to a field of the wrapped class.
+ * <p>
+ * A method without parameters and with a return type is a getter, a void method with one parameter is a
+ * setter.
+ * <p>
+ * If no name is given, the field is selected by its type. The type is taken from {@link #type()} or, if
+ * that is empty, from the return type (getter) or parameter type (setter) of the method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ViewField {
+
+    /**
+     * The names of the field. They are tried in order, so you can list the names for different server
+     * versions. Not a RegEx.
+     *
+     * @return The names of the field. Empty to select by type.
+     */
+    String[] value() default {};
+
+    /**
+     * The type of the field. Either fully qualified or prefixed with a
+     * {@link me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace} identifier, e.g.
+     * {@code "{nms}.PacketDataSerializer"}.
+     *
+     * @return The type of the field. Empty to use the method's type.
+     */
+    String type() default "";
+
+    /**
+     * Selects the n-th field of the {@link #type()}, if there are multiple ones. Only used when selecting
+     * by type.
+     *
+     * @return The index of the field among the fields with that type, in declaration order
+     */
+    int ordinal() default 0;
+}
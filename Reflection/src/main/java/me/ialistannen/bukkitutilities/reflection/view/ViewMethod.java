@@ -0,0 +1,24 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a view method to a method of the wrapped class.
+ * <p>
+ * The target method needs the same amount of parameters as the view method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ViewMethod {
+
+    /**
+     * The names of the method. They are tried in order, so you can list the names for different server
+     * versions. Not a RegEx.
+     *
+     * @return The names of the method
+     */
+    String[] value();
+}
@@ -0,0 +1,25 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Specifies the class a view interface wraps
+ *
+ * @see StructViews#compile(Class)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ViewTarget {
+
+    /**
+     * The name of the class. Either fully qualified or prefixed with a
+     * {@link me.ialistannen.bukkitutilities.reflection.ReflectionUtil.NameSpace} identifier, e.g.
+     * {@code "{nms}.PacketPlayInCustomPayload"}.
+     *
+     * @return The name of the wrapped class
+     */
+    String value();
+}
@@ -0,0 +1,274 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the compiled accessors of the Reflection Util class
+ */
+public class CompiledAccessorTest {
+
+    @Test
+    void getter() throws NoSuchFieldException {
+        FieldGetter<String> getter = ReflectionUtil.compileGetter(Target.class.getDeclaredField("name"));
+        FieldGetter<Integer> staticGetter = ReflectionUtil.compileGetter(Target.class.getDeclaredField("counter"));
+
+        Assertions.assertEquals("initial", getter.get(new Target()));
+        Assertions.assertEquals(Target.counter, (int) staticGetter.get(null));
+        Assertions.assertSame(getter, ReflectionUtil.compileGetter(Target.class.getDeclaredField("name")));
+    }
+
+    @Test
+    void setter() throws NoSuchFieldException {
+        Target target = new Target();
+        ReflectionUtil.<String>compileSetter(Target.class.getDeclaredField("name")).set(target, "changed");
+        ReflectionUtil.<Integer>compileSetter(Target.class.getDeclaredField("counter")).set(null, 42);
+
+        Assertions.assertEquals("changed", target.name);
+        Assertions.assertEquals(42, Target.counter);
+    }
+
+    @Test
+    void setterRejectsWrongType() throws NoSuchFieldException {
+        FieldSetter<Object> setter = ReflectionUtil.compileSetter(Target.class.getDeclaredField("name"));
+
+        Assertions.assertThrows(ClassCastException.class, () -> setter.set(new Target(), 5));
+    }
+
+    @Test
+    void setterRejectsStaticFinal() throws NoSuchFieldException {
+        Field constant = Target.class.getDeclaredField("CONSTANT");
+
+        Assertions.assertThrows(ReflectionException.class, () -> ReflectionUtil.compileSetter(constant));
+    }
+
+    @Test
+    void primitiveAccessors() throws NoSuchFieldException {
+        Primitives target = new Primitives();
+
+        IntFieldAccessor intAccessor = ReflectionUtil.compileIntAccessor(primitiveField("intValue"));
+        intAccessor.set(target, 2);
+        Assertions.assertEquals(2, intAccessor.get(target));
+
+        LongFieldAccessor longAccessor = ReflectionUtil.compileLongAccessor(primitiveField("longValue"));
+        longAccessor.set(target, Long.MAX_VALUE);
+        Assertions.assertEquals(Long.MAX_VALUE, longAccessor.get(target));
+
+        DoubleFieldAccessor doubleAccessor = ReflectionUtil.compileDoubleAccessor(primitiveField("doubleValue"));
+        doubleAccessor.set(target, 0.25);
+        Assertions.assertEquals(0.25, doubleAccessor.get(target));
+
+        FloatFieldAccessor floatAccessor = ReflectionUtil.compileFloatAccessor(primitiveField("floatValue"));
+        floatAccessor.set(target, 1.5f);
+        Assertions.assertEquals(1.5, floatAccessor.get(target));
+
+        ShortFieldAccessor shortAccessor = ReflectionUtil.compileShortAccessor(primitiveField("shortValue"));
+        shortAccessor.set(target, Short.MIN_VALUE);
+        Assertions.assertEquals(Short.MIN_VALUE, shortAccessor.get(target));
+
+        ByteFieldAccessor byteAccessor = ReflectionUtil.compileByteAccessor(primitiveField("byteValue"));
+        byteAccessor.set(target, (byte) -1);
+        Assertions.assertEquals(-1, byteAccessor.get(target));
+
+        BooleanFieldAccessor booleanAccessor = ReflectionUtil.compileBooleanAccessor(
+                primitiveField("booleanValue")
+        );
+        booleanAccessor.set(target, true);
+        Assertions.assertTrue(booleanAccessor.get(target));
+
+        Assertions.assertEquals(2, target.intValue);
+        Assertions.assertEquals(Long.MAX_VALUE, target.longValue);
+        Assertions.assertTrue(target.booleanValue);
+    }
+
+    @Test
+    void primitiveAccessorStatic() throws NoSuchFieldException {
+        IntFieldAccessor accessor = ReflectionUtil.compileIntAccessor(primitiveField("staticValue"));
+
+        accessor.set(null, 9);
+        Assertions.assertEquals(9, accessor.get(null));
+        Assertions.assertEquals(9, Primitives.staticValue);
+    }
+
+    @Test
+    void primitiveAccessorCached() throws NoSuchFieldException {
+        Assertions.assertSame(
+                ReflectionUtil.compileIntAccessor(primitiveField("intValue")),
+                ReflectionUtil.compileIntAccessor(primitiveField("intValue"))
+        );
+    }
+
+    @Test
+    void primitiveAccessorRejectsWrongType() throws NoSuchFieldException {
+        Field longField = primitiveField("longValue");
+
+        Assertions.assertThrows(ReflectionException.class, () -> ReflectionUtil.compileIntAccessor(longField));
+        Assertions.assertThrows(ReflectionException.class, () -> ReflectionUtil.compileDoubleAccessor(longField));
+    }
+
+    @Test
+    void primitiveAccessorRejectsStaticFinal() throws NoSuchFieldException {
+        Field constant = primitiveField("CONSTANT");
+
+        Assertions.assertThrows(ReflectionException.class, () -> ReflectionUtil.compileIntAccessor(constant));
+    }
+
+    @Test
+    void invokerFixedArity() throws NoSuchMethodException {
+        Target target = new Target();
+
+        Assertions.assertEquals("initial", compileInvoker("getName").invoke0(target));
+        Assertions.assertEquals(6, compileInvoker("twice", int.class).invoke1(target, 3));
+        Assertions.assertEquals("a-b", compileInvoker("join", String.class, String.class).invoke2(target, "a", "b"));
+        Assertions.assertEquals(
+                6,
+                compileInvoker("sum", int.class, int.class, int.class).invoke3(null, 1, 2, 3)
+        );
+    }
+
+    @Test
+    void invokerVarargs() throws NoSuchMethodException {
+        Target target = new Target();
+
+        Assertions.assertEquals(6, compileInvoker("twice", int.class).invoke(target, 3));
+        Assertions.assertEquals(6, compileInvoker("sum", int.class, int.class, int.class).invoke(null, 1, 2, 3));
+    }
+
+    @Test
+    void invokerVoid() throws NoSuchMethodException {
+        Target target = new Target();
+
+        Assertions.assertNull(compileInvoker("rename", String.class).invoke1(target, "void"));
+        Assertions.assertEquals("void", target.name);
+    }
+
+    @Test
+    void invokerWrongArity() throws NoSuchMethodException {
+        MethodInvoker<Object> invoker = compileInvoker("twice", int.class);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke0(new Target()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke2(new Target(), 1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target(), 1, 2));
+    }
+
+    @Test
+    void invokerExceptions() throws NoSuchMethodException {
+        MethodInvoker<Object> failChecked = ReflectionUtil.compileInvoker(
+                InvocationTarget.class.getDeclaredMethod("failChecked")
+        );
+        MethodInvoker<Object> failUnchecked = ReflectionUtil.compileInvoker(
+                InvocationTarget.class.getDeclaredMethod("failUnchecked")
+        );
+
+        ReflectionException wrapped = Assertions.expectThrows(
+                ReflectionException.class, () -> failChecked.invoke0(new InvocationTarget())
+        );
+        Assertions.assertTrue(wrapped.getCause() instanceof IOException);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> failUnchecked.invoke0(new InvocationTarget()));
+    }
+
+    @Test
+    void constructor() throws NoSuchMethodException {
+        Constructor<Target> noArgs = Target.class.getDeclaredConstructor();
+        Constructor<Target> named = Target.class.getDeclaredConstructor(String.class);
+        Constructor<Target> full = Target.class.getDeclaredConstructor(String.class, int.class);
+
+        Assertions.assertEquals("initial", ReflectionUtil.compileConstructor(noArgs).newInstance0().name);
+        Assertions.assertEquals("one", ReflectionUtil.compileConstructor(named).newInstance1("one").name);
+        Assertions.assertEquals("one", ReflectionUtil.compileConstructor(named).newInstance("one").name);
+
+        Target target = ReflectionUtil.compileConstructor(full).newInstance2("two", 2);
+        Assertions.assertEquals("two", target.name);
+        Assertions.assertEquals(2, target.number);
+
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> ReflectionUtil.compileConstructor(full).newInstance1("two")
+        );
+    }
+
+    /**
+     * @param name The name of the method in {@link Target}
+     * @param parameters The parameter types
+     *
+     * @return The compiled invoker
+     *
+     * @throws NoSuchMethodException if the method does not exist
+     */
+    private static MethodInvoker<Object> compileInvoker(String name, Class<?>... parameters)
+            throws NoSuchMethodException {
+        Method method = Target.class.getDeclaredMethod(name, parameters);
+        return ReflectionUtil.compileInvoker(method);
+    }
+
+    /**
+     * @param name The name of the field in {@link Primitives}
+     *
+     * @return The field
+     *
+     * @throws NoSuchFieldException if the field does not exist
+     */
+    private static Field primitiveField(String name) throws NoSuchFieldException {
+        return Primitives.class.getDeclaredField(name);
+    }
+
+    @SuppressWarnings("unused")
+    private static class Primitives {
+        private static final int CONSTANT = 1;
+        private static int staticValue;
+
+        private int intValue;
+        private long longValue;
+        private double doubleValue;
+        private float floatValue;
+        private short shortValue;
+        private byte byteValue;
+        private boolean booleanValue;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Target {
+        private static final String CONSTANT = "constant";
+        private static int counter = 7;
+
+        private String name = "initial";
+        private int number;
+
+        private Target() {
+        }
+
+        private Target(String name) {
+            this.name = name;
+        }
+
+        private Target(String name, int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        private String getName() {
+            return name;
+        }
+
+        private int twice(int input) {
+            return input * 2;
+        }
+
+        private String join(String first, String second) {
+            return first + "-" + second;
+        }
+
+        private static int sum(int first, int second, int third) {
+            return first + second + third;
+        }
+
+        private void rename(String name) {
+            this.name = name;
+        }
+    }
+}
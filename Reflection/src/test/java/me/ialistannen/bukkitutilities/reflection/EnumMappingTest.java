@@ -0,0 +1,66 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the Enum Mapping class
+ */
+public class EnumMappingTest {
+
+    @Test
+    void byName() {
+        EnumMapping<Face> mapping = ReflectionUtil.mapEnum(Face.class, Direction.class);
+
+        Assertions.assertSame(Direction.NORTH, mapping.toTarget(Face.NORTH));
+        Assertions.assertSame(Direction.SOUTH, mapping.toTarget(Face.SOUTH));
+        Assertions.assertSame(Face.NORTH, mapping.toSource(Direction.NORTH));
+        Assertions.assertSame(Face.class, mapping.getSourceType());
+        Assertions.assertSame(Direction.class, mapping.getTargetType());
+    }
+
+    @Test
+    void unmapped() {
+        EnumMapping<Face> mapping = ReflectionUtil.mapEnum(Face.class, Direction.class);
+
+        Assertions.assertNull(mapping.toTarget(Face.SELF));
+        Assertions.assertNull(mapping.toSource(Direction.UP));
+        Assertions.assertEquals(EnumSet.of(Face.SELF, Face.NORTH_EAST), mapping.getUnmapped());
+    }
+
+    @Test
+    void nameFunction() {
+        EnumMapping<Face> mapping = ReflectionUtil.mapEnum(
+                Face.class, Direction.class, face -> face == Face.SELF ? null : face.name().split("_")[0]
+        );
+
+        Assertions.assertSame(Direction.NORTH, mapping.toTarget(Face.NORTH_EAST));
+        Assertions.assertNull(mapping.toTarget(Face.SELF));
+        // the first source constant wins the reverse direction
+        Assertions.assertSame(Face.NORTH, mapping.toSource(Direction.NORTH));
+        Assertions.assertEquals(EnumSet.of(Face.SELF), mapping.getUnmapped());
+    }
+
+    @Test
+    void toSourceRejectsForeignConstants() {
+        EnumMapping<Face> mapping = ReflectionUtil.mapEnum(Face.class, Direction.class);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> mapping.toSource(Face.NORTH));
+        Assertions.assertThrows(NullPointerException.class, () -> mapping.toSource(null));
+    }
+
+    @Test
+    void targetNoEnum() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReflectionUtil.mapEnum(Face.class, String.class));
+    }
+
+    private enum Face {
+        NORTH, SOUTH, SELF, NORTH_EAST
+    }
+
+    private enum Direction {
+        UP, SOUTH, NORTH
+    }
+}
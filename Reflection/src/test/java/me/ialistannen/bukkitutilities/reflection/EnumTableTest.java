@@ -0,0 +1,71 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse.ResultType;
+
+/**
+ * Tests the Enum Table class and the enum lookups of the Reflection Util class
+ */
+public class EnumTableTest {
+
+    @Test
+    void table() {
+        EnumTable table = EnumTable.of(Color.class);
+
+        Assertions.assertArrayEquals(Color.values(), table.constants());
+        Assertions.assertSame(Color.GREEN, table.byName("GREEN"));
+        Assertions.assertNull(table.byName("green"));
+        Assertions.assertSame(Color.BLUE, table.byOrdinal(2));
+        Assertions.assertNull(table.byOrdinal(-1));
+        Assertions.assertNull(table.byOrdinal(3));
+        Assertions.assertSame(table, EnumTable.of(Color.class));
+    }
+
+    @Test
+    void constantBodies() {
+        // constants with a body are subclasses, but indexed like the others
+        EnumTable table = EnumTable.of(Shape.class);
+
+        Assertions.assertSame(Shape.CIRCLE, table.byName("CIRCLE"));
+        Assertions.assertSame(Shape.SQUARE, table.byOrdinal(1));
+    }
+
+    @Test
+    void noEnum() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EnumTable.of(String.class));
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> ReflectionUtil.getEnumConstant(String.class, "A")
+        );
+    }
+
+    @Test
+    void getEnumConstant() {
+        Assertions.assertSame(Color.RED, ReflectionUtil.getEnumConstant(Color.class, "RED").getValue());
+        Assertions.assertSame(Color.BLUE, ReflectionUtil.getEnumConstant(Color.class, 2).getValue());
+        Assertions.assertSame(
+                Color.GREEN,
+                ReflectionUtil.getEnumConstant(Color.class, constant -> constant.name().startsWith("G")).getValue()
+        );
+
+        Assertions.assertEquals(
+                ResultType.NOT_FOUND, ReflectionUtil.getEnumConstant(Color.class, "PURPLE").getResultType()
+        );
+        Assertions.assertEquals(ResultType.NOT_FOUND, ReflectionUtil.getEnumConstant(Color.class, 7).getResultType());
+    }
+
+    private enum Color {
+        RED, GREEN, BLUE
+    }
+
+    private enum Shape {
+        CIRCLE {
+            @Override
+            public String toString() {
+                return "round";
+            }
+        },
+        SQUARE
+    }
+}
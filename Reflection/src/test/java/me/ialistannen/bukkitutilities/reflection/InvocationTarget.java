@@ -0,0 +1,34 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.IOException;
+
+/**
+ * A shared target for the tests invoking methods reflectively. Its methods reset its state or throw a checked
+ * or an unchecked exception.
+ * <p>
+ * Public, as the tests of the views live in a sub package.
+ */
+@SuppressWarnings("unused")
+public class InvocationTarget {
+
+    private int count = 10;
+
+    /**
+     * @return The count, 0 after a reset
+     */
+    public int getCount() {
+        return count;
+    }
+
+    private void reset() {
+        count = 0;
+    }
+
+    private void failChecked() throws IOException {
+        throw new IOException("checked");
+    }
+
+    private void failUnchecked() {
+        throw new IllegalStateException("unchecked");
+    }
+}
@@ -0,0 +1,146 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the compiled copiers of the Reflection Util class
+ */
+public class ObjectCopierTest {
+
+    @Test
+    void copiesAllFields() {
+        Child source = Child.filled();
+        Child copy = ReflectionUtil.compileCopier(Child.class).copy(source);
+
+        Assertions.assertNotSame(source, copy);
+        Assertions.assertEquals(42, copy.number);
+        Assertions.assertEquals(Long.MIN_VALUE, copy.big);
+        Assertions.assertEquals(0.5, copy.ratio);
+        Assertions.assertTrue(copy.flag);
+        Assertions.assertEquals('x', (int) copy.letter);
+        // shallow: the same instance
+        Assertions.assertSame(source.list, copy.list);
+        Assertions.assertEquals("final", copy.finalName);
+    }
+
+    @Test
+    void copiesSuperclassFields() {
+        Child copy = ReflectionUtil.compileCopier(Child.class).copy(Child.filled());
+
+        Assertions.assertEquals("parent", copy.parentName);
+        Assertions.assertEquals(7, copy.parentNumber);
+    }
+
+    @Test
+    void skipsStaticFields() {
+        ObjectCopier<Child> copier = ReflectionUtil.compileCopier(Child.class);
+
+        for (Field field : copier.getFields()) {
+            Assertions.assertFalse(Modifier.isStatic(field.getModifiers()));
+        }
+    }
+
+    @Test
+    void copyIntoExisting() {
+        Child target = new Child();
+        ReflectionUtil.compileCopier(Child.class).copy(Child.filled(), target);
+
+        Assertions.assertEquals(42, target.number);
+        Assertions.assertEquals("parent", target.parentName);
+    }
+
+    @Test
+    void selectorSubset() {
+        ObjectCopier<Child> copier = ReflectionUtil.compileCopier(
+                Child.class, field -> field.getType() == int.class
+        );
+        Child copy = copier.copy(Child.filled());
+
+        Assertions.assertEquals(2, copier.getFields().size());
+        Assertions.assertEquals(42, copy.number);
+        Assertions.assertEquals(7, copy.parentNumber);
+        Assertions.assertEquals(0, copy.big);
+        Assertions.assertNull(copy.parentName);
+        Assertions.assertNull(copy.list);
+    }
+
+    @Test
+    void cached() {
+        ObjectCopier<Child> all = ReflectionUtil.compileCopier(Child.class);
+
+        Assertions.assertSame(all, ReflectionUtil.compileCopier(Child.class));
+        // a selector matching all fields shares the instance
+        Assertions.assertSame(all, ReflectionUtil.compileCopier(Child.class, field -> true));
+        Assertions.assertSame(
+                ReflectionUtil.compileCopier(Child.class, field -> field.getType() == int.class),
+                ReflectionUtil.compileCopier(Child.class, field -> field.getName().contains("umber"))
+        );
+    }
+
+    @Test
+    void noNoArgsConstructor() {
+        ObjectCopier<NoDefaultConstructor> copier = ReflectionUtil.compileCopier(NoDefaultConstructor.class);
+        NoDefaultConstructor target = new NoDefaultConstructor(0);
+
+        copier.copy(new NoDefaultConstructor(3), target);
+        Assertions.assertEquals(3, target.value);
+        Assertions.assertThrows(ReflectionException.class, () -> copier.copy(new NoDefaultConstructor(3)));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Parent {
+        private static String shared = "static";
+
+        String parentName;
+        int parentNumber;
+    }
+
+    @SuppressWarnings("unused")
+    private static class Child extends Parent {
+        private int number;
+        private long big;
+        private double ratio;
+        private boolean flag;
+        private char letter;
+        private List<String> list;
+        private final String finalName;
+
+        private Child() {
+            this.finalName = null;
+        }
+
+        private Child(String finalName) {
+            this.finalName = finalName;
+        }
+
+        /**
+         * @return A child with all fields set
+         */
+        private static Child filled() {
+            Child child = new Child("final");
+            child.number = 42;
+            child.big = Long.MIN_VALUE;
+            child.ratio = 0.5;
+            child.flag = true;
+            child.letter = 'x';
+            child.list = new ArrayList<>();
+            child.parentName = "parent";
+            child.parentNumber = 7;
+            return child;
+        }
+    }
+
+    private static class NoDefaultConstructor {
+        private int value;
+
+        private NoDefaultConstructor(int value) {
+            this.value = value;
+        }
+    }
+}
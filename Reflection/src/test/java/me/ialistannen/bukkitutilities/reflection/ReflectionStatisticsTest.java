@@ -0,0 +1,71 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.reflection.ReflectionStatistics.CallSiteStatistics;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+
+/**
+ * Tests the Reflection Statistics class
+ */
+public class ReflectionStatisticsTest {
+
+    @Test
+    void countsAndCaller() {
+        ReflectionStatistics.reset();
+        ReflectionStatistics.setEnabled(true);
+        try {
+            Counted counted = new Counted();
+            for (int i = 0; i < 100; i++) {
+                ReflectionUtil.getField(Counted.class, new FieldPredicate(int.class));
+                ReflectionUtil.getFieldValue("value", Counted.class, counted);
+            }
+            ReflectionUtil.getField(Counted.class, new FieldPredicate(String.class));
+        } finally {
+            ReflectionStatistics.setEnabled(false);
+        }
+
+        List<CallSiteStatistics> statistics = ReflectionStatistics.getStatistics();
+        CallSiteStatistics value = find(statistics, "value");
+        CallSiteStatistics notFound = find(statistics, "<not found>");
+
+        Assertions.assertEquals(Counted.class.getName(), value.getOwner());
+        // getFieldValue looks the field up by name first
+        Assertions.assertEquals(200, value.getLookups());
+        Assertions.assertEquals(100, value.getInvocations());
+        Assertions.assertEquals(1, notFound.getLookups());
+
+        // the first record is always sampled. This test is in the reflection package, so the test runner calls.
+        Assertions.assertNotEquals("<unknown>", value.getCaller());
+        Assertions.assertTrue(value.getCallers().get(value.getCaller()) >= 1);
+    }
+
+    @Test
+    void disabled() {
+        ReflectionStatistics.reset();
+        ReflectionUtil.getField(Counted.class, new FieldPredicate(int.class));
+
+        Assertions.assertTrue(ReflectionStatistics.getStatistics().isEmpty());
+    }
+
+    /**
+     * @param statistics The statistics
+     * @param member The member to find
+     *
+     * @return The statistics for the member
+     */
+    private static CallSiteStatistics find(List<CallSiteStatistics> statistics, String member) {
+        return statistics.stream()
+                .filter(entry -> entry.getMember().equals(member))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No statistics for " + member + " in " + statistics));
+    }
+
+    @SuppressWarnings("unused")
+    private static class Counted {
+        private int value = 5;
+    }
+}
@@ -0,0 +1,178 @@
+package me.ialistannen.bukkitutilities.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.FieldPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.MethodPredicate;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse;
+import me.ialistannen.bukkitutilities.reflection.ReflectionUtil.ReflectResponse.ResultType;
+
+/**
+ * Tests the member lookups of the Reflection Util class
+ */
+public class ReflectionUtilTest {
+
+    @Test
+    void fieldByName() {
+        Dummy dummy = new Dummy();
+
+        Assertions.assertEquals(10, ReflectionUtil.getFieldValue("count", Dummy.class, dummy).getValue());
+        Assertions.assertEquals(
+                ResultType.SUCCESSFUL,
+                ReflectionUtil.setFieldValue("count", Dummy.class, dummy, 20).getResultType()
+        );
+        Assertions.assertEquals(20, dummy.count);
+    }
+
+    @Test
+    void fieldByRegex() {
+        Assertions.assertEquals("b", ReflectionUtil.getFieldValue("na.e", Dummy.class, new Dummy()).getValue());
+    }
+
+    @Test
+    void fieldNotFound() {
+        Assertions.assertEquals(
+                ResultType.NOT_FOUND,
+                ReflectionUtil.getFieldValue("missing", Dummy.class, new Dummy()).getResultType()
+        );
+    }
+
+    @Test
+    void memoizedPredicate() {
+        Field first = ReflectionUtil.getField(Dummy.class, new FieldPredicate(String.class)).getValue();
+        Field second = ReflectionUtil.getField(Dummy.class, new FieldPredicate(String.class)).getValue();
+
+        Assertions.assertEquals("name", first.getName());
+        Assertions.assertSame(first, second);
+
+        // a changed predicate must not hit the old entry
+        Field other = ReflectionUtil.getField(Dummy.class, new FieldPredicate(int.class)).getValue();
+        Assertions.assertEquals("count", other.getName());
+    }
+
+    @Test
+    void methodAndConstructor() {
+        Assertions.assertEquals(
+                8,
+                ReflectionUtil.invokeMethod(Dummy.class, new MethodPredicate().withName("twice"), new Dummy(), 4)
+                        .getValue()
+        );
+        Assertions.assertTrue(ReflectionUtil.getConstructor(Dummy.class, int.class).isValuePresent());
+    }
+
+    @Test
+    void hierarchyMembers() {
+        Field shadowing = ReflectionUtil.getHierarchyField(SubDummy.class, "name").getValue();
+        Assertions.assertEquals(SubDummy.class, shadowing.getDeclaringClass());
+
+        // private fields of the superclass are found as well
+        Assertions.assertEquals(
+                Dummy.class,
+                ReflectionUtil.getHierarchyField(SubDummy.class, "count").getValue().getDeclaringClass()
+        );
+        Assertions.assertEquals(
+                2,
+                ReflectionUtil.getHierarchyFields(SubDummy.class, new FieldPredicate().withName("name")).count()
+        );
+
+        Method overriding = ReflectionUtil.getHierarchyMethod(SubDummy.class, "twice", int.class).getValue();
+        Assertions.assertEquals(SubDummy.class, overriding.getDeclaringClass());
+        Assertions.assertEquals(
+                1,
+                ReflectionUtil.getHierarchyMethods(SubDummy.class, new MethodPredicate().withName("twice")).count()
+        );
+    }
+
+    @Test
+    void sharedResponses() {
+        Assertions.assertSame(
+                ReflectionUtil.getFieldValue("missing", Dummy.class, new Dummy()),
+                ReflectionUtil.getMethod(Dummy.class, new MethodPredicate().withName("missing"))
+        );
+
+        InvocationTarget target = new InvocationTarget();
+        ReflectResponse<Void> set = ReflectionUtil.setFieldValue("count", InvocationTarget.class, target, 5);
+        ReflectResponse<Object> invoked = ReflectionUtil.invokeMethod(
+                InvocationTarget.class, new MethodPredicate().withName("reset"), target
+        );
+        Assertions.assertSame(ReflectResponse.successfulVoid(), set);
+        Assertions.assertSame(ReflectResponse.successfulVoid(), invoked);
+        Assertions.assertEquals(0, target.getCount());
+
+        Assertions.assertThrows(
+                ReflectionException.class,
+                () -> ReflectionUtil.getFieldValue("missing", Dummy.class, new Dummy()).getValueOrThrow()
+        );
+    }
+
+    @Test
+    void uncheckedThrows() throws NoSuchMethodException {
+        Dummy dummy = new Dummy();
+
+        Assertions.assertThrows(
+                ReflectionException.class, () -> ReflectionUtil.getFieldUnchecked("missing", Dummy.class)
+        );
+        Assertions.assertThrows(
+                ReflectionException.class, () -> ReflectionUtil.getFieldValueUnchecked("missing", Dummy.class, dummy)
+        );
+        Assertions.assertThrows(
+                ReflectionException.class,
+                () -> ReflectionUtil.setFieldValueUnchecked("missing", Dummy.class, dummy, 1)
+        );
+
+        InvocationTarget target = new InvocationTarget();
+        Method failChecked = InvocationTarget.class.getDeclaredMethod("failChecked");
+        ReflectionException wrapped = Assertions.expectThrows(
+                ReflectionException.class, () -> ReflectionUtil.invokeMethodUnchecked(failChecked, target)
+        );
+        Assertions.assertTrue(wrapped.getCause() instanceof IOException);
+
+        Method failUnchecked = InvocationTarget.class.getDeclaredMethod("failUnchecked");
+        Assertions.assertThrows(
+                IllegalStateException.class, () -> ReflectionUtil.invokeMethodUnchecked(failUnchecked, target)
+        );
+
+        Assertions.assertThrows(
+                ReflectionException.class,
+                () -> ReflectionUtil.instantiateUnchecked(AbstractDummy.class.getDeclaredConstructor())
+        );
+    }
+
+    @SuppressWarnings("unused")
+    private static class Dummy {
+        private int count = 10;
+        private String name = "b";
+
+        private Dummy() {
+        }
+
+        private Dummy(int count) {
+            this.count = count;
+        }
+
+        int twice(int input) {
+            return input * 2;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private abstract static class AbstractDummy {
+        AbstractDummy() {
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class SubDummy extends Dummy {
+        private String name = "c";
+
+        @Override
+        int twice(int input) {
+            return input + input;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package me.ialistannen.bukkitutilities.reflection.view;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import me.ialistannen.bukkitutilities.reflection.InvocationTarget;
+import me.ialistannen.bukkitutilities.reflection.ReflectionException;
+
+/**
+ * Tests the Struct Views class
+ */
+public class StructViewsTest {
+
+    @Test
+    void bindByName() {
+        Target target = new Target();
+        TargetView view = StructViews.compile(TargetView.class, Target.class).wrap(target);
+
+        Assertions.assertEquals("initial", view.getName());
+        Assertions.assertEquals(7, view.getCount());
+        Assertions.assertEquals(3L, view.getStaticValue());
+
+        view.setName("changed");
+        view.setCount(8);
+        Assertions.assertEquals("changed", target.name);
+        Assertions.assertEquals(8, target.count);
+    }
+
+    @Test
+    void bindByTypeAndOrdinal() {
+        Target target = new Target();
+        TargetView view = StructViews.compile(TargetView.class, Target.class).wrap(target);
+
+        Assertions.assertEquals(1.5, view.getFirstDouble());
+        Assertions.assertEquals(2.5, view.getSecondDouble());
+    }
+
+    @Test
+    void bindMethods() {
+        Target target = new Target();
+        TargetView view = StructViews.compile(TargetView.class, Target.class).wrap(target);
+
+        Assertions.assertEquals("a-b", view.join("a", "b"));
+        Assertions.assertEquals(10L, view.add(4L, 6));
+
+    }
+
+    @Test
+    void versionAlternatives() {
+        TargetView view = StructViews.compile(TargetView.class, Target.class).wrap(new Target());
+
+        Assertions.assertEquals("initial", view.getRenamedName());
+        Assertions.assertEquals("x-y", view.renamedJoin("x", "y"));
+    }
+
+    @Test
+    void invocations() {
+        InvocationTarget target = new InvocationTarget();
+        InvocationView view = StructViews.compile(InvocationView.class, InvocationTarget.class).wrap(target);
+
+        view.reset();
+        Assertions.assertEquals(0, target.getCount());
+
+        ReflectionException wrapped = Assertions.expectThrows(ReflectionException.class, view::failChecked);
+        Assertions.assertTrue(wrapped.getCause() instanceof IOException);
+
+        Assertions.assertThrows(IllegalStateException.class, view::failUnchecked);
+    }
+
+    @Test
+    void handleAndObjectMethods() {
+        Target target = new Target();
+        StructViewFactory<TargetView> factory = StructViews.compile(TargetView.class, Target.class);
+        TargetView view = factory.wrap(target);
+
+        Assertions.assertSame(target, view.getHandle());
+        Assertions.assertEquals(view, factory.wrap(target));
+        Assertions.assertEquals(view.hashCode(), factory.wrap(target).hashCode());
+        Assertions.assertNotEquals(view, factory.wrap(new Target()));
+        Assertions.assertEquals("TargetView{target}", view.toString());
+    }
+
+    @Test
+    void compileIsCached() {
+        Assertions.assertSame(
+                StructViews.compile(TargetView.class, Target.class),
+                StructViews.compile(TargetView.class, Target.class)
+        );
+    }
+
+    @Test
+    void wrapRejectsWrongType() {
+        StructViewFactory<TargetView> factory = StructViews.compile(TargetView.class, Target.class);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> factory.wrap("no target"));
+        Assertions.assertThrows(NullPointerException.class, () -> factory.wrap(null));
+    }
+
+    @Test
+    void bindFailuresAreListed() {
+        ReflectionException exception = Assertions.expectThrows(
+                ReflectionException.class, () -> StructViews.compile(BrokenView.class, Target.class)
+        );
+        String message = exception.getMessage();
+
+        Assertions.assertTrue(message.contains("notAnnotated"), message);
+        Assertions.assertTrue(message.contains("missingField"), message);
+        Assertions.assertTrue(message.contains("missingMethod"), message);
+        Assertions.assertTrue(message.contains("wrongType"), message);
+        Assertions.assertTrue(message.contains("defaultMethod"), message);
+        Assertions.assertTrue(message.contains("no field of type double at index 5"), message);
+    }
+
+    @Test
+    void compileRequiresTarget() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> StructViews.compile(TargetView.class));
+        Assertions.assertThrows(
+                IllegalArgumentException.class, () -> StructViews.compile(Target.class, Target.class)
+        );
+    }
+
+    @SuppressWarnings("unused")
+    interface TargetView extends StructView {
+
+        @ViewField("name")
+        String getName();
+
+        @ViewField("name")
+        void setName(String name);
+
+        @ViewField({"oldName", "name"})
+        String getRenamedName();
+
+        @ViewField("count")
+        int getCount();
+
+        @ViewField("count")
+        void setCount(int count);
+
+        @ViewField("staticValue")
+        long getStaticValue();
+
+        @ViewField
+        double getFirstDouble();
+
+        @ViewField(ordinal = 1)
+        double getSecondDouble();
+
+        @ViewMethod("join")
+        String join(String first, String second);
+
+        @ViewMethod({"oldJoin", "join"})
+        String renamedJoin(String first, String second);
+
+        @ViewMethod("add")
+        long add(long first, int second);
+    }
+
+    @SuppressWarnings("unused")
+    interface InvocationView extends StructView {
+
+        @ViewMethod("reset")
+        void reset();
+
+        @ViewMethod("failChecked")
+        void failChecked();
+
+        @ViewMethod("failUnchecked")
+        void failUnchecked();
+    }
+
+    @SuppressWarnings("unused")
+    interface BrokenView {
+
+        String notAnnotated();
+
+        @ViewField("missing")
+        String missingField();
+
+        @ViewMethod("missing")
+        String missingMethod();
+
+        @ViewField("name")
+        int wrongType();
+
+        @ViewField(ordinal = 5)
+        double missingByType();
+
+        @ViewField("name")
+        default String defaultMethod() {
+            return "";
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class Target {
+        private static long staticValue = 3;
+
+        private String name = "initial";
+        private int count = 7;
+        private double first = 1.5;
+        private double second = 2.5;
+
+        private String join(String first, String second) {
+            return first + "-" + second;
+        }
+
+        private static long add(long first, int second) {
+            return first + second;
+        }
+
+        @Override
+        public String toString() {
+            return "target";
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package me.ialistannen.bukkitutilities.utilities;
 
 import me.ialistannen.bukkitutilities.modulesystem.AbstractModule;
+import me.ialistannen.bukkitutilities.modulesystem.PreWarmer;
+import me.ialistannen.bukkitutilities.utilities.text.JsonMessage;
 
 /**
  * Contains common utility methods and classes
@@ -13,4 +15,9 @@ public class UtilitiesModule extends AbstractModule {
     public UtilitiesModule() {
         super(getModulePropertiesFromJar(UtilitiesModule.class));
     }
+
+    @Override
+    public void registerPreWarmTasks(PreWarmer preWarmer) {
+        preWarmer.registerClassInitialization("Utilities", JsonMessage.class);
+    }
 }